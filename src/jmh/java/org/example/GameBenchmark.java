@@ -0,0 +1,76 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasa GameBenchmark masoara o runda singleplayer: actiunea jucatorului (Game.playRoundSwing) si tura dealerului
+ * (Game.dealerTurn), inclusiv reincarcarile camerei. Vietile sunt suficient de mari incat jocul sa nu se termine
+ * in timpul unei iteratii; daca totusi se termina, starea este resetata.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+
+    /**
+     * Vietile initiale ale ambilor participanti.
+     */
+    private static final int LIVES = 1_000_000;
+
+    /**
+     * Jocul masurat.
+     */
+    private Game game;
+
+    /**
+     * Creeaza un joc nou pentru fiecare iteratie.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = new Game("bench", new UserManager(new InMemoryUserStore()));
+        game.setPlayerLife(LIVES);
+        game.setDealerLife(LIVES);
+    }
+
+    @Benchmark
+    public String playRoundShootSelf() {
+        ensureRunning();
+        return game.playRoundSwing("s");
+    }
+
+    @Benchmark
+    public String playRoundShootDealer() {
+        ensureRunning();
+        return game.playRoundSwing("d");
+    }
+
+    @Benchmark
+    public String dealerTurn() {
+        ensureRunning();
+        return game.dealerTurn();
+    }
+
+    /**
+     * Reseteaza jocul daca s-a terminat, ca fiecare apel sa masoare o runda reala.
+     */
+    private void ensureRunning() {
+        if (game.isGameOver()) {
+            game.resetGameState();
+        }
+    }
+}
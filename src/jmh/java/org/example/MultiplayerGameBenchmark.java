@@ -0,0 +1,95 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasa MultiplayerGameBenchmark masoara actiunile din modul multiplayer (shootSelf, shootOpponent, reloadGun)
+ * si alegerea unui adversar aleator, pentru mese cu un numar diferit de jucatori.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MultiplayerGameBenchmark {
+
+    /**
+     * Vietile initiale ale fiecarui jucator, suficiente pentru o iteratie intreaga.
+     */
+    private static final int LIVES = 1_000_000;
+
+    /**
+     * Numarul de jucatori de la masa.
+     */
+    @Param({"2", "8", "32"})
+    public int players;
+
+    /**
+     * Jocul masurat.
+     */
+    private MultiplayerGame game;
+
+    /**
+     * Jucatorul aflat la rand.
+     */
+    private int current;
+
+    /**
+     * Creeaza un joc nou pentru fiecare iteratie.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            names.add("player" + i);
+        }
+        game = new MultiplayerGame(names, new UserManager(new InMemoryUserStore()), LIVES);
+        current = 0;
+    }
+
+    @Benchmark
+    public String shootSelf() {
+        return game.shootSelf(next());
+    }
+
+    @Benchmark
+    public String shootOpponent() {
+        int shooter = next();
+        return game.shootOpponent(shooter, (shooter + 1) % players);
+    }
+
+    @Benchmark
+    public MultiplayerGame reloadGun() {
+        game.reloadGun();
+        return game;
+    }
+
+    @Benchmark
+    public int getRandomOpponentIndex() {
+        return game.getRandomOpponentIndex(next());
+    }
+
+    /**
+     * Trece la urmatorul jucator, prin rotatie.
+     */
+    private int next() {
+        current = (current + 1) % players;
+        return current;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasa UserStoreBenchmark masoara citirea clasamentului prin UserManager peste InMemoryUserStore:
+ * clasamentul complet (getScoreboard) si prima pagina (getScoreboardPage), pentru mai multe dimensiuni.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Druleta.log.users=WARN")
+public class UserStoreBenchmark {
+
+    /**
+     * Numarul de utilizatori din stocare.
+     */
+    @Param({"1000", "100000"})
+    public int users;
+
+    /**
+     * Instanta UserManager masurata.
+     */
+    private UserManager userManager;
+
+    /**
+     * Populeaza stocarea cu utilizatori cu scoruri aleatoare (semanta fixa, pentru rezultate comparabile).
+     */
+    @Setup
+    public void setUp() {
+        userManager = new UserManager(new InMemoryUserStore());
+        Map<String, String> conturi = new LinkedHashMap<>();
+        for (int i = 0; i < users; i++) {
+            conturi.put("user" + i, "p");
+        }
+        userManager.inregistrareUtilizatori(conturi);
+        Random random = new Random(42);
+        for (int i = 0; i < users; i++) {
+            userManager.actualizareScor("user" + i, random.nextInt(100_000));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        userManager.close();
+    }
+
+    @Benchmark
+    public List<Document> getScoreboard() {
+        return userManager.getScoreboard();
+    }
+
+    @Benchmark
+    public List<Document> getScoreboardFirstPage() {
+        return userManager.getScoreboardPage(0, 100);
+    }
+}
@@ -0,0 +1,287 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Clasa AppWindow este singura fereastra a aplicatiei Russian Roulette.
+ * Ecranele (meniul principal, selectia modului, autentificarea, inregistrarea, clasamentul si jocul)
+ * sunt panouri intr-un CardLayout: ecranele fixe sunt construite la prima afisare si apoi refolosite,
+ * iar ecranul de joc este inlocuit la fiecare joc nou, astfel incat navigarea nu mai creeaza ferestre native.
+ *
+ * La pornire doar meniul principal este construit; bara de stare arata daca stocarea utilizatorilor,
+ * conectata in fundal, este gata. Cu {@code -Druleta.log.startup=DEBUG} timpul pana la primul cadru este
+ * scris in jurnal, iar cu {@code -Druleta.startup.exit=true} aplicatia se inchide dupa primul cadru
+ * (folosit la antrenarea si masurarea arhivei AppCDS, vezi profilul "appcds" din pom.xml).
+ */
+public class AppWindow extends JFrame {
+
+    /**
+     * Jurnalul pornirii aplicatiei (subsistemul "ruleta.startup").
+     */
+    private static final Logger LOG = LoggerFactory.getLogger("ruleta.startup");
+
+    /**
+     * Numele cartilor din CardLayout.
+     */
+    private static final String MAIN_MENU = "mainMenu";
+    private static final String PLAY = "play";
+    private static final String LOGIN = "login";
+    private static final String SIGNUP = "signup";
+    private static final String SCOREBOARD = "scoreboard";
+    private static final String GAME = "game";
+
+    /**
+     * Proprietatea de sistem care inchide aplicatia dupa primul cadru.
+     */
+    static final String STARTUP_EXIT_PROPERTY = "ruleta.startup.exit";
+
+    /**
+     * Instanta UserManager utilizata de toate ecranele.
+     */
+    private final UserManager userManager;
+
+    /**
+     * Layout-ul care comuta intre ecrane.
+     */
+    private final CardLayout cards = new CardLayout();
+
+    /**
+     * Panoul care contine toate ecranele.
+     */
+    private final JPanel content = new JPanel(cards);
+
+    /**
+     * Ecranele fixe construite pana acum, dupa nume.
+     */
+    private final Map<String, JComponent> screens = new HashMap<>();
+
+    /**
+     * Ecranul jocului curent; null daca nu exista un joc in desfasurare.
+     */
+    private JComponent gameScreen;
+
+    /**
+     * Bara de stare care arata disponibilitatea stocarii utilizatorilor.
+     */
+    private final JLabel statusLabel = new JLabel(" ", SwingConstants.LEFT);
+
+    /**
+     * Constructor pentru clasa AppWindow.
+     *
+     * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
+     */
+    public AppWindow(UserManager userManager) {
+        this.userManager = userManager;
+
+        setTitle("Russian Roulette");
+        setSize(800, 600);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+        add(content, BorderLayout.CENTER);
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Urmareste conectarea stocarii utilizatorilor si actualizeaza bara de stare pe firul Swing.
+     *
+     * @param storeReady Future completat cand stocarea este gata.
+     */
+    void trackStore(CompletableFuture<?> storeReady) {
+        if (storeReady.isDone() && !storeReady.isCompletedExceptionally()) {
+            statusLabel.setText("✅ Connected");
+            return;
+        }
+        statusLabel.setText("⏳ Connecting to the user store...");
+        storeReady.whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                statusLabel.setText("✅ Connected");
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                statusLabel.setText("❌ User store unavailable: " + cause.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Returneaza textul barii de stare.
+     *
+     * @return Textul afisat in bara de stare.
+     */
+    String getStatusText() {
+        return statusLabel.getText();
+    }
+
+    /**
+     * Afiseaza meniul principal pentru utilizatorul dat.
+     *
+     * @param username Numele utilizatorului autentificat (poate fi null).
+     */
+    public void showMainMenu(String username) {
+        MainMenuFrame menu = screen(MAIN_MENU, () -> new MainMenuFrame(userManager, username));
+        menu.setUsername(username);
+        show(MAIN_MENU, "Main Menu");
+    }
+
+    /**
+     * Afiseaza ecranul de selectie a modului de joc.
+     *
+     * @param username Numele utilizatorului autentificat.
+     */
+    public void showPlayMenu(String username) {
+        PlayFrame play = screen(PLAY, () -> new PlayFrame(username, userManager));
+        play.setUsername(username);
+        show(PLAY, "Select Game Mode");
+    }
+
+    /**
+     * Afiseaza ecranul de autentificare.
+     */
+    public void showLogin() {
+        screen(LOGIN, () -> new LoginFrame(userManager, this::showMainMenu));
+        show(LOGIN, "Log In");
+    }
+
+    /**
+     * Afiseaza ecranul de inregistrare.
+     */
+    public void showSignup() {
+        screen(SIGNUP, () -> new SignupFrame(userManager));
+        show(SIGNUP, "Sign Up");
+    }
+
+    /**
+     * Afiseaza clasamentul, reincarcandu-l.
+     *
+     * @param username Numele utilizatorului autentificat (poate fi null).
+     */
+    public void showScoreboard(String username) {
+        ScoreboardPanel scoreboard = screen(SCOREBOARD, () -> new ScoreboardPanel(userManager));
+        scoreboard.refresh(username);
+        show(SCOREBOARD, "Scoreboard");
+    }
+
+    /**
+     * Porneste un joc singleplayer nou.
+     *
+     * @param username Numele utilizatorului autentificat.
+     * @param lives Numarul initial de vieti.
+     */
+    public void showSingleplayer(String username, int lives) {
+        showGame(new SingleplayerFrame(username, userManager, lives), "Singleplayer Mode");
+    }
+
+    /**
+     * Porneste un joc multiplayer nou.
+     *
+     * @param players Lista jucatorilor.
+     * @param lives Numarul initial de vieti.
+     */
+    public void showMultiplayer(List<String> players, int lives) {
+        showGame(new MultiplayerFrame(players, userManager, lives), "Multiplayer Mode");
+    }
+
+    /**
+     * Executa o actiune de navigare pe fereastra care contine componenta data.
+     * Daca componenta nu este afisata intr-un AppWindow (de exemplu in teste), actiunea este ignorata.
+     *
+     * @param from Componenta din care porneste navigarea.
+     * @param action Actiunea de navigare.
+     */
+    static void navigate(Component from, Consumer<AppWindow> action) {
+        AppWindow window = (AppWindow) SwingUtilities.getAncestorOfClass(AppWindow.class, from);
+        if (window != null) {
+            action.accept(window);
+        }
+    }
+
+    /**
+     * Inlocuieste ecranul de joc anterior cu unul nou; ecranul vechi este eliberat.
+     */
+    private void showGame(JComponent screen, String title) {
+        if (gameScreen != null) {
+            content.remove(gameScreen);
+        }
+        gameScreen = screen;
+        content.add(screen, GAME);
+        show(GAME, title);
+    }
+
+    /**
+     * Returneaza ecranul fix cu numele dat, construindu-l la prima cerere.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends JComponent> T screen(String name, Supplier<T> factory) {
+        return (T) screens.computeIfAbsent(name, key -> {
+            T screen = factory.get();
+            content.add(screen, key);
+            return screen;
+        });
+    }
+
+    /**
+     * Aduce in fata ecranul cu numele dat.
+     */
+    private void show(String name, String title) {
+        setTitle(title);
+        cards.show(content, name);
+    }
+
+    /**
+     * Metoda principala care lanseaza aplicatia intr-o singura fereastra, cu stocarea deja disponibila.
+     *
+     * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
+     */
+    static void launch(UserManager userManager) {
+        launch(userManager, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Lanseaza aplicatia intr-o singura fereastra fara a astepta stocarea utilizatorilor.
+     *
+     * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
+     * @param storeReady Future completat cand stocarea este gata.
+     */
+    static void launch(UserManager userManager, CompletableFuture<?> storeReady) {
+        SwingUtilities.invokeLater(() -> {
+            AppWindow window = new AppWindow(userManager);
+            window.trackStore(storeReady);
+            window.showMainMenu(null);
+            window.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    // Evenimentul ajunge dupa ce fereastra a fost afisata; primul cadru este desenat la urmatorul ciclu
+                    SwingUtilities.invokeLater(AppWindow::firstFrameShown);
+                }
+            });
+            window.setVisible(true);
+        });
+    }
+
+    /**
+     * Jurnalizeaza (la nivel DEBUG) timpul de la pornirea JVM pana la primul cadru si, la cerere, inchide aplicatia.
+     */
+    private static void firstFrameShown() {
+        if (LOG.isDebugEnabled()) {
+            long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            LOG.debug("First frame after {} ms", millis);
+        }
+        if (Boolean.getBoolean(STARTUP_EXIT_PROPERTY)) {
+            System.exit(0);
+        }
+    }
+}
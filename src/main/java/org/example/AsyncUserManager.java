@@ -0,0 +1,222 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clasa AsyncUserManager ofera varianta neblocanta a operatiilor din UserManager.
+ * Fiecare apel ruleaza pe un fond dedicat de fire I/O si intoarce imediat un CompletableFuture,
+ * astfel incat firul Swing (EDT) nu mai asteapta dupa baza de date, iar mai multe citiri
+ * (de exemplu scorul maxim si pozitia in clasament) pot rula in paralel.
+ */
+public class AsyncUserManager {
+
+    /**
+     * Numarul de fire din fondul I/O comun.
+     */
+    private static final int IO_THREADS = 4;
+
+    /**
+     * Fondul I/O comun tuturor instantelor create fara un executor explicit.
+     */
+    private static final ExecutorService SHARED_IO_POOL = Executors.newFixedThreadPool(IO_THREADS, new IoThreadFactory());
+
+    /**
+     * Instanta UserManager care executa efectiv operatiile.
+     */
+    private final UserManager userManager;
+
+    /**
+     * Executorul pe care ruleaza operatiile.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructor care foloseste fondul I/O comun.
+     *
+     * @param userManager Instanta UserManager care executa operatiile.
+     */
+    public AsyncUserManager(UserManager userManager) {
+        this(userManager, SHARED_IO_POOL);
+    }
+
+    /**
+     * Constructor pentru clasa AsyncUserManager.
+     *
+     * @param userManager Instanta UserManager care executa operatiile.
+     * @param executor Executorul pe care ruleaza operatiile.
+     */
+    public AsyncUserManager(UserManager userManager, Executor executor) {
+        this.userManager = userManager;
+        this.executor = executor;
+    }
+
+    /**
+     * Autentifica un utilizator fara a bloca apelantul.
+     *
+     * @param username Numele de utilizator.
+     * @param password Parola utilizatorului.
+     * @return Rezultatul autentificarii.
+     */
+    public CompletableFuture<Boolean> autentificareUtilizator(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> userManager.autentificareUtilizator(username, password), executor);
+    }
+
+    /**
+     * Inregistreaza un utilizator fara a bloca apelantul.
+     *
+     * @param username Numele de utilizator.
+     * @param password Parola utilizatorului.
+     * @return Rezultatul inregistrarii.
+     */
+    public CompletableFuture<SignupResult> inregistrareUtilizator(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> userManager.inregistrareUtilizator(username, password), executor);
+    }
+
+    /**
+     * Actualizeaza scorul unui utilizator fara a bloca apelantul.
+     *
+     * @param username Numele utilizatorului.
+     * @param scor Noul scor.
+     * @return Un future completat dupa scriere.
+     */
+    public CompletableFuture<Void> actualizareScor(String username, int scor) {
+        return CompletableFuture.runAsync(() -> userManager.actualizareScor(username, scor), executor);
+    }
+
+    /**
+     * Citeste scorul maxim al unui utilizator fara a bloca apelantul.
+     *
+     * @param username Numele utilizatorului.
+     * @return Scorul maxim.
+     */
+    public CompletableFuture<Integer> getHighScore(String username) {
+        return CompletableFuture.supplyAsync(() -> userManager.getHighScore(username), executor);
+    }
+
+    /**
+     * Citeste pozitia in clasament a unui utilizator fara a bloca apelantul.
+     *
+     * @param username Numele utilizatorului.
+     * @return Pozitia in clasament sau 0 daca utilizatorul nu exista.
+     */
+    public CompletableFuture<Integer> getRank(String username) {
+        return CompletableFuture.supplyAsync(() -> userManager.getRank(username), executor);
+    }
+
+    /**
+     * Citeste clasamentul fara a bloca apelantul.
+     *
+     * @return Utilizatorii sortati descrescator dupa scor.
+     */
+    public CompletableFuture<List<Document>> getScoreboard() {
+        return CompletableFuture.supplyAsync(userManager::getScoreboard, executor);
+    }
+
+    /**
+     * Citeste o pagina din clasament fara a bloca apelantul.
+     *
+     * @param offset Pozitia (de la 0) primului utilizator din pagina.
+     * @param limit Numarul maxim de utilizatori din pagina.
+     * @return Utilizatorii din pagina, sortati descrescator dupa scor.
+     */
+    public CompletableFuture<List<Document>> getScoreboardPage(int offset, int limit) {
+        return CompletableFuture.supplyAsync(() -> userManager.getScoreboardPage(offset, limit), executor);
+    }
+
+    /**
+     * Citeste numarul de utilizatori din clasament fara a bloca apelantul.
+     *
+     * @return Numarul de utilizatori din clasament.
+     */
+    public CompletableFuture<Long> getScoreboardSize() {
+        return CompletableFuture.supplyAsync(userManager::getScoreboardSize, executor);
+    }
+
+    /**
+     * Autentifica un utilizator si, daca reuseste, citeste in paralel scorul maxim si pozitia in clasament.
+     *
+     * @param username Numele de utilizator.
+     * @param password Parola utilizatorului.
+     * @return Scorul si pozitia utilizatorului sau null daca autentificarea a esuat.
+     */
+    public CompletableFuture<PlayerStats> autentificareCuStatistici(String username, String password) {
+        return autentificareUtilizator(username, password).thenCompose(succes -> {
+            if (!succes) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return getHighScore(username).thenCombine(getRank(username), PlayerStats::new);
+        });
+    }
+
+    /**
+     * Extrage eroarea originala dintr-o eroare primita de o etapa dependenta, care o invaluie intr-un CompletionException.
+     *
+     * @param error Eroarea primita de whenComplete sau exceptionally.
+     * @return Cauza, daca eroarea este un CompletionException cu cauza, altfel eroarea insasi.
+     */
+    public static Throwable cauza(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Scorul maxim si pozitia in clasament ale unui utilizator.
+     */
+    public static final class PlayerStats {
+
+        /**
+         * Scorul maxim al utilizatorului.
+         */
+        private final int highScore;
+
+        /**
+         * Pozitia utilizatorului in clasament.
+         */
+        private final int rank;
+
+        private PlayerStats(int highScore, int rank) {
+            this.highScore = highScore;
+            this.rank = rank;
+        }
+
+        /**
+         * Returneaza scorul maxim al utilizatorului.
+         *
+         * @return Scorul maxim.
+         */
+        public int getHighScore() {
+            return highScore;
+        }
+
+        /**
+         * Returneaza pozitia utilizatorului in clasament.
+         *
+         * @return Pozitia, incepand de la 1.
+         */
+        public int getRank() {
+            return rank;
+        }
+    }
+
+    /**
+     * Creeaza firele daemon ale fondului I/O comun.
+     */
+    private static final class IoThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "user-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
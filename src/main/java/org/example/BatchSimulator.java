@@ -0,0 +1,585 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Clasa BatchSimulator simuleaza loturi mari de jocuri singleplayer independente, in pas cadentat: starea
+ * jocurilor sta in tablouri primitive (structura de tablouri: vieti, camera ca masca de biti, gloante ramase, tura,
+ * generatorul fiecarui joc), iar fiecare pas rezolva cate o runda in toate jocurile inca active. Este gandita
+ * pentru baleieri de parametri (reguli, strategii, vieti) cu milioane de jocuri.
+ *
+ * Pasul vectorial (VectorBatchKernel, din src/vector/java) calculeaza runda pe vectori SIMD, cu masti in loc de
+ * ramificatii. El este compilat doar cu profilul Maven "vector" si folosit doar cand clasa exista si JVM-ul ruleaza
+ * cu --add-modules jdk.incubator.vector; altfel, sau cu -Druleta.batch.scalar=true, se foloseste pasul scalar
+ * echivalent. Ambele respecta exact semantica din Game:
+ * jocul i al unui lot cu samanta seed are acelasi rezultat ca un Game cu new XorShiftRandom(seed + i), aceeasi
+ * strategie a dealerului si jucatorul mutat cu resolveRound(strategie). Se accepta doar strategiile predefinite
+ * din Strategy (SHOOT_SELF, SHOOT_OPPONENT, RANDOM, ODDS), care pot fi calculate pe benzi.
+ */
+public final class BatchSimulator {
+
+    /**
+     * Codurile strategiilor predefinite, asa cum le vad pasii scalar si vectorial.
+     */
+    static final int SHOOT_SELF = 0;
+    static final int SHOOT_OPPONENT = 1;
+    static final int RANDOM = 2;
+    static final int ODDS = 3;
+
+    /**
+     * Numarul de jocuri simulate impreuna pana la terminarea tuturor; tine starea in cache si limiteaza
+     * pasii facuti doar pentru cateva jocuri lungi.
+     */
+    private static final int BLOCK = 1024;
+
+    /**
+     * Pasul vectorial, incarcat prin reflexie; null daca nu poate fi folosit in acest proces.
+     */
+    private static final Kernel VECTOR_KERNEL = loadVectorKernel();
+
+    /**
+     * Regulile jocurilor.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Codul strategiei jucatorului.
+     */
+    final int playerCode;
+
+    /**
+     * Codul strategiei dealerului.
+     */
+    final int dealerCode;
+
+    /**
+     * Asezarile tuturor numerelor de gloante live, una dupa alta; cele cu live gloante incep la offsets[live]
+     * si sunt counts[live].
+     */
+    private final long[] arrangements;
+    private final int[] offsets;
+    private final int[] counts;
+
+    /**
+     * Numarul minim de gloante live si numarul de valori posibile, din reguli.
+     */
+    private final int minLiveShells;
+    private final int liveRange;
+
+    /**
+     * Numarul de gloante dintr-o camera plina.
+     */
+    private final int chamberSize;
+
+    /**
+     * Constructor pentru clasa BatchSimulator.
+     *
+     * @param rules Regulile jocurilor.
+     * @param player Strategia jucatorului, una din cele predefinite in Strategy.
+     * @param dealer Strategia dealerului, una din cele predefinite in Strategy.
+     * @throws IllegalArgumentException daca o strategie nu este predefinita.
+     */
+    public BatchSimulator(RuleSet rules, Strategy player, Strategy dealer) {
+        this.rules = rules;
+        this.playerCode = code(player);
+        this.dealerCode = code(dealer);
+        this.minLiveShells = rules.getMinLiveShells();
+        this.liveRange = rules.getMaxLiveShells() - minLiveShells + 1;
+        this.chamberSize = rules.getChamberSize();
+
+        this.offsets = new int[chamberSize + 1];
+        this.counts = new int[chamberSize + 1];
+        int total = 0;
+        for (int live = minLiveShells; live <= rules.getMaxLiveShells(); live++) {
+            offsets[live] = total;
+            counts[live] = rules.arrangements(live).length;
+            total += counts[live];
+        }
+        this.arrangements = new long[total];
+        for (int live = minLiveShells; live <= rules.getMaxLiveShells(); live++) {
+            System.arraycopy(rules.arrangements(live), 0, arrangements, offsets[live], counts[live]);
+        }
+    }
+
+    /**
+     * Verifica daca simularile folosesc pasul vectorial.
+     *
+     * @return True daca modulul jdk.incubator.vector este disponibil si nu a fost dezactivat.
+     */
+    public static boolean isVectorAvailable() {
+        return VECTOR_KERNEL != null;
+    }
+
+    /**
+     * Simuleaza un lot de jocuri, cu pasul vectorial daca este disponibil.
+     *
+     * @param lives Vietile initiale ale jucatorului si ale dealerului.
+     * @param games Numarul de jocuri.
+     * @param seed Samanta lotului; jocul i foloseste new XorShiftRandom(seed + i).
+     * @return Rezultatele jocurilor.
+     * @throws IllegalArgumentException daca vietile nu sunt pozitive sau numarul de jocuri este negativ.
+     */
+    public Result run(int lives, int games, long seed) {
+        return run(lives, games, seed, VECTOR_KERNEL != null);
+    }
+
+    /**
+     * Simuleaza un lot de jocuri cu pasul ales (testele diferentiale le compara pe amandoua). Jocurile sunt
+     * simulate in blocuri de BLOCK, cu aceeasi stare de lucru, iar la finalul fiecarui bloc rezultatele sunt
+     * copiate in Result.
+     *
+     * @param lives Vietile initiale ale jucatorului si ale dealerului.
+     * @param games Numarul de jocuri.
+     * @param seed Samanta lotului.
+     * @param vectorized True pentru pasul vectorial.
+     * @return Rezultatele jocurilor.
+     * @throws IllegalStateException daca pasul vectorial este cerut, dar nu este disponibil.
+     */
+    Result run(int lives, int games, long seed, boolean vectorized) {
+        if (lives < 1 || games < 0) {
+            throw new IllegalArgumentException("lives must be positive and games non-negative");
+        }
+        if (vectorized && VECTOR_KERNEL == null) {
+            throw new IllegalStateException("Vector kernel unavailable (build with -Pvector, run with "
+                    + "--add-modules jdk.incubator.vector)");
+        }
+        Result result = new Result(rules, lives, games);
+        Lanes lanes = new Lanes(Math.min(games, BLOCK));
+        for (int from = 0; from < games; from += BLOCK) {
+            int size = Math.min(BLOCK, games - from);
+            lanes.reset(size, lives, seed + from);
+            if (vectorized) {
+                while (VECTOR_KERNEL.step(this, lanes, size) > 0) {
+                    // pana la terminarea tuturor jocurilor din bloc
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    playOut(lanes, i);
+                }
+            }
+            result.store(lanes, from, size);
+        }
+        return result;
+    }
+
+    /**
+     * Joaca jocul i pana la final, pornind de la starea lui curenta, cu runde ca Game.resolveRound(Strategy):
+     * reincarca camera goala, alege actiunea celui aflat la rand, trage glontul si actualizeaza vietile si tura.
+     * Este pasul scalar: starea sta in variabile locale, fara pas cadentat.
+     *
+     * @param lanes Starea jocurilor.
+     * @param i Indexul jocului.
+     */
+    void playOut(Lanes lanes, int i) {
+        long rng = lanes.rng[i];
+        long chamber = lanes.chamber[i];
+        int count = (int) lanes.count[i];
+        int playerLife = (int) lanes.playerLife[i];
+        int dealerLife = (int) lanes.dealerLife[i];
+        boolean playerTurn = lanes.playerTurn[i] != 0;
+        long rounds = lanes.rounds[i];
+        long shots = lanes.shots[i];
+        while (playerLife > 0 && dealerLife > 0) {
+            if (count == 0) {
+                // Ca reload
+                rng = XorShiftRandom.step(rng);
+                int live = minLiveShells + XorShiftRandom.bounded(rng, liveRange);
+                rng = XorShiftRandom.step(rng);
+                chamber = arrangements[offsets[live] + XorShiftRandom.bounded(rng, counts[live])];
+                count = chamberSize;
+            }
+            boolean shootSelf;
+            switch (playerTurn ? playerCode : dealerCode) {
+                case SHOOT_SELF -> shootSelf = true;
+                case SHOOT_OPPONENT -> shootSelf = false;
+                case RANDOM -> {
+                    rng = XorShiftRandom.step(rng);
+                    shootSelf = rng < 0;
+                }
+                default -> {
+                    int live = Long.bitCount(chamber & ((1L << count) - 1));
+                    shootSelf = count - live > live;
+                }
+            }
+            if (playerTurn) {
+                rounds++;
+            }
+            if ((chamber >>> --count & 1L) != 0) {
+                if (shootSelf == playerTurn) {
+                    playerLife--;
+                } else {
+                    dealerLife--;
+                }
+            }
+            if (!shootSelf) {
+                playerTurn = !playerTurn;
+            }
+            shots++;
+        }
+        lanes.rng[i] = rng;
+        lanes.chamber[i] = chamber;
+        lanes.count[i] = count;
+        lanes.playerLife[i] = playerLife;
+        lanes.dealerLife[i] = dealerLife;
+        lanes.playerTurn[i] = playerTurn ? 1 : 0;
+        lanes.rounds[i] = rounds;
+        lanes.shots[i] = shots;
+    }
+
+    /**
+     * Incarca o camera plina in jocul i, ca RuleSet.loadChamber: numarul de gloante live, apoi asezarea lor.
+     *
+     * @param lanes Starea jocurilor.
+     * @param i Indexul jocului.
+     */
+    void reload(Lanes lanes, int i) {
+        long x = XorShiftRandom.step(lanes.rng[i]);
+        int live = minLiveShells + XorShiftRandom.bounded(x, liveRange);
+        x = XorShiftRandom.step(x);
+        lanes.chamber[i] = arrangements[offsets[live] + XorShiftRandom.bounded(x, counts[live])];
+        lanes.count[i] = chamberSize;
+        lanes.rng[i] = x;
+    }
+
+    /**
+     * Returneaza codul unei strategii predefinite.
+     *
+     * @param strategy Strategia.
+     * @return Codul ei.
+     * @throws IllegalArgumentException daca strategia nu este predefinita.
+     */
+    static int code(Strategy strategy) {
+        if (strategy == Strategy.SHOOT_SELF) {
+            return SHOOT_SELF;
+        } else if (strategy == Strategy.SHOOT_OPPONENT) {
+            return SHOOT_OPPONENT;
+        } else if (strategy == Strategy.RANDOM) {
+            return RANDOM;
+        } else if (strategy == Strategy.ODDS) {
+            return ODDS;
+        }
+        throw new IllegalArgumentException("Batch simulation supports only the built-in strategies");
+    }
+
+    /**
+     * Incarca VectorBatchKernel daca a fost compilat, modulul jdk.incubator.vector este incarcat si pasul
+     * vectorial are mai mult de o banda.
+     */
+    private static Kernel loadVectorKernel() {
+        if (Boolean.getBoolean("ruleta.batch.scalar")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Kernel kernel = (Kernel) Class.forName("org.example.VectorBatchKernel")
+                    .getDeclaredConstructor().newInstance();
+            return kernel.laneCount() > 1 ? kernel : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compara debitul simularii cu Game, cu pasul scalar si cu cel vectorial. Argumente (toate optionale):
+     * {@code --games N --lives V --rules VARIANTA --player STRATEGIE --dealer STRATEGIE --seed X}.
+     * Pentru pasul vectorial, proiectul trebuie compilat cu -Pvector si JVM-ul pornit cu
+     * --add-modules jdk.incubator.vector.
+     *
+     * @param args Argumentele din linia de comanda.
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        RuleSet rules = RuleSet.forName(options.getOrDefault("rules", RuleSet.CLASSIC.getName()));
+        int games = Integer.parseInt(options.getOrDefault("games", "1000000"));
+        int lives = Integer.parseInt(options.getOrDefault("lives", String.valueOf(rules.getDefaultLives())));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Strategy player = strategy(options.getOrDefault("player", "RANDOM"));
+        Strategy dealer = strategy(options.getOrDefault("dealer", "RANDOM"));
+        BatchSimulator simulator = new BatchSimulator(rules, player, dealer);
+
+        System.out.printf("%s, %d lives, %d games, vector API %s%n", rules, lives, games,
+                VECTOR_KERNEL != null ? VECTOR_KERNEL.laneCount() + " lanes" : "unavailable");
+        for (String mode : VECTOR_KERNEL != null ? new String[]{"game", "scalar", "vector"} : new String[]{"game", "scalar"}) {
+            long best = Long.MAX_VALUE;
+            long wins = 0;
+            for (int repeat = 0; repeat < 3; repeat++) {
+                long start = System.nanoTime();
+                wins = switch (mode) {
+                    case "game" -> playGames(rules, lives, games, seed, player, dealer);
+                    case "scalar" -> simulator.run(lives, games, seed, false).getPlayerWins();
+                    default -> simulator.run(lives, games, seed, true).getPlayerWins();
+                };
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("%-7s %12.0f games/s  player wins %.4f%n", mode, games * 1e9 / best, (double) wins / games);
+        }
+    }
+
+    /**
+     * Joaca acelasi lot cu Game, pentru comparatie.
+     *
+     * @return Numarul de jocuri castigate de jucator.
+     */
+    private static long playGames(RuleSet rules, int lives, int games, long seed, Strategy player, Strategy dealer) {
+        long wins = 0;
+        for (int g = 0; g < games; g++) {
+            Game game = new Game("batch", null, rules, dealer, new XorShiftRandom(seed + g));
+            game.setPlayerLife(lives);
+            game.setDealerLife(lives);
+            while (!game.isGameOver()) {
+                if (game.isPlayerTurn()) {
+                    game.resolveRound(player);
+                } else {
+                    game.resolveDealerRound();
+                }
+            }
+            if (game.getPlayerLife() > 0) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * Returneaza strategia predefinita cu numele dat.
+     */
+    private static Strategy strategy(String name) {
+        Strategy strategy = StrategyTournament.builtIns().get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+        return strategy;
+    }
+
+    /**
+     * Interfata Kernel este pasul lockstep al unui bloc de jocuri, implementat de VectorBatchKernel.
+     */
+    interface Kernel {
+
+        /**
+         * Returneaza numarul de jocuri calculate impreuna.
+         *
+         * @return Numarul de benzi.
+         */
+        int laneCount();
+
+        /**
+         * Rezolva cate o runda in jocurile active ale blocului (vezi playOut).
+         *
+         * @param simulator Simulatorul (reguli compilate si strategii).
+         * @param lanes Starea jocurilor.
+         * @param size Numarul de jocuri din bloc.
+         * @return Numarul de jocuri ramase active.
+         */
+        int step(BatchSimulator simulator, Lanes lanes, int size);
+    }
+
+    /**
+     * Clasa Lanes tine starea de lucru a unui bloc de jocuri, cate un element de tablou pentru fiecare joc.
+     * Toate campurile sunt long, ca pasul vectorial sa foloseasca o singura forma de vector.
+     */
+    static final class Lanes {
+
+        /**
+         * Starea generatorului fiecarui joc.
+         */
+        final long[] rng;
+
+        /**
+         * Camera, ca masca de biti, si numarul de gloante ramase.
+         */
+        final long[] chamber;
+        final long[] count;
+
+        /**
+         * Vietile jucatorului si ale dealerului.
+         */
+        final long[] playerLife;
+        final long[] dealerLife;
+
+        /**
+         * 1 daca este tura jucatorului, 0 daca este a dealerului.
+         */
+        final long[] playerTurn;
+
+        /**
+         * Numarul rundei (creste in tura jucatorului) si numarul de trageri.
+         */
+        final long[] rounds;
+        final long[] shots;
+
+        /**
+         * Constructor pentru clasa Lanes.
+         *
+         * @param capacity Numarul maxim de jocuri dintr-un bloc.
+         */
+        Lanes(int capacity) {
+            rng = new long[capacity];
+            chamber = new long[capacity];
+            count = new long[capacity];
+            playerLife = new long[capacity];
+            dealerLife = new long[capacity];
+            playerTurn = new long[capacity];
+            rounds = new long[capacity];
+            shots = new long[capacity];
+        }
+
+        /**
+         * Porneste jocuri noi, cu camera goala si jucatorul la rand.
+         *
+         * @param size Numarul de jocuri din bloc.
+         * @param lives Vietile initiale.
+         * @param seed Samanta primului joc; jocul i foloseste seed + i.
+         */
+        void reset(int size, int lives, long seed) {
+            for (int i = 0; i < size; i++) {
+                rng[i] = XorShiftRandom.initialState(seed + i);
+            }
+            Arrays.fill(chamber, 0, size, 0);
+            Arrays.fill(count, 0, size, 0);
+            Arrays.fill(playerLife, 0, size, lives);
+            Arrays.fill(dealerLife, 0, size, lives);
+            Arrays.fill(playerTurn, 0, size, 1);
+            Arrays.fill(rounds, 0, size, 0);
+            Arrays.fill(shots, 0, size, 0);
+        }
+    }
+
+    /**
+     * Clasa Result contine rezultatele jocurilor unui lot.
+     */
+    public static final class Result {
+
+        /**
+         * Regulile jocurilor, pentru scor.
+         */
+        private final RuleSet rules;
+
+        /**
+         * Vietile initiale.
+         */
+        private final int lives;
+
+        /**
+         * Starea finala a jocurilor: vietile, numarul rundei si numarul de trageri.
+         */
+        private final int[] playerLife;
+        private final int[] dealerLife;
+        private final int[] rounds;
+        private final int[] shots;
+
+        private Result(RuleSet rules, int lives, int games) {
+            this.rules = rules;
+            this.lives = lives;
+            this.playerLife = new int[games];
+            this.dealerLife = new int[games];
+            this.rounds = new int[games];
+            this.shots = new int[games];
+        }
+
+        /**
+         * Copiaza rezultatele unui bloc terminat.
+         */
+        private void store(Lanes lanes, int from, int size) {
+            for (int i = 0; i < size; i++) {
+                playerLife[from + i] = (int) lanes.playerLife[i];
+                dealerLife[from + i] = (int) lanes.dealerLife[i];
+                rounds[from + i] = (int) lanes.rounds[i];
+                shots[from + i] = (int) lanes.shots[i];
+            }
+        }
+
+        /**
+         * Returneaza numarul de jocuri.
+         *
+         * @return Numarul de jocuri.
+         */
+        public int getGames() {
+            return playerLife.length;
+        }
+
+        /**
+         * Returneaza vietile ramase ale jucatorului.
+         *
+         * @param game Indexul jocului.
+         * @return Vietile (0 daca jucatorul a pierdut).
+         */
+        public int getPlayerLife(int game) {
+            return playerLife[game];
+        }
+
+        /**
+         * Returneaza vietile ramase ale dealerului.
+         *
+         * @param game Indexul jocului.
+         * @return Vietile (0 daca dealerul a pierdut).
+         */
+        public int getDealerLife(int game) {
+            return dealerLife[game];
+        }
+
+        /**
+         * Returneaza numarul final al rundei, ca Game.getRoundNumber.
+         *
+         * @param game Indexul jocului.
+         * @return Numarul rundei.
+         */
+        public int getRoundNumber(int game) {
+            return rounds[game];
+        }
+
+        /**
+         * Returneaza numarul de trageri din joc.
+         *
+         * @param game Indexul jocului.
+         * @return Numarul de trageri.
+         */
+        public int getShots(int game) {
+            return shots[game];
+        }
+
+        /**
+         * Calculeaza scorul jucatorului, ca Game.calculateScore.
+         *
+         * @param game Indexul jocului.
+         * @return Scorul.
+         */
+        public int getScore(int game) {
+            return getRoundNumber(game) * rules.scoreMultiplier(getPlayerLife(game));
+        }
+
+        /**
+         * Returneaza numarul de jocuri castigate de jucator.
+         *
+         * @return Numarul de victorii.
+         */
+        public long getPlayerWins() {
+            long wins = 0;
+            for (int life : playerLife) {
+                if (life > 0) {
+                    wins++;
+                }
+            }
+            return wins;
+        }
+
+        /**
+         * Adauga toate jocurile lotului intr-o analiza a scorurilor.
+         *
+         * @param analytics Analiza.
+         */
+        public void addTo(ScoreAnalytics analytics) {
+            for (int g = 0; g < getGames(); g++) {
+                analytics.accept(lives, getScore(g), getRoundNumber(g), getShots(g));
+            }
+        }
+    }
+}
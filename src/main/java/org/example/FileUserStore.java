@@ -0,0 +1,310 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clasa FileUserStore stocheaza utilizatorii intr-un fisier local mapat in memorie, fara un proces de baza de date.
+ * Fiecare utilizator ocupa o inregistrare de dimensiune fixa; la deschidere fisierul este citit o singura data
+ * intr-un InMemoryUserStore, care raspunde apoi la toate citirile. Scrierile actualizeaza atat indexul din memorie,
+ * cat si inregistrarea din fisier; fiecare apel de scriere (deci si fiecare lot al ScoreWriteBehind) se incheie
+ * cu fortarea zonei mapate pe disc, ca o oprire brusca a procesului sa piarda cel mult lotul in curs.
+ */
+public class FileUserStore implements UserStore {
+
+    /**
+     * Lungimea maxima, in octeti UTF-8, a numelui si a parolei.
+     */
+    public static final int MAX_FIELD_BYTES = 64;
+
+    /**
+     * Identificatorul formatului de fisier ("RRU1").
+     */
+    private static final int MAGIC = 0x52525531;
+
+    /**
+     * Dimensiunea antetului: magic, numarul de inregistrari si doi intregi rezervati.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Pozitia numarului de inregistrari in antet.
+     */
+    private static final int COUNT_OFFSET = 4;
+
+    /**
+     * Dimensiunea unei inregistrari: lungime si octetii numelui, lungime si octetii parolei, scor.
+     */
+    private static final int RECORD_SIZE = 2 + MAX_FIELD_BYTES + 2 + MAX_FIELD_BYTES + 4;
+
+    /**
+     * Pozitia scorului in cadrul unei inregistrari.
+     */
+    private static final int SCORE_OFFSET = RECORD_SIZE - 4;
+
+    /**
+     * Numarul initial de inregistrari pentru care se rezerva spatiu.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Canalul fisierului.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Indexul din memorie care raspunde la citiri.
+     */
+    private final InMemoryUserStore index = new InMemoryUserStore();
+
+    /**
+     * Pozitia (slotul) fiecarui utilizator in fisier.
+     */
+    private final Map<String, Integer> sloturi = new HashMap<>();
+
+    /**
+     * Zona mapata in memorie a fisierului.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Numarul de inregistrari pentru care exista spatiu in zona mapata.
+     */
+    private int capacitate;
+
+    /**
+     * Numarul de inregistrari scrise.
+     */
+    private int numarInregistrari;
+
+    /**
+     * True dupa primul apel close().
+     */
+    private boolean closed;
+
+    /**
+     * Deschide sau creeaza fisierul de utilizatori.
+     *
+     * @param path Calea fisierului.
+     * @throws UncheckedIOException daca fisierul nu poate fi deschis sau nu are formatul asteptat.
+     */
+    public FileUserStore(Path path) {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long dimensiune = channel.size();
+            if (dimensiune == 0) {
+                mapeaza(INITIAL_CAPACITY);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(COUNT_OFFSET, 0);
+            } else {
+                mapeaza((int) Math.max(INITIAL_CAPACITY, (dimensiune - HEADER_SIZE) / RECORD_SIZE));
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Not a user store file: " + path);
+                }
+                incarca();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Document findUser(String username) {
+        return index.findUser(username);
+    }
+
+    @Override
+    public synchronized SignupResult insertUser(String username, String password) {
+        verificaDeschis();
+        SignupResult rezultat = insereaza(username, password);
+        forteaza();
+        return rezultat;
+    }
+
+    @Override
+    public synchronized Map<String, SignupResult> insertUsers(Map<String, String> conturi) {
+        verificaDeschis();
+        Map<String, SignupResult> rezultate = new LinkedHashMap<>();
+        conturi.forEach((username, password) -> rezultate.put(username, insereaza(username, password)));
+        forteaza();
+        return rezultate;
+    }
+
+    @Override
+    public synchronized void setScore(String username, int scor) {
+        verificaDeschis();
+        index.setScore(username, scor);
+        scrieScor(username);
+        forteaza();
+    }
+
+    @Override
+    public synchronized void maxScores(Map<String, Integer> scoruri) {
+        verificaDeschis();
+        index.maxScores(scoruri);
+        scoruri.keySet().forEach(this::scrieScor);
+        forteaza();
+    }
+
+    @Override
+    public List<Document> findAllByScore() {
+        return index.findAllByScore();
+    }
+
+    @Override
+    public List<Document> findRankedPage(int offset, int limit) {
+        return index.findRankedPage(offset, limit);
+    }
+
+    @Override
+    public long countRankedUsers() {
+        return index.countRankedUsers();
+    }
+
+    @Override
+    public long countUsersWithScoreAbove(int scor) {
+        return index.countUsersWithScoreAbove(scor);
+    }
+
+    /**
+     * Scrie pe disc modificarile din zona mapata si inchide fisierul; apelurile repetate nu mai fac nimic.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adauga un utilizator in index si in zona mapata, fara a forta scrierea pe disc.
+     */
+    private SignupResult insereaza(String username, String password) {
+        byte[] nume = codifica(username);
+        byte[] parola = codifica(password);
+        SignupResult rezultat = index.insertUser(username, password);
+        if (rezultat == SignupResult.CREATED) {
+            scrieInregistrare(username, nume, parola);
+        }
+        return rezultat;
+    }
+
+    /**
+     * Forteaza pe disc modificarile din zona mapata, la sfarsitul unei scrieri sau al unui lot.
+     */
+    private void forteaza() {
+        buffer.force();
+    }
+
+    /**
+     * Refuza scrierile dupa close(), inainte ca ele sa modifice indexul din memorie.
+     */
+    private void verificaDeschis() {
+        if (closed) {
+            throw new IllegalStateException("FileUserStore is closed");
+        }
+    }
+
+    /**
+     * Citeste toate inregistrarile din fisier in indexul din memorie.
+     */
+    private void incarca() {
+        numarInregistrari = buffer.getInt(COUNT_OFFSET);
+        for (int slot = 0; slot < numarInregistrari; slot++) {
+            int pozitie = HEADER_SIZE + slot * RECORD_SIZE;
+            String username = citesteCamp(pozitie);
+            String password = citesteCamp(pozitie + 2 + MAX_FIELD_BYTES);
+            int scor = buffer.getInt(pozitie + SCORE_OFFSET);
+            index.insertUser(username, password);
+            index.setScore(username, scor);
+            sloturi.put(username, slot);
+        }
+    }
+
+    /**
+     * Adauga inregistrarea unui utilizator nou la sfarsitul fisierului.
+     */
+    private void scrieInregistrare(String username, byte[] nume, byte[] parola) {
+        if (numarInregistrari == capacitate) {
+            mapeaza(capacitate * 2);
+        }
+        int slot = numarInregistrari;
+        int pozitie = HEADER_SIZE + slot * RECORD_SIZE;
+        scrieCamp(pozitie, nume);
+        scrieCamp(pozitie + 2 + MAX_FIELD_BYTES, parola);
+        buffer.putInt(pozitie + SCORE_OFFSET, 0);
+        sloturi.put(username, slot);
+        numarInregistrari++;
+        buffer.putInt(COUNT_OFFSET, numarInregistrari);
+    }
+
+    /**
+     * Copiaza in fisier scorul curent al unui utilizator din indexul din memorie.
+     */
+    private void scrieScor(String username) {
+        Integer slot = sloturi.get(username);
+        if (slot != null) {
+            buffer.putInt(HEADER_SIZE + slot * RECORD_SIZE + SCORE_OFFSET, index.findUser(username).getInteger("scor", 0));
+        }
+    }
+
+    /**
+     * Scrie un camp (lungime urmata de octeti) la pozitia data.
+     */
+    private void scrieCamp(int pozitie, byte[] valoare) {
+        buffer.putShort(pozitie, (short) valoare.length);
+        buffer.put(pozitie + 2, valoare);
+    }
+
+    /**
+     * Citeste un camp (lungime urmata de octeti) de la pozitia data.
+     */
+    private String citesteCamp(int pozitie) {
+        byte[] valoare = new byte[buffer.getShort(pozitie)];
+        buffer.get(pozitie + 2, valoare);
+        return new String(valoare, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Codifica un camp in UTF-8, verificand lungimea maxima.
+     *
+     * @throws IllegalArgumentException daca valoarea depaseste MAX_FIELD_BYTES octeti.
+     */
+    private static byte[] codifica(String valoare) {
+        byte[] octeti = valoare.getBytes(StandardCharsets.UTF_8);
+        if (octeti.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Value longer than " + MAX_FIELD_BYTES + " bytes");
+        }
+        return octeti;
+    }
+
+    /**
+     * (Re)mapeaza fisierul pentru capacitatea data, extinzandu-l daca este nevoie.
+     */
+    private void mapeaza(int inregistrari) {
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) inregistrari * RECORD_SIZE);
+            capacitate = inregistrari;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
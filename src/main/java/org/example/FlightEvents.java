@@ -0,0 +1,235 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clasa FlightEvents contine evenimentele Java Flight Recorder emise de joc si de UserManager, pentru analiza
+ * varfurilor de latenta impreuna cu activitatea GC si a firelor (de exemplu cu
+ * {@code -XX:StartFlightRecording:filename=ruleta.jfr} si JDK Mission Control).
+ *
+ * Fiecare eveniment este creat pe stiva si completat doar daca shouldCommit() intoarce true; cand inregistrarea
+ * este oprita sau evenimentul este dezactivat, costul se reduce la acel test, iar compilatorul JIT elimina
+ * obiectul. Evenimentele nu captureaza stiva apelurilor. Pe caile fara alocari ale motorului (reincarcarea,
+ * sfarsitul jocului) escape analysis nu elimina intotdeauna obiectul, deci acolo evenimentul este creat
+ * doar daca Gate-ul lui confirma ca este activ.
+ */
+public final class FlightEvents {
+
+    /**
+     * Generatorul identificatorilor de masa (cate unul pentru fiecare joc creat).
+     */
+    private static final AtomicInteger TABLE_IDS = new AtomicInteger();
+
+    /**
+     * Starea evenimentelor emise din caile fara alocari ale motorului.
+     */
+    static final Gate RELOADS = new Gate(ChamberReloaded.class);
+    static final Gate GAME_OVER = new Gate(GameOver.class);
+
+    private FlightEvents() {
+    }
+
+    /**
+     * Clasa Gate verifica, fara alocari, daca un tip de eveniment este activ intr-o inregistrare in curs.
+     * Inainte de prima inregistrare JFR nu este initializat si raspunsul este imediat.
+     */
+    static final class Gate {
+
+        /**
+         * Clasa evenimentului verificat.
+         */
+        private final Class<? extends Event> eventClass;
+
+        /**
+         * Tipul evenimentului, cerut la prima verificare de dupa initializarea JFR.
+         */
+        private volatile EventType eventType;
+
+        private Gate(Class<? extends Event> eventClass) {
+            this.eventClass = eventClass;
+        }
+
+        /**
+         * Verifica daca evenimentul este activ si exista cel putin o inregistrare in curs.
+         *
+         * @return True daca evenimentul trebuie creat.
+         */
+        boolean isEnabled() {
+            if (!FlightRecorder.isInitialized()) {
+                return false;
+            }
+            EventType type = eventType;
+            if (type == null) {
+                type = EventType.getEventType(eventClass);
+                eventType = type;
+            }
+            return type.isEnabled();
+        }
+    }
+
+    /**
+     * Returneaza identificatorul unei mese noi.
+     *
+     * @return Identificatorul, unic in proces.
+     */
+    static int nextTableId() {
+        return TABLE_IDS.incrementAndGet();
+    }
+
+    /**
+     * Evenimentul unei runde rezolvate: cine a tras, in cine si daca glontul a fost live.
+     * Durata evenimentului este durata rundei.
+     */
+    @Name("org.example.RoundResolved")
+    @Label("Round Resolved")
+    @Category({"Russian Roulette", "Game"})
+    @StackTrace(false)
+    public static final class RoundResolved extends Event {
+
+        @Label("Table Id")
+        int tableId;
+
+        @Label("Seat")
+        @Description("Locul celui care trage: 0 jucatorul si 1 dealerul in singleplayer, indexul jucatorului in multiplayer")
+        int seat;
+
+        @Label("Target Seat")
+        int targetSeat;
+
+        @Label("Live Shell")
+        boolean live;
+
+        /**
+         * Completeaza si inregistreaza evenimentul, daca este activ.
+         *
+         * @param tableId Identificatorul mesei.
+         * @param seat Locul celui care trage.
+         * @param targetSeat Locul tintei.
+         * @param live True daca glontul a fost live.
+         */
+        void end(int tableId, int seat, int targetSeat, boolean live) {
+            if (shouldCommit()) {
+                this.tableId = tableId;
+                this.seat = seat;
+                this.targetSeat = targetSeat;
+                this.live = live;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Evenimentul reincarcarii camerei.
+     */
+    @Name("org.example.ChamberReloaded")
+    @Label("Chamber Reloaded")
+    @Category({"Russian Roulette", "Game"})
+    @StackTrace(false)
+    public static final class ChamberReloaded extends Event {
+
+        @Label("Table Id")
+        int tableId;
+
+        @Label("Live Shells")
+        int liveShells;
+
+        @Label("Blank Shells")
+        int blankShells;
+
+        /**
+         * Completeaza si inregistreaza evenimentul, daca este activ.
+         *
+         * @param tableId Identificatorul mesei.
+         * @param liveShells Gloantele live incarcate.
+         * @param blankShells Gloantele blank incarcate.
+         */
+        void end(int tableId, int liveShells, int blankShells) {
+            if (shouldCommit()) {
+                this.tableId = tableId;
+                this.liveShells = liveShells;
+                this.blankShells = blankShells;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Evenimentul sfarsitului unui joc.
+     */
+    @Name("org.example.GameOver")
+    @Label("Game Over")
+    @Category({"Russian Roulette", "Game"})
+    @StackTrace(false)
+    public static final class GameOver extends Event {
+
+        @Label("Table Id")
+        int tableId;
+
+        @Label("Winner Seat")
+        int winnerSeat;
+
+        @Label("Rounds")
+        int rounds;
+
+        /**
+         * Completeaza si inregistreaza evenimentul, daca este activ.
+         *
+         * @param tableId Identificatorul mesei.
+         * @param winnerSeat Locul castigatorului.
+         * @param rounds Numarul de runde jucate.
+         */
+        void end(int tableId, int winnerSeat, int rounds) {
+            if (shouldCommit()) {
+                this.tableId = tableId;
+                this.winnerSeat = winnerSeat;
+                this.rounds = rounds;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Evenimentul unei operatii UserManager (autentificare, inregistrare, actualizare de scor, clasament).
+     * Durata evenimentului include cache-ul si stocarea.
+     */
+    @Name("org.example.UserOperation")
+    @Label("User Operation")
+    @Category({"Russian Roulette", "Users"})
+    @StackTrace(false)
+    public static final class UserOperation extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Username")
+        String username;
+
+        @Label("Success")
+        boolean success;
+
+        /**
+         * Completeaza si inregistreaza evenimentul, daca este activ.
+         *
+         * @param operation Numele operatiei.
+         * @param username Utilizatorul (poate fi null pentru clasament).
+         * @param success True daca operatia a reusit.
+         */
+        void end(String operation, String username, boolean success) {
+            if (shouldCommit()) {
+                this.operation = operation;
+                this.username = username;
+                this.success = success;
+                commit();
+            }
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package org.example;
 
-import java.util.Collections;
 import java.util.Random;
-import java.util.Stack;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Clasa Game gestioneaza logica jocului pentru modul singleplayer al aplicatiei Russian Roulette.
  * Include functionalitati precum initializarea jocului, desfasurarea rundelor, reincarcarea camerei
  * si verificarea conditiilor de finalizare a jocului.
  */
-public class Game {
+public class Game implements TableState {
+
+    /**
+     * Locurile de la masa, asa cum le vad strategiile si evenimentele Flight Recorder.
+     */
+    static final int PLAYER_SEAT = 0;
+    static final int DEALER_SEAT = 1;
+
+    /**
+     * Durata rundelor singleplayer (actiunea jucatorului sau a dealerului).
+     */
+    private static final LatencyHistogram ROUND_LATENCY = Metrics.global().histogram("game.singleplayer.round");
+
+    /**
+     * Contoarele globale de jocuri pornite si terminate si de reincarcari, comune cu modul multiplayer.
+     */
+    static final LongAdder GAMES_STARTED = Metrics.global().counter("game.started");
+    static final LongAdder GAMES_FINISHED = Metrics.global().counter("game.finished");
+    static final LongAdder RELOADS = Metrics.global().counter("game.reloads");
 
     /**
      * Numele utilizatorului care joaca jocul.
@@ -24,12 +41,37 @@ public class Game {
     /**
      * Instanta Random utilizata pentru generarea aleatoarelor.
      */
-    private final Random random = new Random();
+    private final Random random;
+
+    /**
+     * Regulile variantei jucate (camera, gloante live, multiplicatori de scor).
+     */
+    private final RuleSet rules;
+
+    /**
+     * Strategia care alege actiunile dealerului.
+     */
+    private final Strategy dealerStrategy;
+
+    /**
+     * Identificatorul mesei, folosit in evenimentele Flight Recorder.
+     */
+    private final int tableId = FlightEvents.nextTableId();
+
+    /**
+     * Camera cu gloante, ca masca de biti (1 = live); urmatorul glont tras este bitul chamberCount - 1.
+     */
+    private long chamber;
+
+    /**
+     * Numarul de gloante ramase in camera.
+     */
+    private int chamberCount = 0;
 
     /**
-     * Camera cu gloante, reprezentata ca un stack de ShellType.
+     * Indica daca numarul de gloante din camera curenta a fost deja afisat de playRoundSwing.
      */
-    private final Stack<ShellType> chamber = new Stack<>();
+    private boolean chamberAnnounced = true;
 
     /**
      * Numarul curent de vieti ale jucatorului.
@@ -82,11 +124,14 @@ public class Game {
     private int numBlankShells;
 
     /**
-     * Tipurile de gloante disponibile: LIVE_SHELL sau BLANK_SHELL.
+     * Numarul de gloante live ramase in camera.
      */
-    private enum ShellType {
-        LIVE_SHELL, BLANK_SHELL
-    }
+    private int remainingLiveShells;
+
+    /**
+     * Numarul de gloante blank ramase in camera.
+     */
+    private int remainingBlankShells;
 
     /**
      * Constructor pentru clasa Game.
@@ -95,8 +140,39 @@ public class Game {
      * @param userManager Instanta UserManager care gestioneaza datele utilizatorilor.
      */
     public Game(String username, UserManager userManager) {
+        this(username, userManager, Strategy.RANDOM, new Random());
+    }
+
+    /**
+     * Constructor pentru clasa Game cu strategia dealerului si generatorul de numere aleatoare date,
+     * folosit de simulari (o samanta fixa face jocul reproductibil).
+     *
+     * @param username Numele utilizatorului care joaca jocul.
+     * @param userManager Instanta UserManager care gestioneaza datele utilizatorilor.
+     * @param dealerStrategy Strategia dealerului.
+     * @param random Generatorul de numere aleatoare al mesei.
+     */
+    public Game(String username, UserManager userManager, Strategy dealerStrategy, Random random) {
+        this(username, userManager, RuleSet.CLASSIC, dealerStrategy, random);
+    }
+
+    /**
+     * Constructor pentru clasa Game cu o varianta de reguli.
+     *
+     * @param username Numele utilizatorului care joaca jocul.
+     * @param userManager Instanta UserManager care gestioneaza datele utilizatorilor.
+     * @param rules Regulile variantei.
+     * @param dealerStrategy Strategia dealerului.
+     * @param random Generatorul de numere aleatoare al mesei.
+     */
+    public Game(String username, UserManager userManager, RuleSet rules, Strategy dealerStrategy, Random random) {
         this.username = username;
         this.userManager = userManager;
+        this.rules = rules;
+        this.dealerStrategy = dealerStrategy;
+        this.random = random;
+        // Starea initiala este cea a unui joc nou; resetGameState este singurul loc care numara jocurile pornite
+        resetGameState();
     }
 
     /**
@@ -120,17 +196,20 @@ public class Game {
     }
 
     /**
-     * Reseteaza starea jocului la valorile initiale.
+     * Reseteaza starea jocului la valorile initiale si numara un joc nou pornit (apelata si de constructor).
      */
     public void resetGameState() {
-        chamber.clear();
+        chamberCount = 0;
         isGameOver = false;
         isPlayerTurn = true;
         numLiveShells = 0;
         numBlankShells = 0;
+        remainingLiveShells = 0;
+        remainingBlankShells = 0;
 
         playerLife = initialPlayerLife;
         dealerLife = initialDealerLife;
+        GAMES_STARTED.increment();
     }
 
     /**
@@ -140,70 +219,117 @@ public class Game {
      * @return Rezultatul rundei ca un sir de caractere.
      */
     public String playRoundSwing(String action) {
+        long start = System.nanoTime();
+        FlightEvents.RoundResolved event = new FlightEvents.RoundResolved();
+        event.begin();
+        boolean playerTurn = isPlayerTurn;
+        boolean shootSelf = "s".equals(action);
+        boolean live = resolveRound(shootSelf);
+
         StringBuilder roundSummary = new StringBuilder();
 
-        // Incrementeaza numarul rundei doar in tura jucatorului
-        if (isPlayerTurn) {
-            roundNum++;
+        // Numarul rundei creste doar in tura jucatorului
+        if (playerTurn) {
             roundSummary.append("\n🔄 Round: ").append(roundNum).append("\n");
         }
 
-        // Reincarca camera daca este goala
-        if (chamber.isEmpty()) {
-            numLiveShells = random.nextInt(5) + 1;
-            numBlankShells = 6 - numLiveShells;
-
+        if (!chamberAnnounced) {
+            chamberAnnounced = true;
             roundSummary.append("🔴 Live Shell(s): ").append(numLiveShells)
                     .append(", 🔵 Blank Shell(s): ").append(numBlankShells).append("\n");
-
-            reloadGun(numLiveShells, numBlankShells);
         }
 
         // Actiunea utilizatorului sau a dealerului
-        roundSummary.append((isPlayerTurn ? "Player" : "Dealer") + " action: ")
-                .append(action.equals("s") ? "Shot Self" : "Shot Opponent").append("\n");
-
-        ShellType currentShell = chamber.pop();
-        if (currentShell == ShellType.LIVE_SHELL) {
-            if ("s".equals(action)) {
-                if (isPlayerTurn) {
-                    playerLife--;
-                    roundSummary.append("💥 Hit! You lose one health 🧑 💔\n");
-                } else {
-                    dealerLife--;
-                    roundSummary.append("💥 Hit! Dealer loses one health 🤡 💔\n");
-                }
-            } else {
-                if (isPlayerTurn) {
-                    dealerLife--;
-                    roundSummary.append("💥 Hit! Dealer loses one health 🤡 💔\n");
-                } else {
-                    playerLife--;
-                    roundSummary.append("💥 Hit! You lose one health 🧑 💔\n");
-                }
-                isPlayerTurn = !isPlayerTurn; // Schimba tura doar daca tragi in dealer
-            }
+        roundSummary.append(playerTurn ? "Player" : "Dealer").append(" action: ")
+                .append(shootSelf ? "Shot Self" : "Shot Opponent").append("\n");
+
+        if (live) {
+            // Jucatorul este lovit cand se impusca in tura lui sau cand dealerul trage in el
+            roundSummary.append(shootSelf == playerTurn ? "💥 Hit! You lose one health 🧑 💔\n" : "💥 Hit! Dealer loses one health 🤡 💔\n");
         } else {
-            if ("s".equals(action)) {
-                roundSummary.append("💨 Miss! You survive and keep your turn.\n");
-            } else {
-                roundSummary.append("💨 Miss! No one is hit, and turn changes.\n");
-                isPlayerTurn = !isPlayerTurn;
-            }
+            roundSummary.append(shootSelf ? "💨 Miss! You survive and keep your turn.\n" : "💨 Miss! No one is hit, and turn changes.\n");
         }
 
-        // Verifica daca jocul s-a terminat
         if (playerLife <= 0) {
-            isGameOver = true;
             roundSummary.append("\n💀 Game over! You lost all lives\n");
         } else if (dealerLife <= 0) {
-            isGameOver = true;
             roundSummary.append("\n🎉 You win! The dealer lost all lives\n");
         }
 
+        ROUND_LATENCY.record(System.nanoTime() - start);
+        int shooter = playerTurn ? PLAYER_SEAT : DEALER_SEAT;
+        event.end(tableId, shooter, shootSelf ? shooter : 1 - shooter, live);
         return roundSummary.toString();
     }
 
+    /**
+     * Rezolva o runda fara a construi textul ei: creste numarul rundei in tura jucatorului, reincarca camera
+     * daca este goala, trage glontul si actualizeaza vietile, tura si sfarsitul jocului.
+     * Nu aloca memorie, deci poate fi folosita in simulari si benchmarkuri; playRoundSwing o foloseste
+     * si adauga descrierea rundei.
+     *
+     * @param shootSelf True daca cel aflat la rand trage in el insusi, false daca trage in adversar.
+     * @return True daca glontul a fost live.
+     */
+    public boolean resolveRound(boolean shootSelf) {
+        if (isPlayerTurn) {
+            roundNum++;
+        }
+
+        loadChamber();
+        boolean live = (chamber >>> --chamberCount & 1L) != 0;
+        if (live) {
+            remainingLiveShells--;
+            if (shootSelf == isPlayerTurn) {
+                playerLife--;
+            } else {
+                dealerLife--;
+            }
+        } else {
+            remainingBlankShells--;
+        }
+        // Tura se schimba doar cand se trage in adversar
+        if (!shootSelf) {
+            isPlayerTurn = !isPlayerTurn;
+        }
+
+        if (playerLife <= 0 || dealerLife <= 0) {
+            finishGame();
+        }
+        return live;
+    }
+
+    /**
+     * Rezolva tura dealerului fara a construi textul ei (vezi resolveRound).
+     *
+     * @return True daca glontul a fost live.
+     */
+    public boolean resolveDealerRound() {
+        return resolveRound(dealerShootsSelf());
+    }
+
+    /**
+     * Rezolva runda celui aflat la rand cu actiunea aleasa de strategia data, fara a construi textul ei.
+     *
+     * @param strategy Strategia locului aflat la rand.
+     * @return True daca glontul a fost live.
+     */
+    public boolean resolveRound(Strategy strategy) {
+        loadChamber();
+        int seat = isPlayerTurn ? PLAYER_SEAT : DEALER_SEAT;
+        return resolveRound(strategy.chooseTarget(this, seat, random) == seat);
+    }
+
+    /**
+     * Incarca o camera noua dupa regulile variantei (clasic: 1-5 gloante live din 6), daca cea curenta
+     * este goala.
+     */
+    public void loadChamber() {
+        if (chamberCount == 0) {
+            reloadGun(rules.loadChamber(random));
+        }
+    }
+
     /**
      * Gestioneaza tura dealerului.
      *
@@ -212,13 +338,13 @@ public class Game {
     public String dealerTurn() {
         if (!isGameOver) {
             StringBuilder result = new StringBuilder("\n🤡 Dealer's turn...\n");
-            String action = random.nextBoolean() ? "s" : "d";
+            String action = dealerShootsSelf() ? "s" : "d";
             result.append(playRoundSwing(action));
 
             if (dealerLife > 0) {
                 result.append("\nDealer survived! It's your turn.\n");
             } else {
-                isGameOver = true;
+                finishGame();
                 result.append("\n💥 Dealer lost all lives! 🎉 You win!\n");
             }
 
@@ -228,20 +354,46 @@ public class Game {
     }
 
     /**
-     * Reincarca camera cu numarul specificat de gloante live si blank.
+     * Alege actiunea dealerului cu strategia lui (implicit: se impusca sau trage in jucator, cu probabilitati
+     * egale), dupa ce incarca camera, daca este nevoie.
+     *
+     * @return True daca dealerul trage in el insusi.
+     */
+    private boolean dealerShootsSelf() {
+        loadChamber();
+        return dealerStrategy.chooseTarget(this, DEALER_SEAT, random) == DEALER_SEAT;
+    }
+
+    /**
+     * Reincarca camera cu o asezare de gloante aleasa de RuleSet.loadChamber.
      *
-     * @param numLiveShells Numarul de gloante live.
-     * @param numBlankShells Numarul de gloante blank.
+     * @param loaded Camera plina, ca masca de biti.
      */
-    private void reloadGun(int numLiveShells, int numBlankShells) {
-        chamber.clear();
-        for (int i = 0; i < numLiveShells; i++) {
-            chamber.push(ShellType.LIVE_SHELL);
+    private void reloadGun(long loaded) {
+        chamber = loaded;
+        chamberCount = rules.getChamberSize();
+        numLiveShells = Long.bitCount(loaded);
+        numBlankShells = chamberCount - numLiveShells;
+        RELOADS.increment();
+        chamberAnnounced = false;
+        remainingLiveShells = numLiveShells;
+        remainingBlankShells = numBlankShells;
+        if (FlightEvents.RELOADS.isEnabled()) {
+            new FlightEvents.ChamberReloaded().end(tableId, numLiveShells, numBlankShells);
         }
-        for (int i = 0; i < numBlankShells; i++) {
-            chamber.push(ShellType.BLANK_SHELL);
+    }
+
+    /**
+     * Marcheaza jocul ca terminat, numarandu-l o singura data.
+     */
+    private void finishGame() {
+        if (!isGameOver) {
+            isGameOver = true;
+            GAMES_FINISHED.increment();
+            if (FlightEvents.GAME_OVER.isEnabled()) {
+                new FlightEvents.GameOver().end(tableId, playerLife > 0 ? 0 : 1, roundNum);
+            }
         }
-        Collections.shuffle(chamber);
     }
 
     /**
@@ -280,6 +432,27 @@ public class Game {
         return isPlayerTurn;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return 2: jucatorul si dealerul.
+     */
+    @Override
+    public int getPlayerCount() {
+        return 2;
+    }
+
+    /**
+     * Returneaza vietile jucatorului (locul 0) sau ale dealerului (locul 1).
+     *
+     * @param seat Locul.
+     * @return Numarul de vieti.
+     */
+    @Override
+    public int getLives(int seat) {
+        return seat == PLAYER_SEAT ? playerLife : dealerLife;
+    }
+
     /**
      * Returneaza numarul de gloante live din camera.
      *
@@ -298,6 +471,45 @@ public class Game {
         return numBlankShells;
     }
 
+    /**
+     * Returneaza numarul de gloante live ramase in camera (numarul incarcat minus cele deja trase).
+     *
+     * @return Numarul de gloante live ramase.
+     */
+    @Override
+    public int getRemainingLiveShells() {
+        return remainingLiveShells;
+    }
+
+    /**
+     * Returneaza numarul de gloante blank ramase in camera.
+     *
+     * @return Numarul de gloante blank ramase.
+     */
+    @Override
+    public int getRemainingBlankShells() {
+        return remainingBlankShells;
+    }
+
+    /**
+     * Calculeaza scorul final al jucatorului: numarul de runde inmultit cu multiplicatorul variantei pentru
+     * vietile ramase (clasic: 300 pentru o viata, 50 pentru cinci).
+     *
+     * @return Scorul final calculat pe baza numarului de vieti si runde.
+     */
+    public int calculateScore() {
+        return roundNum * rules.scoreMultiplier(playerLife);
+    }
+
+    /**
+     * Returneaza regulile variantei jucate.
+     *
+     * @return Regulile.
+     */
+    public RuleSet getRuleSet() {
+        return rules;
+    }
+
     /**
      * Returneaza numarul curent al rundei.
      *
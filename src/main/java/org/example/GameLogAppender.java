@@ -0,0 +1,96 @@
+package org.example;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clasa GameLogAppender este appenderul asincron al jurnalului de joc ("ruleta.game"), cu posibilitatea de a astepta
+ * scrierea mesajelor aflate in coada. Firul care jurnalizeaza doar pune mesajul in coada, ca la orice AsyncAppender;
+ * flush() trimite prin aceeasi coada un marcaj, care este oprit de un filtru al appenderului din spate dupa ce toate
+ * mesajele dinaintea lui au fost scrise. Modul consola il foloseste ca meniurile sa apara dupa ultimele runde.
+ */
+public class GameLogAppender extends AsyncAppender {
+
+    /**
+     * Numele loggerului jurnalului de joc.
+     */
+    static final String GAME_LOGGER = "ruleta.game";
+
+    /**
+     * Timpul maxim de asteptare, in milisecunde, pentru golirea cozii.
+     */
+    private static final long FLUSH_TIMEOUT_MILLIS = 1000;
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appender.addFilter(new Filter<>() {
+            @Override
+            public FilterReply decide(ILoggingEvent event) {
+                if (event instanceof FlushMarker marker) {
+                    marker.written.countDown();
+                    return FilterReply.DENY;
+                }
+                return FilterReply.NEUTRAL;
+            }
+        });
+        super.addAppender(appender);
+    }
+
+    /**
+     * Asteapta ca mesajele puse in coada inainte de apel sa fie scrise, cel mult FLUSH_TIMEOUT_MILLIS.
+     */
+    public void flush() {
+        if (!isStarted()) {
+            return;
+        }
+        Logger logger = ((LoggerContext) getContext()).getLogger(GAME_LOGGER);
+        FlushMarker marker = new FlushMarker(logger);
+        doAppend(marker);
+        try {
+            marker.written.await(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Goleste appenderele GameLogAppender ale jurnalului de joc, daca logback este implementarea SLF4J folosita.
+     */
+    public static void flushGameLog() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        context.getLogger(GAME_LOGGER).iteratorForAppenders().forEachRemaining(appender -> {
+            if (appender instanceof GameLogAppender gameLogAppender) {
+                gameLogAppender.flush();
+            }
+        });
+    }
+
+    /**
+     * Marcajul trimis prin coada; nu este afisat niciodata.
+     */
+    private static final class FlushMarker extends LoggingEvent {
+
+        /**
+         * Numarat in jos cand marcajul ajunge la appenderul din spate.
+         */
+        private final CountDownLatch written = new CountDownLatch(1);
+
+        FlushMarker(Logger logger) {
+            // WARN: AsyncAppender poate arunca mesajele INFO si mai jos cand coada este aproape plina
+            super(FlushMarker.class.getName(), logger, Level.WARN, "", null, null);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.example;
+
+import javax.swing.*;
+import java.util.Arrays;
+
+/**
+ * Clasa GameLogModel pastreaza jurnalul de joc ca un buffer circular de intrari structurate (runda + linie de text).
+ * Capacitatea este fixa: cand bufferul este plin, cea mai veche linie este suprascrisa, deci memoria folosita
+ * nu creste odata cu durata sesiunii. Modelul anunta doar intervalele adaugate si eliminate, astfel incat
+ * lista care il afiseaza nu reface aranjarea intregului text la fiecare runda.
+ * Metodele se apeleaza pe EDT, ca pentru orice model Swing.
+ */
+public class GameLogModel extends AbstractListModel<GameLogModel.Entry> {
+
+    /**
+     * Numarul implicit de linii pastrate; poate fi schimbat prin proprietatea de sistem "ruleta.log.retention".
+     */
+    public static final int DEFAULT_RETENTION = Integer.getInteger("ruleta.log.retention", 1000);
+
+    /**
+     * Bufferul circular de intrari.
+     */
+    private final Entry[] ring;
+
+    /**
+     * Pozitia celei mai vechi intrari in buffer.
+     */
+    private int head;
+
+    /**
+     * Numarul de intrari pastrate.
+     */
+    private int size;
+
+    /**
+     * Numarul rundei curente; fiecare linie adaugata primeste numarul rundei in care a fost scrisa.
+     */
+    private int round;
+
+    /**
+     * Constructor cu numarul implicit de linii pastrate.
+     */
+    public GameLogModel() {
+        this(DEFAULT_RETENTION);
+    }
+
+    /**
+     * Constructor pentru clasa GameLogModel.
+     *
+     * @param retention Numarul maxim de linii pastrate.
+     * @throws IllegalArgumentException daca retention nu este pozitiv.
+     */
+    public GameLogModel(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Log retention must be positive");
+        }
+        this.ring = new Entry[retention];
+    }
+
+    /**
+     * Marcheaza inceputul unei runde noi; liniile adaugate de acum inainte apartin acestei runde.
+     */
+    public void beginRound() {
+        round++;
+    }
+
+    /**
+     * Adauga textul unei runde, cate o intrare pentru fiecare linie nevida.
+     *
+     * @param text Textul de adaugat (poate contine mai multe linii).
+     */
+    public void append(String text) {
+        int added = 0;
+        int evicted = 0;
+        for (String line : text.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Entry entry = new Entry(round, line);
+            if (size == ring.length) {
+                ring[head] = entry;
+                head = (head + 1) % ring.length;
+                evicted++;
+            } else {
+                ring[(head + size) % ring.length] = entry;
+                size++;
+                added++;
+            }
+        }
+
+        if (evicted > 0) {
+            // Toti indicii s-au deplasat; cu inaltime fixa a randurilor, lista redeseneaza doar randurile vizibile
+            fireContentsChanged(this, 0, size - 1);
+        } else if (added > 0) {
+            fireIntervalAdded(this, size - added, size - 1);
+        }
+    }
+
+    /**
+     * Sterge toate liniile din jurnal.
+     */
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        int removed = size;
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+        fireIntervalRemoved(this, 0, removed - 1);
+    }
+
+    /**
+     * Returneaza numarul maxim de linii pastrate.
+     *
+     * @return Capacitatea jurnalului.
+     */
+    public int getRetention() {
+        return ring.length;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public Entry getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return ring[(head + index) % ring.length];
+    }
+
+    /**
+     * O linie din jurnal, impreuna cu runda in care a fost scrisa.
+     */
+    public static final class Entry {
+
+        /**
+         * Numarul rundei.
+         */
+        private final int round;
+
+        /**
+         * Textul liniei.
+         */
+        private final String text;
+
+        Entry(int round, String text) {
+            this.round = round;
+            this.text = text;
+        }
+
+        /**
+         * Returneaza numarul rundei in care a fost scrisa linia.
+         *
+         * @return Numarul rundei.
+         */
+        public int getRound() {
+            return round;
+        }
+
+        /**
+         * Returneaza textul liniei.
+         *
+         * @return Textul liniei.
+         */
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Clasa GameLogPanel afiseaza jurnalul de joc al ferestrelor singleplayer si multiplayer.
+ * Jurnalul este un JList peste un GameLogModel limitat: randurile au inaltime si latime fixe, deci lista
+ * nu masoara fiecare linie, iar la desenare sunt randate doar randurile vizibile. Rundele alterneaza culoarea
+ * de fundal pentru a putea fi distinse fara a goli jurnalul la fiecare runda.
+ */
+public class GameLogPanel extends JScrollPane {
+
+    /**
+     * Culoarea de fundal pentru rundele impare.
+     */
+    private static final Color ALTERNATE_ROUND = new Color(0xF2, 0xF2, 0xF2);
+
+    /**
+     * Modelul cu liniile jurnalului.
+     */
+    private final GameLogModel model;
+
+    /**
+     * Lista care afiseaza liniile.
+     */
+    private final JList<GameLogModel.Entry> list;
+
+    /**
+     * Constructor cu numarul implicit de linii pastrate.
+     */
+    public GameLogPanel() {
+        this(new GameLogModel());
+    }
+
+    /**
+     * Constructor pentru clasa GameLogPanel.
+     *
+     * @param model Modelul jurnalului.
+     */
+    public GameLogPanel(GameLogModel model) {
+        this.model = model;
+        this.list = new JList<>(model) {
+            @Override
+            public boolean getScrollableTracksViewportWidth() {
+                return true; // Randurile iau latimea ferestrei, nu a celei mai lungi linii
+            }
+        };
+        list.setFocusable(false);
+        list.setSelectionModel(new DefaultListSelectionModel() {
+            @Override
+            public void setSelectionInterval(int index0, int index1) {
+                // Jurnalul este doar pentru citire
+            }
+        });
+        list.setFixedCellWidth(1);
+        list.setFixedCellHeight(list.getFontMetrics(list.getFont()).getHeight() + 4);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object value, int index, boolean selected, boolean focused) {
+                super.getListCellRendererComponent(l, value, index, false, false);
+                GameLogModel.Entry entry = (GameLogModel.Entry) value;
+                setBackground(entry.getRound() % 2 == 0 ? l.getBackground() : ALTERNATE_ROUND);
+                return this;
+            }
+        });
+        setViewportView(list);
+    }
+
+    /**
+     * Marcheaza inceputul unei runde noi.
+     */
+    public void beginRound() {
+        model.beginRound();
+    }
+
+    /**
+     * Adauga text in jurnal si deruleaza la ultima linie.
+     *
+     * @param text Textul de adaugat (poate contine mai multe linii).
+     */
+    public void append(String text) {
+        model.append(text);
+        int last = model.getSize() - 1;
+        if (last >= 0) {
+            list.ensureIndexIsVisible(last);
+        }
+    }
+
+    /**
+     * Returneaza modelul jurnalului.
+     *
+     * @return Modelul jurnalului.
+     */
+    public GameLogModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,321 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Clasa HeadlessRunner executa comenzi dintr-un script (fisier sau stdin), fara meniuri si fara interfata grafica,
+ * si scrie pentru fiecare comanda o linie JSON cu rezultatul si durata ei. Este folosita pentru rularea
+ * automata a mii de sesiuni (teste de regresie si masuratori de debit/latenta) peste orice UserStore.
+ *
+ * Comenzi acceptate (cate una pe linie; liniile goale si cele care incep cu '#' sunt ignorate):
+ * <pre>
+ * signup &lt;user&gt; &lt;parola&gt;
+ * login &lt;user&gt; &lt;parola&gt;
+ * logout
+ * rules &lt;varianta&gt;
+ * lives &lt;n&gt;
+ * play s|d
+ * scoreboard [n]
+ * </pre>
+ * "play" executa o actiune a jucatorului autentificat, urmata de tura dealerului, la fel ca SingleplayerFrame;
+ * la finalul jocului scorul este salvat daca depaseste scorul maxim, iar urmatorul "play" porneste un joc nou.
+ * "rules" alege o varianta inregistrata in RuleSet (implicit "classic") pentru jocurile noi si readuce vietile
+ * la valoarea ei implicita; "lives" accepta doar valorile permise de varianta curenta.
+ */
+public class HeadlessRunner {
+
+    /**
+     * Instanta UserManager pe care se executa comenzile.
+     */
+    private final UserManager userManager;
+
+    /**
+     * Destinatia liniilor JSON.
+     */
+    private final PrintStream out;
+
+    /**
+     * Statisticile de durata, pe tip de comanda.
+     */
+    private final Map<String, CommandStats> stats = new TreeMap<>();
+
+    /**
+     * Utilizatorul autentificat; null daca nu exista.
+     */
+    private String username;
+
+    /**
+     * Jocul in desfasurare; null daca nu exista.
+     */
+    private Game game;
+
+    /**
+     * Regulile jocurilor noi.
+     */
+    private RuleSet rules = RuleSet.CLASSIC;
+
+    /**
+     * Numarul de vieti pentru jocurile noi.
+     */
+    private int lives = rules.getDefaultLives();
+
+    /**
+     * Constructor pentru clasa HeadlessRunner.
+     *
+     * @param userManager Instanta UserManager pe care se executa comenzile.
+     * @param out Destinatia liniilor JSON.
+     */
+    public HeadlessRunner(UserManager userManager, PrintStream out) {
+        this.userManager = userManager;
+        this.out = out;
+    }
+
+    /**
+     * Executa toate comenzile din sursa data si scrie la final o linie de sumar.
+     *
+     * @param in Sursa comenzilor.
+     * @return Numarul de comenzi esuate.
+     * @throws IOException daca sursa nu poate fi citita.
+     */
+    public int run(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        int lineNumber = 0;
+        int errors = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] tokens = line.split("\\s+");
+            String command = tokens[0].toLowerCase();
+
+            boolean ok = true;
+            String result;
+            long start = System.nanoTime();
+            try {
+                result = execute(command, tokens);
+            } catch (RuntimeException e) {
+                ok = false;
+                result = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+            long nanos = System.nanoTime() - start;
+
+            if (!ok) {
+                errors++;
+            }
+            stats.computeIfAbsent(command, c -> new CommandStats()).record(nanos, ok);
+            out.println("{\"line\":" + lineNumber + ",\"cmd\":" + json(command) + ",\"ok\":" + ok
+                    + ",\"nanos\":" + nanos + ",\"result\":" + json(result) + "}");
+        }
+        printSummary();
+        return errors;
+    }
+
+    /**
+     * Executa o comanda.
+     *
+     * @param command Numele comenzii, cu litere mici.
+     * @param tokens Comanda si argumentele ei.
+     * @return Rezultatul comenzii, pe scurt.
+     * @throws IllegalArgumentException daca comanda sau argumentele ei nu sunt valide.
+     * @throws IllegalStateException daca comanda nu este permisa in starea curenta.
+     */
+    private String execute(String command, String[] tokens) {
+        switch (command) {
+            case "signup" -> {
+                argumente(tokens, 2);
+                return userManager.inregistrareUtilizator(tokens[1], tokens[2]).name();
+            }
+            case "login" -> {
+                argumente(tokens, 2);
+                if (!userManager.autentificareUtilizator(tokens[1], tokens[2])) {
+                    throw new IllegalStateException("invalid credentials");
+                }
+                username = tokens[1];
+                game = null;
+                return "logged in";
+            }
+            case "logout" -> {
+                username = null;
+                game = null;
+                return "logged out";
+            }
+            case "lives" -> {
+                argumente(tokens, 1);
+                int value = Integer.parseInt(tokens[1]);
+                if (!rules.isValidLives(value)) {
+                    throw new IllegalArgumentException("lives must be between " + rules.getMinLives()
+                            + " and " + rules.getMaxLives());
+                }
+                lives = value;
+                return "lives " + lives;
+            }
+            case "rules" -> {
+                argumente(tokens, 1);
+                rules = RuleSet.forName(tokens[1]);
+                lives = rules.getDefaultLives();
+                game = null;
+                return "rules " + rules.getName();
+            }
+            case "play" -> {
+                argumente(tokens, 1);
+                return play(tokens[1]);
+            }
+            case "scoreboard" -> {
+                int limit = tokens.length > 1 ? Integer.parseInt(tokens[1]) : 10;
+                List<Document> top = userManager.getScoreboardPage(0, limit);
+                StringBuilder sb = new StringBuilder();
+                for (Document user : top) {
+                    if (sb.length() > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(user.getString("username")).append('=').append(user.getInteger("scor", 0));
+                }
+                return sb.toString();
+            }
+            default -> throw new IllegalArgumentException("unknown command: " + command);
+        }
+    }
+
+    /**
+     * Executa o actiune a jucatorului si tura dealerului, pornind un joc nou daca este nevoie.
+     *
+     * @param action "s" sau "d".
+     * @return Starea jocului dupa actiune.
+     */
+    private String play(String action) {
+        if (username == null) {
+            throw new IllegalStateException("not logged in");
+        }
+        if (!"s".equals(action) && !"d".equals(action)) {
+            throw new IllegalArgumentException("action must be 's' or 'd'");
+        }
+        if (game == null) {
+            game = new Game(username, userManager, rules, Strategy.RANDOM, new Random());
+            game.setPlayerLife(lives);
+            game.setDealerLife(lives);
+        }
+
+        game.playRoundSwing(action);
+        if (!game.isGameOver() && !game.isPlayerTurn()) {
+            game.dealerTurn();
+        }
+
+        String state = "round " + game.getRoundNumber() + ", player " + game.getPlayerLife() + ", dealer " + game.getDealerLife();
+        if (!game.isGameOver()) {
+            return state;
+        }
+        int finalScore = game.calculateScore();
+        if (finalScore > userManager.getHighScore(username)) {
+            userManager.actualizareScor(username, finalScore);
+        }
+        game = null;
+        return state + ", game over, score " + finalScore;
+    }
+
+    /**
+     * Verifica numarul de argumente al unei comenzi.
+     */
+    private static void argumente(String[] tokens, int count) {
+        if (tokens.length != count + 1) {
+            throw new IllegalArgumentException(tokens[0] + " expects " + count + " argument(s)");
+        }
+    }
+
+    /**
+     * Scrie linia de sumar cu statisticile pe tip de comanda.
+     */
+    private void printSummary() {
+        StringBuilder sb = new StringBuilder("{\"summary\":{");
+        boolean first = true;
+        for (Map.Entry<String, CommandStats> entry : stats.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            CommandStats s = entry.getValue();
+            sb.append(json(entry.getKey())).append(":{\"count\":").append(s.count)
+                    .append(",\"errors\":").append(s.errors)
+                    .append(",\"meanNanos\":").append(s.count == 0 ? 0 : s.totalNanos / s.count)
+                    .append(",\"maxNanos\":").append(s.maxNanos).append('}');
+        }
+        out.println(sb.append("}}"));
+    }
+
+    /**
+     * Codifica un sir ca literal JSON.
+     */
+    static String json(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Statisticile de durata pentru un tip de comanda.
+     */
+    private static final class CommandStats {
+        private long count;
+        private long errors;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void record(long nanos, boolean ok) {
+            count++;
+            if (!ok) {
+                errors++;
+            }
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+
+    /**
+     * Ruleaza un script peste stocarea aleasa prin proprietatile de sistem (-Druleta.store).
+     *
+     * @param args Calea scriptului; "-" sau niciun argument pentru stdin.
+     * @throws IOException daca scriptul nu poate fi citit.
+     */
+    public static void main(String[] args) throws IOException {
+        int errors;
+        Metrics.exportFromSystemProperties();
+        try (UserManager userManager = new UserManager(UserStoreFactory.fromSystemProperties());
+             Reader in = args.length == 0 || "-".equals(args[0])
+                     ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                     : Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            errors = new HeadlessRunner(userManager, System.out).run(in);
+        }
+        System.exit(errors == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,166 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Clasa InMemoryUserStore pastreaza utilizatorii doar in memorie, intr-un ConcurrentHashMap,
+ * impreuna cu un index sortat dupa scor pentru clasament.
+ * Este potrivita pentru teste, benchmark-uri si rulari pe un singur nod, fara o baza de date separata.
+ */
+public class InMemoryUserStore implements UserStore {
+
+    /**
+     * Ordinea clasamentului: scor descrescator, apoi nume crescator.
+     */
+    static final Comparator<UserRecord> ORDINE_CLASAMENT =
+            Comparator.comparingInt((UserRecord u) -> u.scor).reversed().thenComparing(u -> u.username);
+
+    /**
+     * Utilizatorii, dupa nume.
+     */
+    private final ConcurrentHashMap<String, UserRecord> utilizatori = new ConcurrentHashMap<>();
+
+    /**
+     * Indexul sortat dupa scor.
+     */
+    private final ConcurrentSkipListSet<UserRecord> clasament = new ConcurrentSkipListSet<>(ORDINE_CLASAMENT);
+
+    /**
+     * Numararea scorurilor pentru pozitia in clasament, fara administrator.
+     */
+    private final ScoreRankIndex rang = new ScoreRankIndex();
+
+    @Override
+    public Document findUser(String username) {
+        UserRecord utilizator = utilizatori.get(username);
+        return utilizator != null ? utilizator.toDocument() : null;
+    }
+
+    @Override
+    public SignupResult insertUser(String username, String password) {
+        UserRecord nou = new UserRecord(username, password, 0);
+        // Indexurile se actualizeaza in aceeasi operatie atomica, ca o actualizare concurenta a scorului sa nu le dubleze
+        UserRecord existent = utilizatori.computeIfAbsent(username, nume -> {
+            clasament.add(nou);
+            if (!ADMIN_USERNAME.equals(nume)) {
+                rang.add(nou.scor);
+            }
+            return nou;
+        });
+        return existent == nou ? SignupResult.CREATED : SignupResult.USER_EXISTS;
+    }
+
+    @Override
+    public Map<String, SignupResult> insertUsers(Map<String, String> conturi) {
+        Map<String, SignupResult> rezultate = new LinkedHashMap<>();
+        conturi.forEach((username, password) -> rezultate.put(username, insertUser(username, password)));
+        return rezultate;
+    }
+
+    @Override
+    public void setScore(String username, int scor) {
+        actualizeaza(username, scor, false);
+    }
+
+    @Override
+    public void maxScores(Map<String, Integer> scoruri) {
+        scoruri.forEach((username, scor) -> actualizeaza(username, scor, true));
+    }
+
+    @Override
+    public List<Document> findAllByScore() {
+        List<Document> rezultat = new ArrayList<>(utilizatori.size());
+        for (UserRecord utilizator : clasament) {
+            rezultat.add(utilizator.toDocument());
+        }
+        return rezultat;
+    }
+
+    @Override
+    public List<Document> findRankedPage(int offset, int limit) {
+        List<Document> pagina = new ArrayList<>(Math.min(limit, utilizatori.size()));
+        int pozitie = 0;
+        for (UserRecord utilizator : clasament) {
+            if (pagina.size() == limit) {
+                break;
+            }
+            if (ADMIN_USERNAME.equals(utilizator.username)) {
+                continue;
+            }
+            if (pozitie++ >= offset) {
+                pagina.add(utilizator.toDocument());
+            }
+        }
+        return pagina;
+    }
+
+    @Override
+    public long countRankedUsers() {
+        return utilizatori.size() - (utilizatori.containsKey(ADMIN_USERNAME) ? 1 : 0);
+    }
+
+    @Override
+    public long countUsersWithScoreAbove(int scor) {
+        return rang.countAbove(scor);
+    }
+
+    /**
+     * Returneaza numarul de utilizatori stocati.
+     *
+     * @return Numarul de utilizatori.
+     */
+    public int size() {
+        return utilizatori.size();
+    }
+
+    /**
+     * Inlocuieste scorul unui utilizator si actualizeaza indexul sortat, atomic pentru acel utilizator.
+     *
+     * @param username Numele utilizatorului.
+     * @param scor Scorul nou.
+     * @param doarDacaEsteMaiMare True pentru a pastra maximul dintre scorul existent si cel nou.
+     */
+    private void actualizeaza(String username, int scor, boolean doarDacaEsteMaiMare) {
+        utilizatori.computeIfPresent(username, (nume, vechi) -> {
+            if (vechi.scor == scor || (doarDacaEsteMaiMare && vechi.scor > scor)) {
+                return vechi;
+            }
+            UserRecord nou = new UserRecord(nume, vechi.password, scor);
+            clasament.remove(vechi);
+            clasament.add(nou);
+            if (!ADMIN_USERNAME.equals(nume)) {
+                rang.move(vechi.scor, scor);
+            }
+            return nou;
+        });
+    }
+
+    /**
+     * Inregistrare imutabila a unui utilizator.
+     */
+    static final class UserRecord {
+        final String username;
+        final String password;
+        final int scor;
+
+        UserRecord(String username, String password, int scor) {
+            this.username = username;
+            this.password = password;
+            this.scor = scor;
+        }
+
+        Document toDocument() {
+            return new Document("username", username)
+                    .append("password", password)
+                    .append("scor", scor);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Clasa KllSketch estimeaza cuantilele unui flux de valori long in memorie marginita, cu algoritmul KLL
+ * (Karnin, Lang, Liberty): valorile sunt pastrate pe niveluri, iar un element de pe nivelul h reprezinta 2^h
+ * valori. Cand capacitatea este depasita, cel mai de jos nivel plin este sortat si jumatate din elementele lui
+ * (cele de pe pozitiile pare sau impare, ales aleator) urca pe nivelul urmator.
+ *
+ * Capacitatea nivelurilor scade geometric (factor 2/3) de sus in jos, deci sketch-ul pastreaza in jur de 3k
+ * elemente indiferent de numarul de valori, iar eroarea de rang este de ordinul 1.7/k (circa 1% pentru k = 200).
+ * Doua sketch-uri se pot uni (merge) oricand, de exemplu cele ale mai multor fire sau noduri; toBytes si
+ * fromBytes permit transferul lor intre procese. Instantele nu sunt sigure pentru mai multe fire.
+ */
+public class KllSketch {
+
+    /**
+     * Parametrul de precizie implicit.
+     */
+    public static final int DEFAULT_K = 200;
+
+    /**
+     * Capacitatea minima a unui nivel.
+     */
+    private static final int MIN_LEVEL_CAPACITY = 8;
+
+    /**
+     * Factorul cu care scade capacitatea de la un nivel la cel de sub el.
+     */
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    /**
+     * Parametrul de precizie: capacitatea celui mai de sus nivel.
+     */
+    private final int k;
+
+    /**
+     * Elementele fiecarui nivel; levels[h] are sizes[h] elemente valide.
+     */
+    private long[][] levels;
+
+    /**
+     * Numarul de elemente valide de pe fiecare nivel.
+     */
+    private int[] sizes;
+
+    /**
+     * Numarul de niveluri folosite.
+     */
+    private int numLevels;
+
+    /**
+     * Numarul de valori adaugate (inclusiv prin merge).
+     */
+    private long count;
+
+    /**
+     * Cea mai mica valoare adaugata.
+     */
+    private long min = Long.MAX_VALUE;
+
+    /**
+     * Cea mai mare valoare adaugata.
+     */
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Starea generatorului xorshift folosit la compactare (fix, pentru rezultate reproductibile).
+     */
+    private long coin = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Constructor cu parametrul de precizie implicit.
+     */
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructor pentru clasa KllSketch.
+     *
+     * @param k Parametrul de precizie (cel putin 8); memoria si precizia cresc liniar cu el.
+     * @throws IllegalArgumentException daca k este mai mic decat 8.
+     */
+    public KllSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY);
+        }
+        this.k = k;
+        this.levels = new long[][]{new long[k]};
+        this.sizes = new int[1];
+        this.numLevels = 1;
+    }
+
+    /**
+     * Adauga o valoare.
+     *
+     * @param value Valoarea.
+     */
+    public void update(long value) {
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        append(0, value);
+        compressWhileFull();
+    }
+
+    /**
+     * Adauga in acest sketch toate valorile reprezentate de altul, cu acelasi k.
+     *
+     * @param other Sketch-ul adaugat; nu este modificat. Poate fi chiar acest sketch, caz in care ponderile se dubleaza.
+     * @throws IllegalArgumentException daca sketch-urile au parametri de precizie diferiti.
+     */
+    public void merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with k " + k + " and " + other.k);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        // Copie a nivelurilor celuilalt sketch: la merge(this), append ar creste altfel nivelurile parcurse
+        long[][] items = new long[other.numLevels][];
+        for (int h = 0; h < items.length; h++) {
+            items[h] = Arrays.copyOf(other.levels[h], other.sizes[h]);
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int h = 0; h < items.length; h++) {
+            for (long item : items[h]) {
+                append(h, item);
+            }
+        }
+        compressWhileFull();
+    }
+
+    /**
+     * Returneaza numarul de valori adaugate.
+     *
+     * @return Numarul de valori.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returneaza cea mai mica valoare adaugata (exacta).
+     *
+     * @return Minimul.
+     * @throws IllegalStateException daca sketch-ul este gol.
+     */
+    public long getMin() {
+        requireValues();
+        return min;
+    }
+
+    /**
+     * Returneaza cea mai mare valoare adaugata (exacta).
+     *
+     * @return Maximul.
+     * @throws IllegalStateException daca sketch-ul este gol.
+     */
+    public long getMax() {
+        requireValues();
+        return max;
+    }
+
+    /**
+     * Returneaza numarul de elemente pastrate, adica memoria folosita.
+     *
+     * @return Numarul de elemente de pe toate nivelurile.
+     */
+    public int getRetainedItems() {
+        int retained = 0;
+        for (int h = 0; h < numLevels; h++) {
+            retained += sizes[h];
+        }
+        return retained;
+    }
+
+    /**
+     * Estimeaza valoarea de la cuantila data: cea mai mica valoare pastrata pentru care ponderea
+     * valorilor mai mici sau egale ajunge la q din total.
+     *
+     * @param q Cuantila, intre 0 si 1 (0 da minimul, 1 maximul).
+     * @return Valoarea estimata.
+     * @throws IllegalArgumentException daca q nu este intre 0 si 1.
+     * @throws IllegalStateException daca sketch-ul este gol.
+     */
+    public long getQuantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        requireValues();
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        long[][] sorted = sortedWeighted();
+        long target = (long) Math.ceil(q * count);
+        long seen = 0;
+        for (int i = 0; i < sorted[0].length; i++) {
+            seen += sorted[1][i];
+            if (seen >= target) {
+                return sorted[0][i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Estimeaza rangul normalizat al unei valori: proportia valorilor mai mici sau egale cu ea.
+     *
+     * @param value Valoarea.
+     * @return Proportia, intre 0 si 1; 0 daca sketch-ul este gol.
+     */
+    public double getRank(long value) {
+        if (count == 0) {
+            return 0;
+        }
+        long weight = 0;
+        for (int h = 0; h < numLevels; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        return (double) weight / count;
+    }
+
+    /**
+     * Serializeaza sketch-ul, pentru a fi unit cu sketch-urile altor noduri.
+     *
+     * @return Reprezentarea binara.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * 3 + 4 + 4 * numLevels + 8 * getRetainedItems());
+        buffer.putInt(k).putLong(count).putLong(min).putLong(max).putInt(numLevels);
+        for (int h = 0; h < numLevels; h++) {
+            buffer.putInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buffer.putLong(levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reconstruieste un sketch serializat cu toBytes.
+     *
+     * @param bytes Reprezentarea binara.
+     * @return Sketch-ul.
+     * @throws IllegalArgumentException daca datele nu reprezinta un sketch valid.
+     */
+    public static KllSketch fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            KllSketch sketch = new KllSketch(buffer.getInt());
+            sketch.count = buffer.getLong();
+            sketch.min = buffer.getLong();
+            sketch.max = buffer.getLong();
+            int numLevels = buffer.getInt();
+            for (int h = 0; h < numLevels; h++) {
+                int size = buffer.getInt();
+                for (int i = 0; i < size; i++) {
+                    sketch.append(h, buffer.getLong());
+                }
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after sketch");
+            }
+            return sketch;
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated sketch", e);
+        }
+    }
+
+    /**
+     * Adauga un element pe un nivel, creand nivelul si marind tabloul daca este nevoie.
+     */
+    private void append(int level, long value) {
+        while (level >= numLevels) {
+            if (numLevels == levels.length) {
+                levels = Arrays.copyOf(levels, numLevels * 2);
+                sizes = Arrays.copyOf(sizes, numLevels * 2);
+            }
+            levels[numLevels] = new long[MIN_LEVEL_CAPACITY];
+            numLevels++;
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    /**
+     * Calculeaza capacitatea unui nivel: k pentru cel mai de sus, de 3/2 ori mai putin pentru fiecare nivel
+     * de dedesubt, dar cel putin MIN_LEVEL_CAPACITY.
+     */
+    private int capacity(int level) {
+        int depth = numLevels - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    /**
+     * Compacteaza nivelurile pana cand fiecare nivel incape in capacitatea lui.
+     */
+    private void compressWhileFull() {
+        for (int h = 0; h < numLevels; h++) {
+            if (sizes[h] >= capacity(h)) {
+                compress(h);
+                // Un nivel nou schimba capacitatile tuturor nivelurilor; verificarea se reia de jos
+                h = -1;
+            }
+        }
+    }
+
+    /**
+     * Compacteaza un nivel: il sorteaza si urca pe nivelul urmator elementele de pe pozitiile pare sau impare,
+     * fiecare cu pondere dubla. La un numar impar de elemente, primul ramane pe nivel.
+     */
+    private void compress(int level) {
+        int size = sizes[level];
+        long[] items = levels[level];
+        Arrays.sort(items, 0, size);
+        int start = size % 2;
+        int offset = nextCoin() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        // append poate realoca levels, dar nu si tabloul acestui nivel
+        sizes[level] = start;
+    }
+
+    /**
+     * Returneaza urmatorul bit al generatorului xorshift64.
+     */
+    private boolean nextCoin() {
+        coin ^= coin << 13;
+        coin ^= coin >>> 7;
+        coin ^= coin << 17;
+        return (coin & 1) != 0;
+    }
+
+    /**
+     * Returneaza elementele pastrate, sortate, impreuna cu ponderile lor: {valori, ponderi}.
+     */
+    private long[][] sortedWeighted() {
+        int retained = getRetainedItems();
+        long[] values = new long[retained];
+        long[] weights = new long[retained];
+        Integer[] order = new Integer[retained];
+        int n = 0;
+        for (int h = 0; h < numLevels; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n] = 1L << h;
+                order[n] = n;
+                n++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(values[a], values[b]));
+        long[][] sorted = new long[2][retained];
+        for (int i = 0; i < retained; i++) {
+            sorted[0][i] = values[order[i]];
+            sorted[1][i] = weights[order[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * Verifica ca sketch-ul contine valori.
+     */
+    private void requireValues() {
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clasa LatencyHistogram inregistreaza durate (in nanosecunde) intr-o histograma log-liniara, in stilul HdrHistogram:
+ * fiecare putere a lui 2 este impartita in 16 intervale egale, deci orice valoare raportata are o eroare relativa
+ * de cel mult 1/16 (~6%), pe tot domeniul unui long, cu un tablou fix de 960 de contoare.
+ * Inregistrarea nu foloseste blocari: un increment atomic in tablou si doua LongAdder.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Numarul de biti de precizie: 2^4 = 16 intervale pe fiecare putere a lui 2.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Numarul de intervale pe fiecare putere a lui 2.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Numarul total de intervale: valorile 0-15 exact, apoi 16 intervale pentru fiecare exponent 4..62.
+     */
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Numarul de valori din fiecare interval.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Numarul total de valori inregistrate.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Suma valorilor inregistrate.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Cea mai mare valoare inregistrata.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Inregistreaza o durata; valorile negative sunt tratate ca 0.
+     *
+     * @param nanos Durata in nanosecunde.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.getAndIncrement(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        // Maximul se schimba rar; citirea evita un CAS la fiecare inregistrare
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Returneaza numarul de valori inregistrate.
+     *
+     * @return Numarul de valori.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returneaza suma valorilor inregistrate.
+     *
+     * @return Suma, in nanosecunde.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returneaza cea mai mare valoare inregistrata.
+     *
+     * @return Maximul, in nanosecunde, sau 0 daca nu exista valori.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returneaza media valorilor inregistrate.
+     *
+     * @return Media, in nanosecunde, sau 0 daca nu exista valori.
+     */
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : (double) getSum() / n;
+    }
+
+    /**
+     * Returneaza valoarea sub care se afla procentul dat din inregistrari (limita superioara a intervalului,
+     * dar nu mai mult decat maximul). Citirea nu opreste inregistrarile, deci rezultatul este aproximativ
+     * cand histograma se modifica in acelasi timp.
+     *
+     * @param percentile Procentul, intre 0 si 100.
+     * @return Valoarea, in nanosecunde, sau 0 daca nu exista valori.
+     * @throws IllegalArgumentException daca procentul nu este intre 0 si 100.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Calculeaza intervalul unei valori nenegative.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift); // intre 16 si 31
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    /**
+     * Calculeaza cea mai mare valoare care cade in intervalul dat.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long upper = ((mantissa + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
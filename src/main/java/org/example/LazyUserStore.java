@@ -0,0 +1,180 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Clasa LazyUserStore creeaza stocarea reala pe un fir de fundal, pentru ca aplicatia sa poata afisa
+ * interfata inainte ca driverul MongoDB sa fie initializat si serverul sa fie descoperit.
+ * Dupa creare, stocarea este "incalzita" (warmUp: conexiune, indexuri), iar readiness() se completeaza.
+ * Operatiile apelate inainte de acel moment asteapta stocarea; in aplicatie ele ruleaza deja pe firele
+ * AsyncUserManager, deci EDT nu se blocheaza. Daca o incercare de conectare esueaza, urmatoarea operatie
+ * porneste o incercare noua in loc sa repete la nesfarsit eroarea initiala.
+ */
+public class LazyUserStore implements UserStore {
+
+    /**
+     * Functia care creeaza stocarea reala, apelata la fiecare incercare de conectare.
+     */
+    private final Supplier<UserStore> factory;
+
+    /**
+     * Incercarea curenta de conectare; inlocuita cu una noua dupa un esec.
+     */
+    private volatile CompletableFuture<UserStore> store;
+
+    /**
+     * Indica daca stocarea a fost inchisa; dupa inchidere nu se mai fac incercari noi.
+     */
+    private boolean closed = false;
+
+    /**
+     * Constructor care porneste imediat crearea stocarii pe un fir de fundal.
+     *
+     * @param factory Functia care creeaza stocarea reala.
+     */
+    public LazyUserStore(Supplier<UserStore> factory) {
+        this.factory = factory;
+        this.store = connect();
+    }
+
+    /**
+     * Porneste o incercare de conectare pe un fir de fundal.
+     *
+     * @return Future-ul incercarii, completat cu stocarea creata si incalzita sau cu eroarea aparuta.
+     */
+    private CompletableFuture<UserStore> connect() {
+        CompletableFuture<UserStore> attempt = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                UserStore creat = factory.get();
+                creat.warmUp();
+                attempt.complete(creat);
+            } catch (RuntimeException e) {
+                attempt.completeExceptionally(e);
+            }
+        }, "user-store-connect");
+        thread.setDaemon(true);
+        thread.start();
+        return attempt;
+    }
+
+    /**
+     * Porneste o incercare noua daca cea data a esuat si nu a fost deja inlocuita.
+     *
+     * @param failed Incercarea esuata observata de apelant.
+     * @return Incercarea curenta.
+     */
+    private synchronized CompletableFuture<UserStore> reconnect(CompletableFuture<UserStore> failed) {
+        if (store == failed && !closed) {
+            store = connect();
+        }
+        return store;
+    }
+
+    /**
+     * Returneaza un future completat cand incercarea curenta de conectare reuseste. Dupa un esec, operatia
+     * urmatoare porneste o incercare noua, iar readiness() apelat ulterior o urmareste pe aceasta.
+     *
+     * @return Future-ul de disponibilitate; se completeaza cu eroare daca incercarea curenta esueaza.
+     */
+    public CompletableFuture<Void> readiness() {
+        return store.thenApply(s -> null);
+    }
+
+    /**
+     * Verifica daca stocarea este disponibila.
+     *
+     * @return True daca incercarea curenta de conectare a reusit.
+     */
+    public boolean isReady() {
+        CompletableFuture<UserStore> attempt = store;
+        return attempt.isDone() && !attempt.isCompletedExceptionally();
+    }
+
+    /**
+     * Returneaza stocarea reala, asteptand conectarea daca este nevoie; dupa o incercare esuata porneste alta.
+     *
+     * @return Stocarea reala.
+     * @throws RuntimeException eroarea aparuta la conectare.
+     */
+    private UserStore delegate() {
+        CompletableFuture<UserStore> attempt = store;
+        if (attempt.isCompletedExceptionally()) {
+            attempt = reconnect(attempt);
+        }
+        try {
+            return attempt.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Document findUser(String username) {
+        return delegate().findUser(username);
+    }
+
+    @Override
+    public SignupResult insertUser(String username, String password) {
+        return delegate().insertUser(username, password);
+    }
+
+    @Override
+    public Map<String, SignupResult> insertUsers(Map<String, String> conturi) {
+        return delegate().insertUsers(conturi);
+    }
+
+    @Override
+    public void setScore(String username, int scor) {
+        delegate().setScore(username, scor);
+    }
+
+    @Override
+    public void maxScores(Map<String, Integer> scoruri) {
+        delegate().maxScores(scoruri);
+    }
+
+    @Override
+    public List<Document> findAllByScore() {
+        return delegate().findAllByScore();
+    }
+
+    @Override
+    public List<Document> findRankedPage(int offset, int limit) {
+        return delegate().findRankedPage(offset, limit);
+    }
+
+    @Override
+    public long countRankedUsers() {
+        return delegate().countRankedUsers();
+    }
+
+    @Override
+    public long countUsersWithScoreAbove(int scor) {
+        return delegate().countUsersWithScoreAbove(scor);
+    }
+
+    /**
+     * Inchide stocarea reala; daca aceasta nu a fost inca creata, este inchisa imediat dupa creare.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (store.isDone()) {
+            if (!store.isCompletedExceptionally()) {
+                store.join().close();
+            }
+        } else {
+            store.thenAccept(UserStore::close);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clasa LoadGenerator simuleaza utilizatori virtuali concurenti care folosesc aplicatia cap-coada prin UserManager:
+ * fiecare se inregistreaza, apoi, in bucla, se autentifica, joaca un joc singleplayer (salvand scorul daca este
+ * un record), joaca un joc multiplayer cu roboti si citeste prima pagina a clasamentului.
+ *
+ * Bucla este inchisa: fiecare utilizator asteapta terminarea operatiei anterioare, plus timpul de gandire,
+ * inainte de urmatoarea. Pentru fiecare operatie se raporteaza doua latente:
+ * <ul>
+ *     <li>"service" - de la inceputul efectiv al operatiei pana la terminare;</li>
+ *     <li>"corrected" - de la momentul la care operatia trebuia sa inceapa conform programului utilizatorului
+ *     (operatia anterioara programata plus timpul de gandire) pana la terminare. Cand o operatie lenta
+ *     intarzie urmatoarele, intarzierea intra in latenta lor, deci percentilele nu ascund blocajele
+ *     (corectia "coordinated omission").</li>
+ * </ul>
+ */
+public class LoadGenerator {
+
+    /**
+     * Numele operatiilor raportate.
+     */
+    static final String SIGNUP = "signup";
+    static final String LOGIN = "login";
+    static final String SINGLEPLAYER_ROUND = "singleplayer.round";
+    static final String SCORE = "score";
+    static final String MULTIPLAYER_ROUND = "multiplayer.round";
+    static final String SCOREBOARD = "scoreboard";
+
+    /**
+     * Vietile de la inceputul fiecarui joc.
+     */
+    private static final int LIVES = 3;
+
+    /**
+     * Dimensiunea paginii de clasament citite.
+     */
+    private static final int SCOREBOARD_PAGE = 20;
+
+    /**
+     * Instanta UserManager prin care trec toate operatiile.
+     */
+    private final UserManager userManager;
+
+    /**
+     * Numarul de utilizatori virtuali.
+     */
+    private final int users;
+
+    /**
+     * Numarul de jucatori de la masa multiplayer (utilizatorul si roboti).
+     */
+    private final int players;
+
+    /**
+     * Timpul de gandire dintre doua operatii ale aceluiasi utilizator, in nanosecunde.
+     */
+    private final long thinkNanos;
+
+    /**
+     * Constructor pentru clasa LoadGenerator.
+     *
+     * @param userManager Instanta UserManager prin care trec operatiile.
+     * @param users Numarul de utilizatori virtuali.
+     * @param players Numarul de jucatori de la masa multiplayer (cel putin 2).
+     * @param thinkMillis Timpul de gandire dintre doua operatii, in milisecunde.
+     * @throws IllegalArgumentException daca parametrii nu sunt valizi.
+     */
+    public LoadGenerator(UserManager userManager, int users, int players, long thinkMillis) {
+        if (users < 1) {
+            throw new IllegalArgumentException("At least one virtual user is required");
+        }
+        if (players < 2) {
+            throw new IllegalArgumentException("A multiplayer table needs at least 2 players");
+        }
+        if (thinkMillis < 0) {
+            throw new IllegalArgumentException("Think time cannot be negative");
+        }
+        this.userManager = userManager;
+        this.users = users;
+        this.players = players;
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+    }
+
+    /**
+     * Ruleaza utilizatorii virtuali (fire virtuale, cate unul pe utilizator) pentru durata data.
+     * Sesiunea in curs a fiecarui utilizator se termina la prima operatie de dupa termen.
+     *
+     * @param durationMillis Durata testului, in milisecunde.
+     * @return Rezultatele pe operatii.
+     * @throws InterruptedException daca firul apelant este intrerupt in asteptare.
+     */
+    public Result run(long durationMillis) throws InterruptedException {
+        Result result = new Result();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            VirtualUser user = new VirtualUser("vu" + i + "-" + runId, result, deadline);
+            threads.add(Thread.ofVirtual().name("vu-" + i).start(user::run));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Un utilizator virtual, cu programul propriu de operatii.
+     */
+    private final class VirtualUser {
+
+        private final String username;
+        private final Result result;
+        private final long deadline;
+
+        /**
+         * Momentul la care trebuia sa inceapa ultima operatie programata.
+         */
+        private long intendedStart;
+
+        private VirtualUser(String username, Result result, long deadline) {
+            this.username = username;
+            this.result = result;
+            this.deadline = deadline;
+        }
+
+        private void run() {
+            intendedStart = System.nanoTime();
+            try {
+                operation(SIGNUP, () -> userManager.inregistrareUtilizator(username, "p") == SignupResult.CREATED);
+                while (System.nanoTime() < deadline) {
+                    operation(LOGIN, () -> userManager.autentificareUtilizator(username, "p"));
+                    playSingleplayer();
+                    playMultiplayer();
+                    operation(SCOREBOARD, () -> !userManager.getScoreboardPage(0, SCOREBOARD_PAGE).isEmpty());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void playSingleplayer() throws InterruptedException {
+            Game game = new Game(username, userManager);
+            game.setPlayerLife(LIVES);
+            game.setDealerLife(LIVES);
+            while (!game.isGameOver() && System.nanoTime() < deadline) {
+                operation(SINGLEPLAYER_ROUND, () -> {
+                    game.playRoundSwing(ThreadLocalRandom.current().nextBoolean() ? "s" : "d");
+                    if (!game.isGameOver() && !game.isPlayerTurn()) {
+                        game.dealerTurn();
+                    }
+                    return true;
+                });
+            }
+            if (game.isGameOver()) {
+                int score = game.calculateScore();
+                if (score > 0) {
+                    operation(SCORE, () -> {
+                        if (score > userManager.getHighScore(username)) {
+                            userManager.actualizareScor(username, score);
+                        }
+                        return true;
+                    });
+                }
+            }
+        }
+
+        private void playMultiplayer() throws InterruptedException {
+            List<String> names = new ArrayList<>(players);
+            names.add(username);
+            for (int i = 1; i < players; i++) {
+                names.add(username + "-bot" + i);
+            }
+            MultiplayerGame game = new MultiplayerGame(names, userManager, LIVES);
+            int[] seat = {0};
+            while (!game.isGameOver() && System.nanoTime() < deadline) {
+                operation(MULTIPLAYER_ROUND, () -> {
+                    int current = seat[0];
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        game.shootSelf(current);
+                    } else {
+                        game.shootOpponent(current, game.getRandomOpponentIndex(current));
+                    }
+                    do {
+                        current = (current + 1) % players;
+                    } while (!game.isGameOver() && game.getPlayerLives(current) <= 0);
+                    seat[0] = current;
+                    return true;
+                });
+            }
+        }
+
+        /**
+         * Asteapta momentul programat al operatiei, o executa si inregistreaza ambele latente.
+         */
+        private void operation(String name, Operation operation) throws InterruptedException {
+            intendedStart += thinkNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = operation.execute();
+            } catch (RuntimeException e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            result.record(name, end - start, end - Math.min(intendedStart, start), ok);
+            // Fara timp de gandire, programul urmeaza executia, ca o bucla inchisa obisnuita
+            if (thinkNanos == 0) {
+                intendedStart = end;
+            }
+        }
+    }
+
+    /**
+     * O operatie a unui utilizator virtual.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        boolean execute();
+    }
+
+    /**
+     * Clasa Result contine latentele si numarul de erori pentru fiecare operatie a unui test.
+     */
+    public static final class Result {
+
+        private final ConcurrentMap<String, LatencyHistogram> service = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LatencyHistogram> corrected = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private volatile long elapsedNanos;
+
+        private Result() {
+        }
+
+        private void record(String name, long serviceNanos, long correctedNanos, boolean ok) {
+            service.computeIfAbsent(name, key -> new LatencyHistogram()).record(serviceNanos);
+            corrected.computeIfAbsent(name, key -> new LatencyHistogram()).record(correctedNanos);
+            if (!ok) {
+                errors.computeIfAbsent(name, key -> new LongAdder()).increment();
+            }
+        }
+
+        /**
+         * Returneaza latentele masurate de la inceputul efectiv al operatiilor.
+         *
+         * @param operation Numele operatiei.
+         * @return Histograma sau null daca operatia nu a fost executata.
+         */
+        public LatencyHistogram getServiceLatency(String operation) {
+            return service.get(operation);
+        }
+
+        /**
+         * Returneaza latentele masurate de la momentul programat al operatiilor.
+         *
+         * @param operation Numele operatiei.
+         * @return Histograma sau null daca operatia nu a fost executata.
+         */
+        public LatencyHistogram getCorrectedLatency(String operation) {
+            return corrected.get(operation);
+        }
+
+        /**
+         * Returneaza numarul de operatii esuate.
+         *
+         * @param operation Numele operatiei.
+         * @return Numarul de erori.
+         */
+        public long getErrors(String operation) {
+            LongAdder count = errors.get(operation);
+            return count != null ? count.sum() : 0;
+        }
+
+        /**
+         * Returneaza debitul unei operatii.
+         *
+         * @param operation Numele operatiei.
+         * @return Operatii pe secunda, pe durata intregului test.
+         */
+        public double getThroughput(String operation) {
+            LatencyHistogram histogram = service.get(operation);
+            return histogram == null || elapsedNanos == 0 ? 0 : histogram.getCount() * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Formateaza rezultatele ca tabel, cu latentele in microsecunde.
+         *
+         * @return Tabelul rezultatelor.
+         */
+        public String format() {
+            StringBuilder sb = new StringBuilder(String.format("%-20s %10s %8s %10s | %10s %10s %10s | %10s %10s %10s %10s%n",
+                    "operation", "ops/s", "errors", "count", "svc p50", "svc p99", "svc p999",
+                    "cor p50", "cor p99", "cor p999", "cor max"));
+            for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(service).entrySet()) {
+                String name = entry.getKey();
+                LatencyHistogram svc = entry.getValue();
+                LatencyHistogram cor = corrected.get(name);
+                sb.append(String.format("%-20s %10.1f %8d %10d | %10d %10d %10d | %10d %10d %10d %10d%n",
+                        name, getThroughput(name), getErrors(name), svc.getCount(),
+                        micros(svc, 50), micros(svc, 99), micros(svc, 99.9),
+                        micros(cor, 50), micros(cor, 99), micros(cor, 99.9), cor.getMax() / 1_000));
+            }
+            return sb.toString();
+        }
+
+        private static long micros(LatencyHistogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1_000;
+        }
+    }
+
+    /**
+     * Ruleaza un test de incarcare din linia de comanda. Argumente (toate optionale):
+     * {@code --users N --players P --think-ms T --duration-s S --store memory|file|mongo}.
+     * Stocarea implicita este cea in memorie; mesajele de scor ale UserManager sunt trecute la nivelul WARN.
+     *
+     * @param args Argumentele din linia de comanda.
+     * @throws InterruptedException daca testul este intrerupt.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        int players = Integer.parseInt(options.getOrDefault("players", "4"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "100"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration-s", "30"));
+        String store = options.getOrDefault("store", "memory");
+
+        // Trebuie setat inainte de initializarea logback
+        System.setProperty("ruleta.log.users", System.getProperty("ruleta.log.users", "WARN"));
+        try (UserManager userManager = new UserManager(UserStoreFactory.create(store))) {
+            System.out.printf("Running %d virtual users (%d-player tables, %d ms think time) for %d s on the %s store%n",
+                    users, players, thinkMillis, durationSeconds, store);
+            Result result = new LoadGenerator(userManager, users, players, thinkMillis).run(durationSeconds * 1_000);
+            System.out.print(result.format());
+        }
+    }
+}
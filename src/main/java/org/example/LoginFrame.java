@@ -7,19 +7,16 @@ import java.awt.*;
  * Clasa LoginFrame reprezinta interfata grafica pentru autentificarea utilizatorilor.
  * Permite utilizatorilor sa introduca un nume de utilizator si o parola pentru a se autentifica.
  */
-public class LoginFrame extends JFrame {
+public class LoginFrame extends JPanel {
 
     /**
      * Constructor pentru clasa LoginFrame.
      *
      * @param userManager Instanta UserManager utilizata pentru autentificarea utilizatorilor.
-     * @param onLogin Functionalitate pentru actiunea de login, transmisa ca un Consumer.
+     * @param onLogin Functionalitate pentru actiunea de login, transmisa ca un Consumer; primeste numele utilizatorului autentificat.
      */
     public LoginFrame(UserManager userManager, java.util.function.Consumer<String> onLogin) {
-        setTitle("Log In");
-        setSize(300, 200);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        setLocationRelativeTo(null);
+        setLayout(new BorderLayout());
 
         JPanel panel = new JPanel(new GridLayout(3, 2));
         JLabel userLabel = new JLabel("Username:");
@@ -38,23 +35,30 @@ public class LoginFrame extends JFrame {
 
         add(panel);
 
-        // Actionare buton "Log In"
+        // Actionare buton "Log In": autentificarea, scorul si pozitia se citesc in fundal, nu pe EDT
+        AsyncUserManager asyncUserManager = new AsyncUserManager(userManager);
         loginButton.addActionListener(e -> {
             String inputUsername = userField.getText();
             String inputPassword = new String(passField.getPassword());
-            if (userManager.autentificareUtilizator(inputUsername, inputPassword)) {
-                JOptionPane.showMessageDialog(this, "Login successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                new MainMenuFrame(userManager, inputUsername).setVisible(true); // Transmite username
-                dispose(); // Inchide fereastra LoginFrame
-            } else {
-                JOptionPane.showMessageDialog(this, "Invalid username or password.", "Login Failed", JOptionPane.ERROR_MESSAGE);
-            }
+            loginButton.setEnabled(false);
+            asyncUserManager.autentificareCuStatistici(inputUsername, inputPassword)
+                    .whenCompleteAsync((stats, error) -> {
+                        loginButton.setEnabled(true);
+                        if (error != null) {
+                            JOptionPane.showMessageDialog(this, "Login failed: " + AsyncUserManager.cauza(error).getMessage(), "Login Failed", JOptionPane.ERROR_MESSAGE);
+                        } else if (stats != null) {
+                            JOptionPane.showMessageDialog(this, "Login successful!\nBest score: " + stats.getHighScore()
+                                    + " (rank #" + stats.getRank() + ")", "Success", JOptionPane.INFORMATION_MESSAGE);
+                            userField.setText("");
+                            passField.setText(""); // Ecranul este refolosit, deci nu pastram parola
+                            onLogin.accept(inputUsername); // Transmite username
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Invalid username or password.", "Login Failed", JOptionPane.ERROR_MESSAGE);
+                        }
+                    }, SwingUtilities::invokeLater);
         });
 
         // Actionare buton "Back"
-        backButton.addActionListener(e -> {
-            new MainMenuFrame(userManager).setVisible(true);
-            dispose();
-        });
+        backButton.addActionListener(e -> AppWindow.navigate(this, window -> window.showMainMenu(null)));
     }
 }
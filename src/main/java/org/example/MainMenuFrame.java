@@ -2,18 +2,13 @@ package org.example;
 
 import javax.swing.*;
 import java.awt.*;
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import org.bson.Document;
-import java.util.List;
 
 /**
  * Clasa MainMenuFrame reprezinta meniul principal al aplicatiei Russian Roulette.
  * Ofera optiuni pentru a juca, a vizualiza clasamentul, a te autentifica, a te inregistra sau a iesi din aplicatie.
+ * Este primul ecran al ferestrei AppWindow, construit o singura data si refolosit.
  */
-public class MainMenuFrame extends JFrame {
+public class MainMenuFrame extends JPanel {
 
     /**
      * Instanta UserManager utilizata pentru gestionarea utilizatorilor.
@@ -47,18 +42,10 @@ public class MainMenuFrame extends JFrame {
      */
     public MainMenuFrame(UserManager userManager, String username) {
         this.userManager = userManager;
-        this.username = username;
-
-        setTitle("Main Menu");
-        setSize(400, 300);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setLocationRelativeTo(null);
 
+        setLayout(new BorderLayout());
         initUI();
-
-        if (username != null) {
-            welcomeLabel.setText("Welcome, " + username + "!");
-        }
+        setUsername(username);
     }
 
     /**
@@ -87,6 +74,7 @@ public class MainMenuFrame extends JFrame {
         scoreboardButton.addActionListener(e -> showScoreboard());
         loginButton.addActionListener(e -> openLoginWindow());
         signupButton.addActionListener(e -> openSignupWindow());
+        // Hook-ul de oprire inregistrat de UserManager.forApplication scrie scorurile din lot inainte de iesire
         exitButton.addActionListener(e -> System.exit(0));
     }
 
@@ -97,99 +85,53 @@ public class MainMenuFrame extends JFrame {
         if (username == null) {
             JOptionPane.showMessageDialog(this, "You need to log in to play.", "Error", JOptionPane.ERROR_MESSAGE);
         } else {
-            new PlayFrame(username, userManager).setVisible(true);
-            dispose();
+            AppWindow.navigate(this, window -> window.showPlayMenu(username));
         }
     }
 
     /**
-     * Afiseaza clasamentul utilizatorilor intr-o fereastra separata.
+     * Afiseaza clasamentul utilizatorilor.
      */
     private void showScoreboard() {
-        JFrame scoreboardFrame = new JFrame("Scoreboard");
-        scoreboardFrame.setSize(400, 300);
-        scoreboardFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        scoreboardFrame.setLocationRelativeTo(this);
-
-        JPanel panel = new JPanel(new BorderLayout());
-        JLabel titleLabel = new JLabel("🏆 Scoreboard", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
-        panel.add(titleLabel, BorderLayout.NORTH);
-
-        JTextArea scoreboardArea = new JTextArea();
-        scoreboardArea.setEditable(false);
-
-        List<Document> utilizatori = userManager.getScoreboard();
-        if (utilizatori.isEmpty()) {
-            scoreboardArea.setText("⚠️ No players registered yet.");
-        } else {
-            StringBuilder sb = new StringBuilder();
-            int rank = 1;
-            for (Document user : utilizatori) {
-                if (!"admin".equals(user.getString("username"))) {
-                    sb.append(rank++).append(". ")
-                            .append(user.getString("username"))
-                            .append(" - ")
-                            .append(user.getInteger("scor", 0)).append(" points\n");
-                }
-            }
-            scoreboardArea.setText(sb.toString());
-        }
-
-        JScrollPane scrollPane = new JScrollPane(scoreboardArea);
-        panel.add(scrollPane, BorderLayout.CENTER);
-
-        JButton backButton = new JButton("Back to Main Menu");
-        backButton.addActionListener(e -> {
-            new MainMenuFrame(userManager, username).setVisible(true);
-            scoreboardFrame.dispose();
-        });
-        panel.add(backButton, BorderLayout.SOUTH);
-
-        scoreboardFrame.add(panel);
-        scoreboardFrame.setVisible(true);
+        AppWindow.navigate(this, window -> window.showScoreboard(username));
     }
 
     /**
-     * Deschide fereastra de autentificare.
+     * Deschide ecranul de autentificare.
      */
     private void openLoginWindow() {
-        new LoginFrame(userManager, this::setUsername).setVisible(true);
-        dispose();
+        AppWindow.navigate(this, AppWindow::showLogin);
     }
 
     /**
-     * Deschide fereastra de inregistrare.
+     * Deschide ecranul de inregistrare.
      */
     private void openSignupWindow() {
-        new SignupFrame(userManager).setVisible(true);
-        dispose();
+        AppWindow.navigate(this, AppWindow::showSignup);
     }
 
     /**
-     * Seteaza numele utilizatorului autentificat curent.
+     * Seteaza numele utilizatorului autentificat curent; ecranul este refolosit intre autentificari.
      *
-     * @param username Numele utilizatorului autentificat.
+     * @param username Numele utilizatorului autentificat (poate fi null).
      */
-    private void setUsername(String username) {
+    void setUsername(String username) {
         this.username = username;
-        welcomeLabel.setText("Welcome, " + username + "!");
-        JOptionPane.showMessageDialog(this, "Logged in as: " + username, "Login Successful", JOptionPane.INFORMATION_MESSAGE);
+        welcomeLabel.setText(username != null ? "Welcome, " + username + "!" : "Welcome to Russian Roulette");
     }
 
     /**
-     * Metoda principala care lanseaza aplicatia.
+     * Metoda principala care lanseaza aplicatia. Fereastra este afisata imediat, iar stocarea
+     * utilizatorilor se conecteaza in fundal; bara de stare a ferestrei arata cand este gata.
      *
      * @param args Argumente din linia de comanda.
      */
     public static void main(String[] args) {
-        MongoClient mongoClient = MongoClients.create("mongodb://localhost:27017");
-        MongoDatabase database = mongoClient.getDatabase("proiect_russian_rulet");
-        MongoCollection<Document> userCollection = database.getCollection("utilizatori");
-
-        UserManager userManager = new UserManager(userCollection);
+        LazyUserStore userStore = UserStoreFactory.lazyFromSystemProperties();
+        UserManager userManager = UserManager.forApplication(userStore);
 
-        SwingUtilities.invokeLater(() -> new MainMenuFrame(userManager, null).setVisible(true));
+        AppWindow.launch(userManager, userStore.readiness());
+        Metrics.exportFromSystemProperties();
     }
 }
 
@@ -1,13 +1,10 @@
 package org.example;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
-import org.bson.Document;
 
 /**
  * Clasa MainPage reprezinta punctul de intrare in aplicatia Russian Roulette.
@@ -16,20 +13,6 @@ import org.bson.Document;
  */
 public class MainPage {
 
-    /**
-     * URL-ul conexiunii la MongoDB.
-     */
-    private static final String DB_URL = "mongodb://localhost:27017";
-
-    /**
-     * Numele bazei de date MongoDB.
-     */
-    private static final String DB_NAME = "proiect_russian_rulet";
-
-    /**
-     * Numele colectiei MongoDB pentru stocarea utilizatorilor.
-     */
-    private static final String COLLECTION_NAME = "utilizatori";
     /**
      * Constructor implicit pentru clasa MainPage.
      */
@@ -39,21 +22,28 @@ public class MainPage {
 
     /**
      * Metoda principala care lanseaza aplicatia Russian Roulette.
+     * Cu argumentul "--headless [script]" comenzile se citesc din script sau de la stdin, fara meniuri (vezi HeadlessRunner).
      *
      * @param args Argumentele din linia de comanda.
+     * @throws IOException daca scriptul modului headless nu poate fi citit.
      */
-    public static void main(String[] args) {
-        // Conexiune MongoDB
-        MongoClient mongoClient = MongoClients.create(DB_URL);
-        MongoDatabase database = mongoClient.getDatabase(DB_NAME);
-        MongoCollection<Document> userCollection = database.getCollection(COLLECTION_NAME);
-        UserManager userManager = new UserManager(userCollection);
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "--headless".equals(args[0])) {
+            HeadlessRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // Stocarea utilizatorilor, aleasa prin -Druleta.store (implicit MongoDB), se conecteaza in fundal cat timp se afiseaza meniul;
+        // scorurile se scriu in loturi si sunt golite la iesire
+        UserManager userManager = UserManager.forApplication(UserStoreFactory.lazyFromSystemProperties());
+        Metrics.exportFromSystemProperties();
 
         Scanner scanner = new Scanner(System.in);
         String username = null;
 
         while (true) {
-            // Pagina principala
+            // Pagina principala, afisata dupa ultimele mesaje ale jocului din coada jurnalului
+            GameLogAppender.flushGameLog();
             System.out.println("\n====== Main Page ======");
             System.out.println("1. Play");
             System.out.println("2. Scoreboard");
@@ -99,12 +89,16 @@ public class MainPage {
                     System.out.print("Enter new password: ");
                     String newPassword = scanner.nextLine();
 
-                    userManager.inregistrareUtilizator(newUsername, newPassword);
+                    if (userManager.inregistrareUtilizator(newUsername, newPassword) == SignupResult.CREATED) {
+                        System.out.println("✅ Utilizatorul \"" + newUsername + "\" a fost inregistrat cu succes.");
+                    } else {
+                        System.out.println("❌ Utilizatorul \"" + newUsername + "\" exista deja.");
+                    }
                 }
                 case 5 -> {
                     // Exit
                     System.out.println("\n🏃 Exiting application. Goodbye!");
-                    mongoClient.close();
+                    userManager.close();
                     return;
                 }
                 default -> System.out.println("❌ Invalid option. Please choose between 1 and 5.");
@@ -127,13 +121,14 @@ public class MainPage {
         int playOption = scanner.nextInt();
         scanner.nextLine(); // Consumam newline-ul ramas
 
-        System.out.print("\nSet the number of lives for each player (1-5): ");
+        System.out.print("\nSet the number of lives for each player (" + RuleSet.CLASSIC.getMinLives() + "-"
+                + RuleSet.CLASSIC.getMaxLives() + "): ");
         int lives = scanner.nextInt();
         scanner.nextLine(); // Consumam newline-ul ramas
 
-        if (lives < 1 || lives > 5) {
-            System.out.println("❌ Invalid number of lives. Setting to default (1).\n");
-            lives = 1;
+        if (!RuleSet.CLASSIC.isValidLives(lives)) {
+            System.out.println("❌ Invalid number of lives. Setting to default (" + RuleSet.CLASSIC.getMinLives() + ").\n");
+            lives = RuleSet.CLASSIC.getMinLives();
         }
 
         switch (playOption) {
@@ -0,0 +1,194 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clasa Metrics este registrul metricilor aplicatiei: contoare (LongAdder, cu incremente distribuite pe mai multe
+ * celule, fara blocari) si histograme de latenta (LatencyHistogram). Clasele care inregistreaza metrici pastreaza
+ * contorul sau histograma intr-un camp static, deci pe calea critica nu exista cautari in registru.
+ *
+ * Metricile sunt expuse prin JMX si, optional, printr-un endpoint HTTP text (vezi exportFromSystemProperties()):
+ * <ul>
+ *     <li>{@code ruleta.metrics.jmx} - "false" pentru a nu inregistra MBean-ul (implicit "true");</li>
+ *     <li>{@code ruleta.metrics.port} - portul endpoint-ului /metrics (implicit dezactivat).</li>
+ * </ul>
+ */
+public class Metrics implements MetricsMXBean {
+
+    /**
+     * Jurnalul exportului de metrici (subsistemul "ruleta.metrics").
+     */
+    private static final Logger LOG = LoggerFactory.getLogger("ruleta.metrics");
+
+    /**
+     * Numele sub care registrul global este inregistrat in JMX.
+     */
+    public static final String OBJECT_NAME = "org.example:type=Metrics";
+
+    /**
+     * Proprietatea de sistem care dezactiveaza inregistrarea in JMX.
+     */
+    public static final String JMX_PROPERTY = "ruleta.metrics.jmx";
+
+    /**
+     * Proprietatea de sistem cu portul endpoint-ului HTTP.
+     */
+    public static final String PORT_PROPERTY = "ruleta.metrics.port";
+
+    /**
+     * Prefixul numelor in formatul text.
+     */
+    private static final String PREFIX = "ruleta_";
+
+    /**
+     * Percentilele raportate pentru fiecare histograma.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Registrul global, folosit de joc si de UserManager.
+     */
+    private static final Metrics GLOBAL = new Metrics();
+
+    /**
+     * Contoarele, dupa nume.
+     */
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Histogramele, dupa nume.
+     */
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Returneaza registrul global al aplicatiei.
+     *
+     * @return Registrul global.
+     */
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returneaza contorul cu numele dat, creandu-l la prima cerere.
+     *
+     * @param name Numele contorului, cu puncte intre componente (de exemplu "game.started").
+     * @return Contorul.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Returneaza histograma cu numele dat, creand-o la prima cerere.
+     *
+     * @param name Numele histogramei, cu puncte intre componente (de exemplu "store.findUser").
+     * @return Histograma.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies() {
+        Map<String, Long> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> {
+            values.put(name + ".count", histogram.getCount());
+            values.put(name + ".mean", Math.round(histogram.getMean()));
+            for (double percentile : PERCENTILES) {
+                values.put(name + ".p" + format(percentile), histogram.getValueAtPercentile(percentile));
+            }
+            values.put(name + ".max", histogram.getMax());
+        });
+        return values;
+    }
+
+    /**
+     * Scrie metricile in formatul text Prometheus: contoarele ca "_total", histogramele ca rezumate
+     * cu percentile, "_count", "_sum" si "_max", toate in nanosecunde.
+     */
+    @Override
+    public String getText() {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(counters).forEach((name, counter) -> {
+            String metric = PREFIX + sanitize(name) + "_total";
+            sb.append("# TYPE ").append(metric).append(" counter\n");
+            sb.append(metric).append(' ').append(counter.sum()).append('\n');
+        });
+        new TreeMap<>(histograms).forEach((name, histogram) -> {
+            String metric = PREFIX + sanitize(name) + "_nanos";
+            sb.append("# TYPE ").append(metric).append(" summary\n");
+            for (double percentile : PERCENTILES) {
+                sb.append(metric).append("{quantile=\"").append(percentile / 100).append("\"} ")
+                        .append(histogram.getValueAtPercentile(percentile)).append('\n');
+            }
+            sb.append(metric).append("_count ").append(histogram.getCount()).append('\n');
+            sb.append(metric).append("_sum ").append(histogram.getSum()).append('\n');
+            sb.append(metric).append("_max ").append(histogram.getMax()).append('\n');
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Inregistreaza registrul global in JMX si porneste endpoint-ul HTTP, dupa proprietatile de sistem.
+     * Erorile sunt doar jurnalizate; aplicatia functioneaza si fara metrici.
+     *
+     * @return Endpoint-ul HTTP pornit sau null daca nu a fost cerut.
+     */
+    public static MetricsHttpServer exportFromSystemProperties() {
+        if (Boolean.parseBoolean(System.getProperty(JMX_PROPERTY, "true"))) {
+            try {
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                    ManagementFactory.getPlatformMBeanServer().registerMBean(GLOBAL, name);
+                }
+            } catch (JMException e) {
+                LOG.warn("❌ Metricile nu au putut fi inregistrate in JMX: {}", e.getMessage());
+            }
+        }
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        try {
+            MetricsHttpServer server = MetricsHttpServer.start(GLOBAL, port);
+            LOG.info("Metrics available at http://localhost:{}/metrics", server.getPort());
+            return server;
+        } catch (IOException e) {
+            LOG.warn("❌ Endpoint-ul de metrici nu a putut porni pe portul {}: {}", port, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Inlocuieste caracterele nepermise in numele Prometheus cu '_'.
+     */
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    /**
+     * Formateaza o percentila pentru cheile JMX: 50 devine "50", 99.9 devine "999".
+     */
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile).replace(".", "");
+    }
+}
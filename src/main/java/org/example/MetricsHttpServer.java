@@ -0,0 +1,90 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Clasa MetricsHttpServer expune metricile in format text la adresa {@code /metrics}, pentru colectare
+ * periodica (de exemplu de catre Prometheus). Cererile sunt servite pe un singur fir daemon.
+ */
+public class MetricsHttpServer implements AutoCloseable {
+
+    /**
+     * Serverul HTTP din JDK.
+     */
+    private final HttpServer server;
+
+    /**
+     * Firul care serveste cererile.
+     */
+    private final ExecutorService executor;
+
+    private MetricsHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Porneste endpoint-ul pe portul dat.
+     *
+     * @param metrics Registrul expus.
+     * @param port Portul; 0 pentru un port liber ales de sistem.
+     * @return Serverul pornit.
+     * @throws IOException daca portul nu poate fi deschis.
+     */
+    public static MetricsHttpServer start(Metrics metrics, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", exchange -> respond(exchange, metrics));
+        server.setExecutor(executor);
+        server.start();
+        return new MetricsHttpServer(server, executor);
+    }
+
+    /**
+     * Trimite metricile ca raspuns la o cerere.
+     */
+    private static void respond(HttpExchange exchange, Metrics metrics) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.getText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Returneaza portul pe care asculta serverul.
+     *
+     * @return Portul.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Opreste serverul.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
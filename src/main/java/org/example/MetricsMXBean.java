@@ -0,0 +1,32 @@
+package org.example;
+
+import java.util.Map;
+
+/**
+ * Interfata MetricsMXBean descrie metricile aplicatiei asa cum sunt expuse prin JMX (de exemplu in JConsole),
+ * sub numele {@value Metrics#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returneaza valorile contoarelor, dupa nume.
+     *
+     * @return Contoarele aplicatiei.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returneaza, pentru fiecare histograma, numarul de valori, media, percentilele 50/90/99/99.9 si maximul,
+     * in nanosecunde, cu chei de forma "nume.p99".
+     *
+     * @return Rezumatul histogramelor.
+     */
+    Map<String, Long> getLatencies();
+
+    /**
+     * Returneaza toate metricile in formatul text al endpoint-ului HTTP.
+     *
+     * @return Metricile, cate una pe linie.
+     */
+    String getText();
+}
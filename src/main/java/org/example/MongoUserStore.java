@@ -0,0 +1,258 @@
+package org.example;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clasa MongoUserStore stocheaza utilizatorii intr-o colectie MongoDB.
+ */
+public class MongoUserStore implements UserStore {
+
+    /**
+     * URL-ul implicit al conexiunii la MongoDB.
+     */
+    public static final String DEFAULT_URL = "mongodb://localhost:27017";
+
+    /**
+     * Numele implicit al bazei de date MongoDB.
+     */
+    public static final String DEFAULT_DATABASE = "proiect_russian_rulet";
+
+    /**
+     * Numele implicit al colectiei pentru stocarea utilizatorilor.
+     */
+    public static final String DEFAULT_COLLECTION = "utilizatori";
+
+    /**
+     * Colectia MongoDB utilizata pentru stocarea datelor utilizatorilor.
+     */
+    private final MongoCollection<Document> userCollection;
+
+    /**
+     * Clientul MongoDB detinut de aceasta instanta; null daca colectia a fost primita din exterior.
+     */
+    private final MongoClient mongoClient;
+
+    /**
+     * Indica daca indexul unic pe username a fost deja creat.
+     */
+    private volatile boolean indexUnicCreat = false;
+
+    /**
+     * Indica daca indexul folosit pentru paginile clasamentului a fost deja creat.
+     */
+    private volatile boolean indexClasamentCreat = false;
+
+    /**
+     * Constructor care foloseste o colectie existenta; clientul ramane in grija apelantului.
+     *
+     * @param userCollection Colectia MongoDB utilizata pentru stocarea utilizatorilor.
+     * @throws IllegalArgumentException daca userCollection este null.
+     */
+    public MongoUserStore(MongoCollection<Document> userCollection) {
+        this(userCollection, null);
+    }
+
+    /**
+     * Constructor care creeaza propriul client MongoDB; clientul este inchis odata cu stocarea.
+     *
+     * @param url URL-ul conexiunii la MongoDB.
+     * @param database Numele bazei de date.
+     * @param collection Numele colectiei.
+     */
+    public MongoUserStore(String url, String database, String collection) {
+        this(MongoClients.create(url), database, collection);
+    }
+
+    private MongoUserStore(MongoClient mongoClient, String database, String collection) {
+        this(mongoClient.getDatabase(database).getCollection(collection), mongoClient);
+    }
+
+    private MongoUserStore(MongoCollection<Document> userCollection, MongoClient mongoClient) {
+        if (userCollection == null) {
+            throw new IllegalArgumentException("MongoCollection cannot be null");
+        }
+        this.userCollection = userCollection;
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    public Document findUser(String username) {
+        return userCollection.find(new Document("username", username)).first();
+    }
+
+    @Override
+    public SignupResult insertUser(String username, String password) {
+        asiguraIndexUnic();
+        try {
+            userCollection.insertOne(utilizatorNou(username, password));
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                return SignupResult.USER_EXISTS;
+            }
+            throw e;
+        }
+        return SignupResult.CREATED;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MongoBulkWriteException daca o inserare esueaza din alt motiv decat un nume duplicat.
+     */
+    @Override
+    public Map<String, SignupResult> insertUsers(Map<String, String> conturi) {
+        Map<String, SignupResult> rezultate = new LinkedHashMap<>();
+        if (conturi.isEmpty()) {
+            return rezultate;
+        }
+        asiguraIndexUnic();
+
+        List<String> nume = new ArrayList<>(conturi.size());
+        List<Document> documente = new ArrayList<>(conturi.size());
+        conturi.forEach((username, password) -> {
+            nume.add(username);
+            documente.add(utilizatorNou(username, password));
+            rezultate.put(username, SignupResult.CREATED);
+        });
+
+        try {
+            userCollection.insertMany(documente, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError eroare : e.getWriteErrors()) {
+                if (eroare.getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                rezultate.put(nume.get(eroare.getIndex()), SignupResult.USER_EXISTS);
+            }
+        }
+        return rezultate;
+    }
+
+    @Override
+    public void setScore(String username, int scor) {
+        Document query = new Document("username", username);
+        Document update = new Document("$set", new Document("scor", scor));
+        userCollection.updateOne(query, update);
+    }
+
+    @Override
+    public void maxScores(Map<String, Integer> scoruri) {
+        if (scoruri.isEmpty()) {
+            return;
+        }
+        List<WriteModel<Document>> lot = new ArrayList<>(scoruri.size());
+        scoruri.forEach((username, scor) ->
+                lot.add(new UpdateOneModel<>(Filters.eq("username", username), Updates.max("scor", scor))));
+        userCollection.bulkWrite(lot, new BulkWriteOptions().ordered(false));
+    }
+
+    @Override
+    public List<Document> findAllByScore() {
+        List<Document> utilizatori = userCollection.find().into(new ArrayList<>());
+        utilizatori.sort((u1, u2) -> Integer.compare(u2.getInteger("scor", 0), u1.getInteger("scor", 0)));
+        return utilizatori;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Sortarea foloseste indexul (scor descrescator, username), creat la primul apel.
+     */
+    @Override
+    public List<Document> findRankedPage(int offset, int limit) {
+        asiguraIndexClasament();
+        return userCollection.find(Filters.ne("username", ADMIN_USERNAME))
+                .sort(Sorts.orderBy(Sorts.descending("scor"), Sorts.ascending("username")))
+                .skip(offset)
+                .limit(limit)
+                .into(new ArrayList<>(limit));
+    }
+
+    @Override
+    public long countRankedUsers() {
+        return userCollection.countDocuments(Filters.ne("username", ADMIN_USERNAME));
+    }
+
+    @Override
+    public long countUsersWithScoreAbove(int scor) {
+        return userCollection.countDocuments(Filters.and(Filters.gt("scor", scor), Filters.ne("username", ADMIN_USERNAME)));
+    }
+
+    /**
+     * Deschide conexiunea printr-o citire minima si creeaza indexurile, inainte de prima cerere a utilizatorului.
+     */
+    @Override
+    public void warmUp() {
+        userCollection.find().limit(1).first();
+        asiguraIndexUnic();
+        asiguraIndexClasament();
+    }
+
+    @Override
+    public void close() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    /**
+     * Creeaza documentul unui utilizator nou, cu scorul 0.
+     *
+     * @param username Numele utilizatorului.
+     * @param password Parola utilizatorului.
+     * @return Documentul utilizatorului.
+     */
+    private static Document utilizatorNou(String username, String password) {
+        return new Document("username", username)
+                .append("password", password)
+                .append("scor", 0);
+    }
+
+    /**
+     * Creeaza, o singura data, indexul unic pe campul username.
+     */
+    private void asiguraIndexUnic() {
+        if (!indexUnicCreat) {
+            synchronized (this) {
+                if (!indexUnicCreat) {
+                    userCollection.createIndex(Indexes.ascending("username"), new IndexOptions().unique(true));
+                    indexUnicCreat = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creeaza, o singura data, indexul (scor descrescator, username) folosit de paginile clasamentului.
+     */
+    private void asiguraIndexClasament() {
+        if (!indexClasamentCreat) {
+            synchronized (this) {
+                if (!indexClasamentCreat) {
+                    userCollection.createIndex(Indexes.compoundIndex(Indexes.descending("scor"), Indexes.ascending("username")));
+                    indexClasamentCreat = true;
+                }
+            }
+        }
+    }
+}
@@ -3,12 +3,14 @@ package org.example;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Clasa MultiplayerFrame reprezinta interfata grafica pentru modul de joc multiplayer al aplicatiei Russian Roulette.
  * Ofera functionalitati pentru gestionarea tururilor, afisarea vietilor jucatorilor si manipularea jocului.
+ * Este un ecran (panou) afisat in fereastra unica AppWindow.
  */
-public class MultiplayerFrame extends JFrame {
+public class MultiplayerFrame extends JPanel {
 
     /**
      * Numele utilizatorului curent (Player 1).
@@ -31,9 +33,9 @@ public class MultiplayerFrame extends JFrame {
     private final MultiplayerGame game;
 
     /**
-     * Zona de text pentru afisarea jurnalului de joc.
+     * Jurnalul de joc, limitat la ultimele GameLogModel.DEFAULT_RETENTION linii.
      */
-    private JTextArea gameLog;
+    private GameLogPanel gameLog;
 
     /**
      * Buton pentru actiunea "Shoot Yourself".
@@ -48,7 +50,7 @@ public class MultiplayerFrame extends JFrame {
     /**
      * Panou pentru afisarea vietilor jucatorilor.
      */
-    private JPanel playerLivesPanel;
+    private SeatStatusPanel playerLivesPanel;
 
     /**
      * Eticheta pentru afisarea numarului de live shells.
@@ -79,11 +81,7 @@ public class MultiplayerFrame extends JFrame {
         this.game = new MultiplayerGame(players, userManager, lives);
         this.currentPlayerIndex = 0;
 
-        setTitle("Multiplayer Mode");
-        setSize(800, 600);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        setLocationRelativeTo(null);
-
+        setLayout(new BorderLayout());
         initUI();
         preloadShells(); // Preload the shells for the first round
     }
@@ -95,10 +93,8 @@ public class MultiplayerFrame extends JFrame {
         JPanel mainPanel = new JPanel(new BorderLayout());
         add(mainPanel);
 
-        gameLog = new JTextArea();
-        gameLog.setEditable(false);
-        JScrollPane scrollPane = new JScrollPane(gameLog);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        gameLog = new GameLogPanel();
+        mainPanel.add(gameLog, BorderLayout.CENTER);
 
         JPanel controlPanel = new JPanel(new GridLayout(4, 1));
 
@@ -109,7 +105,7 @@ public class MultiplayerFrame extends JFrame {
         shellPanel.add(blankShellsLabel);
         controlPanel.add(shellPanel);
 
-        playerLivesPanel = new JPanel(new GridLayout(players.size(), 1));
+        playerLivesPanel = new SeatStatusPanel(players, 0);
         updatePlayerLives(); // Populate player lives panel
         controlPanel.add(playerLivesPanel);
 
@@ -121,10 +117,7 @@ public class MultiplayerFrame extends JFrame {
         controlPanel.add(buttonPanel);
 
         JButton backButton = new JButton("Back to Main Menu");
-        backButton.addActionListener(e -> {
-            new MainMenuFrame(userManager, players.get(0)).setVisible(true);
-            dispose();
-        });
+        backButton.addActionListener(e -> AppWindow.navigate(this, window -> window.showMainMenu(username)));
         controlPanel.add(backButton);
 
         mainPanel.add(controlPanel, BorderLayout.SOUTH);
@@ -137,6 +130,8 @@ public class MultiplayerFrame extends JFrame {
 
     /**
      * Gestioneaza o runda a jocului pe baza actiunii selectate.
+     * Tragerea si trecerea la urmatorul jucator se calculeaza in fundal (SwingWorker); pe EDT ajung
+     * doar actualizarile de afisare (RoundUpdate).
      *
      * @param action Actiunea efectuata: "self" pentru a te impusca sau "opponent" pentru a trage in adversar.
      */
@@ -148,38 +143,96 @@ public class MultiplayerFrame extends JFrame {
 
         shootSelfButton.setEnabled(false);
         shootOpponentButton.setEnabled(false);
+        gameLog.beginRound(); // Rundele se disting prin culoare; liniile vechi ies din jurnal singure
 
-        SwingUtilities.invokeLater(() -> {
-            try {
-                gameLog.setText(""); // Clear previous round logs
-                String result;
-                if ("self".equals(action)) {
-                    result = game.shootSelf(currentPlayerIndex);
-                } else {
-                    int opponentIndex = game.getRandomOpponentIndex(currentPlayerIndex);
-                    result = game.shootOpponent(currentPlayerIndex, opponentIndex);
-                }
+        new RoundWorker(action).execute();
+    }
+
+    /**
+     * Firul de lucru care desfasoara o runda si avanseaza tura.
+     */
+    private final class RoundWorker extends SwingWorker<Boolean, RoundUpdate> {
+
+        /**
+         * Actiunea jucatorului curent.
+         */
+        private final String action;
+
+        private RoundWorker(String action) {
+            this.action = action;
+        }
 
-                gameLog.append(result + "\n");
-                updateInterface();
+        @Override
+        protected Boolean doInBackground() {
+            String result;
+            if ("self".equals(action)) {
+                result = game.shootSelf(currentPlayerIndex);
+            } else {
+                int opponentIndex = game.getRandomOpponentIndex(currentPlayerIndex);
+                result = game.shootOpponent(currentPlayerIndex, opponentIndex);
+            }
 
-                if (game.isGameOver()) {
-                    endGame();
-                } else {
-                    // Move to the next player
+            if (!game.isGameOver()) {
+                // Move to the next player
+                currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+                while (game.getPlayerLives(currentPlayerIndex) <= 0) {
                     currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-                    while (game.getPlayerLives(currentPlayerIndex) <= 0) {
-                        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-                    }
-                    gameLog.append("\nIt's " + players.get(currentPlayerIndex) + "'s turn!\n");
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                shootSelfButton.setEnabled(!game.isGameOver());
-                shootOpponentButton.setEnabled(!game.isGameOver());
+                result += "\nIt's " + players.get(currentPlayerIndex) + "'s turn!\n";
+            }
+            publish(snapshot(result));
+            return game.isGameOver();
+        }
+
+        @Override
+        protected void process(List<RoundUpdate> updates) {
+            for (RoundUpdate update : updates) {
+                render(update);
+            }
+        }
+
+        @Override
+        protected void done() {
+            boolean gameOver = false;
+            try {
+                gameOver = get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(MultiplayerFrame.this, "Error: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
-        });
+            shootSelfButton.setEnabled(!gameOver);
+            shootOpponentButton.setEnabled(!gameOver);
+            if (gameOver) {
+                endGame();
+            }
+        }
+    }
+
+    /**
+     * Captureaza starea afisata a jocului; se apeleaza pe firul de lucru.
+     *
+     * @param log Textul rundei.
+     * @return Actualizarea de afisare.
+     */
+    private RoundUpdate snapshot(String log) {
+        int[] lives = new int[players.size()];
+        for (int i = 0; i < lives.length; i++) {
+            lives[i] = game.getPlayerLives(i);
+        }
+        return new RoundUpdate(log, lives, game.getNumLiveShells(), game.getNumBlankShells(), game.isGameOver());
+    }
+
+    /**
+     * Aplica o actualizare de afisare; se apeleaza pe EDT.
+     *
+     * @param update Actualizarea calculata in fundal.
+     */
+    private void render(RoundUpdate update) {
+        gameLog.append(update.log);
+        liveShellsLabel.setText("Live Shells: " + update.liveShells);
+        blankShellsLabel.setText("Blank Shells: " + update.blankShells);
+        showPlayerLives(update.lives);
     }
 
     /**
@@ -192,17 +245,23 @@ public class MultiplayerFrame extends JFrame {
     }
 
     /**
-     * Actualizeaza panoul de vieti pentru toti jucatorii.
+     * Actualizeaza panoul de vieti pentru toti jucatorii, citind starea curenta a jocului.
      */
     private void updatePlayerLives() {
-        playerLivesPanel.removeAll(); // Clear existing components
-        for (int i = 0; i < players.size(); i++) {
-            JLabel playerLabel = new JLabel(players.get(i) + ": " + game.getPlayerLives(i) + " ❤️");
-            playerLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            playerLivesPanel.add(playerLabel);
+        int[] lives = new int[players.size()];
+        for (int i = 0; i < lives.length; i++) {
+            lives[i] = game.getPlayerLives(i);
         }
-        playerLivesPanel.revalidate();
-        playerLivesPanel.repaint();
+        showPlayerLives(lives);
+    }
+
+    /**
+     * Afiseaza vietile date in panoul jucatorilor.
+     *
+     * @param lives Vietile fiecarui jucator.
+     */
+    private void showPlayerLives(int[] lives) {
+        playerLivesPanel.setLives(lives); // Redeseneaza doar locurile ale caror vieti s-au schimbat
     }
 
     /**
@@ -219,7 +278,6 @@ public class MultiplayerFrame extends JFrame {
      */
     private void endGame() {
         JOptionPane.showMessageDialog(this, "Game Over!", "Game Over", JOptionPane.INFORMATION_MESSAGE);
-        new MainMenuFrame(userManager, username).setVisible(true); // Transmite username-ul curent
-        dispose();
+        AppWindow.navigate(this, window -> window.showMainMenu(username)); // Transmite username-ul curent
     }
 }
@@ -1,16 +1,30 @@
 package org.example;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.Stack;
 
 /**
  * Clasa MultiplayerGame gestioneaza logica jocului pentru modul multiplayer al aplicatiei Russian Roulette.
  * Ofera functionalitati pentru reancarcarea camerei, gestionarea tururilor si determinarea castigatorului.
  */
-public class MultiplayerGame {
+public class MultiplayerGame implements TableState {
+
+    /**
+     * Jurnalul rundelor jucate in consola (subsistemul "ruleta.game").
+     */
+    private static final Logger LOG = LoggerFactory.getLogger("ruleta.game");
+
+    /**
+     * Durata actiunilor multiplayer (shootSelf, shootOpponent).
+     */
+    private static final LatencyHistogram ROUND_LATENCY = Metrics.global().histogram("game.multiplayer.round");
+
     /**
      * Lista jucatorilor din sesiunea multiplayer.
      */
@@ -22,19 +36,44 @@ public class MultiplayerGame {
     private final UserManager userManager;
 
     /**
-     * Lista vietilor curente ale jucatorilor.
+     * Vietile curente ale jucatorilor, dupa index.
+     */
+    private final int[] playerLives;
+
+    /**
+     * Identificatorul mesei, folosit in evenimentele Flight Recorder.
      */
-    private final List<Integer> playerLives;
+    private final int tableId = FlightEvents.nextTableId();
 
     /**
-     * Camera cu gloante, reprezentata ca un stack de ShellType.
+     * Regulile variantei jucate (camera, gloante live).
      */
-    private final Stack<ShellType> chamber = new Stack<>();
+    private final RuleSet rules;
+
+    /**
+     * Camera cu gloante, ca masca de biti (1 = live); urmatorul glont tras este bitul chamberCount - 1.
+     */
+    private long chamber;
+
+    /**
+     * Numarul de gloante ramase in camera.
+     */
+    private int chamberCount = 0;
 
     /**
      * Instanta Random utilizata pentru generarea valorilor aleatorii.
      */
-    private final Random random = new Random();
+    private final Random random;
+
+    /**
+     * Strategiile jucatorilor, dupa index.
+     */
+    private final Strategy[] strategies;
+
+    /**
+     * Numarul de actiuni (trageri) din joc.
+     */
+    private int roundsPlayed = 0;
 
     /**
      * Indica daca jocul s-a terminat.
@@ -42,39 +81,78 @@ public class MultiplayerGame {
     private boolean isGameOver = false;
 
     /**
-     * Tipurile de gloante din camera: LIVE_SHELL sau BLANK_SHELL.
+     * Constructor pentru clasa MultiplayerGame.
+     *
+     * @param players Lista jucatorilor din sesiunea multiplayer.
+     * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
+     * @param initialLives Numarul de vieti initiale pentru fiecare jucator.
+     */
+    public MultiplayerGame(List<String> players, UserManager userManager, int initialLives) {
+        this(players, userManager, initialLives, Collections.nCopies(players.size(), Strategy.SHOOT_SELF), new Random());
+    }
+
+    /**
+     * Constructor pentru clasa MultiplayerGame cu strategiile jucatorilor si generatorul de numere aleatoare date,
+     * folosit de simulari (o samanta fixa face jocul reproductibil).
+     *
+     * @param players Lista jucatorilor din sesiunea multiplayer.
+     * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
+     * @param initialLives Numarul de vieti initiale pentru fiecare jucator.
+     * @param strategies Strategia fiecarui jucator, in ordinea jucatorilor.
+     * @param random Generatorul de numere aleatoare al mesei.
+     * @throws IllegalArgumentException daca numarul strategiilor difera de numarul jucatorilor.
      */
-    private enum ShellType {
-        LIVE_SHELL, BLANK_SHELL
+    public MultiplayerGame(List<String> players, UserManager userManager, int initialLives,
+                           List<Strategy> strategies, Random random) {
+        this(players, userManager, initialLives, RuleSet.CLASSIC, strategies, random);
     }
 
     /**
-     * Constructor pentru clasa MultiplayerGame.
+     * Constructor pentru clasa MultiplayerGame cu o varianta de reguli.
      *
      * @param players Lista jucatorilor din sesiunea multiplayer.
      * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
      * @param initialLives Numarul de vieti initiale pentru fiecare jucator.
+     * @param rules Regulile variantei.
+     * @param strategies Strategia fiecarui jucator, in ordinea jucatorilor.
+     * @param random Generatorul de numere aleatoare al mesei.
+     * @throws IllegalArgumentException daca numarul strategiilor difera de numarul jucatorilor.
      */
-    public MultiplayerGame(List<String> players, UserManager userManager, int initialLives) {
+    public MultiplayerGame(List<String> players, UserManager userManager, int initialLives, RuleSet rules,
+                           List<Strategy> strategies, Random random) {
+        if (strategies.size() != players.size()) {
+            throw new IllegalArgumentException("Expected " + players.size() + " strategies, got " + strategies.size());
+        }
         this.players = players;
         this.userManager = userManager;
-        this.playerLives = new ArrayList<>(Collections.nCopies(players.size(), initialLives));
+        this.rules = rules;
+        this.playerLives = new int[players.size()];
+        Arrays.fill(playerLives, initialLives);
+        this.strategies = strategies.toArray(new Strategy[0]);
+        this.random = random;
+        Game.GAMES_STARTED.increment();
     }
 
     /**
-     * Reincarca camera cu un numar aleator de gloante live si blank.
+     * Reincarca camera cu un numar aleator de gloante live si blank, dupa regulile variantei.
      */
     public void reloadGun() {
-        chamber.clear();
-        int numLiveShells = random.nextInt(5) + 1;
-        int numBlankShells = 6 - numLiveShells;
-        for (int i = 0; i < numLiveShells; i++) {
-            chamber.push(ShellType.LIVE_SHELL);
+        chamber = rules.loadChamber(random);
+        chamberCount = rules.getChamberSize();
+        Game.RELOADS.increment();
+        if (FlightEvents.RELOADS.isEnabled()) {
+            int numLiveShells = Long.bitCount(chamber);
+            new FlightEvents.ChamberReloaded().end(tableId, numLiveShells, chamberCount - numLiveShells);
         }
-        for (int i = 0; i < numBlankShells; i++) {
-            chamber.push(ShellType.BLANK_SHELL);
+    }
+
+    /**
+     * Incarca o camera noua daca cea curenta este goala.
+     */
+    public void loadChamber() {
+        if (chamberCount == 0) {
+            reloadGun();
         }
-        Collections.shuffle(chamber);
     }
 
     /**
@@ -84,17 +162,25 @@ public class MultiplayerGame {
         int currentPlayerIndex = 0;
         while (!isGameOver) {
             String result = playRound(currentPlayerIndex);
-            System.out.println(result);
+            LOG.info("{}", result);
             displayAllLives(); // Afiseaza vietile jucatorilor dupa fiecare runda
+            currentPlayerIndex = nextPlayerIndex(currentPlayerIndex);
+        }
+    }
 
-            // Muta la urmatorul jucator
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-
-            // Sare peste jucatorii care sunt eliminati
-            while (playerLives.get(currentPlayerIndex) <= 0) {
-                currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            }
+    /**
+     * Returneaza urmatorul jucator activ dupa cel dat, in ordinea locurilor.
+     *
+     * @param playerIndex Indexul jucatorului curent.
+     * @return Indexul urmatorului jucator care nu a fost eliminat.
+     */
+    public int nextPlayerIndex(int playerIndex) {
+        int next = (playerIndex + 1) % players.size();
+        // Sare peste jucatorii care sunt eliminati
+        while (playerLives[next] <= 0 && next != playerIndex) {
+            next = (next + 1) % players.size();
         }
+        return next;
     }
 
     /**
@@ -111,25 +197,50 @@ public class MultiplayerGame {
         String currentPlayer = players.get(playerIndex);
         StringBuilder roundSummary = new StringBuilder("\n🔄 Round for " + currentPlayer);
 
-        if (chamber.isEmpty()) {
+        if (chamberCount == 0) {
             reloadGun();
             roundSummary.append("\n🔴 Reloaded Live Shells: " + getNumLiveShells())
                     .append(", 🔵 Blank Shells: " + getNumBlankShells() + "\n");
         }
 
         roundSummary.append("\nChoose action: 1) Shoot Yourself  2) Shoot Opponent\n");
-        // Simulated choice, default to shooting self for testing purposes
-        int choice = 1; // Replace with actual input handling logic
+        // Actiunea este aleasa de strategia jucatorului (implicit: se impusca)
+        int targetIndex = chooseTarget(playerIndex);
 
-        if (choice == 1) {
+        if (targetIndex == playerIndex) {
             return shootSelf(playerIndex);
         } else {
-            // Simuleaza tragerea intr-un adversar aleator
-            int opponentIndex = getRandomOpponentIndex(playerIndex);
-            return shootOpponent(playerIndex, opponentIndex);
+            return shootOpponent(playerIndex, targetIndex);
         }
     }
 
+    /**
+     * Cere strategiei jucatorului tinta tragerii, dupa ce incarca camera, daca este nevoie.
+     *
+     * @param playerIndex Indexul jucatorului curent.
+     * @return Indexul tintei: playerIndex sau un adversar activ.
+     * @throws IllegalStateException daca strategia alege un loc inexistent sau un jucator eliminat.
+     */
+    public int chooseTarget(int playerIndex) {
+        loadChamber();
+        int targetIndex = strategies[playerIndex].chooseTarget(this, playerIndex, random);
+        if (targetIndex != playerIndex
+                && (targetIndex < 0 || targetIndex >= playerLives.length || playerLives[targetIndex] <= 0)) {
+            throw new IllegalStateException("Strategy of " + players.get(playerIndex) + " chose invalid seat " + targetIndex);
+        }
+        return targetIndex;
+    }
+
+    /**
+     * Rezolva tura unui jucator cu actiunea aleasa de strategia lui, fara a construi textul ei.
+     *
+     * @param playerIndex Indexul jucatorului curent.
+     * @return True daca glontul a fost live.
+     */
+    public boolean resolveTurn(int playerIndex) {
+        return resolveShot(playerIndex, chooseTarget(playerIndex));
+    }
+
     /**
      * Simuleaza actiunea de a te impusca singur.
      *
@@ -141,30 +252,33 @@ public class MultiplayerGame {
             return "Game is over. No further actions are allowed.";
         }
 
+        long start = System.nanoTime();
+        FlightEvents.RoundResolved event = new FlightEvents.RoundResolved();
+        event.begin();
         String currentPlayer = players.get(playerIndex);
         StringBuilder roundSummary = new StringBuilder("\n🔄 Round for " + currentPlayer);
 
-        if (chamber.isEmpty()) {
+        if (chamberCount == 0) {
             reloadGun();
             roundSummary.append("\n🔴 Reloaded Live Shells: " + getNumLiveShells())
                     .append(", 🔵 Blank Shells: " + getNumBlankShells() + "\n");
         }
 
-        ShellType currentShell = chamber.pop();
+        boolean live = resolveShot(playerIndex, playerIndex);
 
-        if (currentShell == ShellType.LIVE_SHELL) {
-            int lives = playerLives.get(playerIndex) - 1;
-            playerLives.set(playerIndex, lives);
+        if (live) {
             roundSummary.append("\n💥 Hit! " + currentPlayer + " shot themselves and lost one life.\n");
 
-            if (lives <= 0) {
+            if (playerLives[playerIndex] <= 0) {
                 roundSummary.append("\n💀 " + currentPlayer + " is out of the game!\n");
             }
         } else {
             roundSummary.append("\n💨 Miss! " + currentPlayer + " shot themselves but survived.\n");
         }
 
-        checkGameOver(roundSummary);
+        appendGameOver(roundSummary);
+        ROUND_LATENCY.record(System.nanoTime() - start);
+        event.end(tableId, playerIndex, playerIndex, live);
         return roundSummary.toString();
     }
 
@@ -180,31 +294,34 @@ public class MultiplayerGame {
             return "Game is over. No further actions are allowed.";
         }
 
+        long start = System.nanoTime();
+        FlightEvents.RoundResolved event = new FlightEvents.RoundResolved();
+        event.begin();
         String currentPlayer = players.get(playerIndex);
         String opponentPlayer = players.get(opponentIndex);
         StringBuilder roundSummary = new StringBuilder("\n🔄 Round for " + currentPlayer);
 
-        if (chamber.isEmpty()) {
+        if (chamberCount == 0) {
             reloadGun();
             roundSummary.append("\n🔴 Reloaded Live Shells: " + getNumLiveShells())
                     .append(", 🔵 Blank Shells: " + getNumBlankShells() + "\n");
         }
 
-        ShellType currentShell = chamber.pop();
+        boolean live = resolveShot(playerIndex, opponentIndex);
 
-        if (currentShell == ShellType.LIVE_SHELL) {
-            int lives = playerLives.get(opponentIndex) - 1;
-            playerLives.set(opponentIndex, lives);
+        if (live) {
             roundSummary.append("\n💥 Hit! " + currentPlayer + " shot " + opponentPlayer + " and they lost one life.\n");
 
-            if (lives <= 0) {
+            if (playerLives[opponentIndex] <= 0) {
                 roundSummary.append("\n💀 " + opponentPlayer + " is out of the game!\n");
             }
         } else {
             roundSummary.append("\n💨 Miss! " + currentPlayer + " shot at " + opponentPlayer + " but missed.\n");
         }
 
-        checkGameOver(roundSummary);
+        appendGameOver(roundSummary);
+        ROUND_LATENCY.record(System.nanoTime() - start);
+        event.end(tableId, playerIndex, opponentIndex, live);
         return roundSummary.toString();
     }
 
@@ -215,26 +332,66 @@ public class MultiplayerGame {
      * @return Indexul adversarului selectat aleator.
      */
     public int getRandomOpponentIndex(int currentPlayerIndex) {
-        List<Integer> activePlayers = new ArrayList<>();
-        for (int i = 0; i < playerLives.size(); i++) {
-            if (i != currentPlayerIndex && playerLives.get(i) > 0) {
-                activePlayers.add(i);
+        return Strategy.randomOpponent(this, currentPlayerIndex, random);
+    }
+
+    /**
+     * Rezolva o tragere fara a construi textul ei: reincarca camera daca este goala, trage glontul,
+     * scade o viata tintei daca glontul este live si verifica sfarsitul jocului.
+     * Nu aloca memorie, deci poate fi folosita in simulari si benchmarkuri; shootSelf si shootOpponent
+     * o folosesc si adauga descrierea actiunii.
+     *
+     * @param playerIndex Indexul jucatorului care trage.
+     * @param targetIndex Indexul tintei (egal cu playerIndex pentru a trage in sine).
+     * @return True daca glontul a fost live.
+     */
+    public boolean resolveShot(int playerIndex, int targetIndex) {
+        loadChamber();
+        roundsPlayed++;
+        boolean live = (chamber >>> --chamberCount & 1L) != 0;
+        if (live) {
+            playerLives[targetIndex]--;
+        }
+
+        int activePlayers = 0;
+        for (int lives : playerLives) {
+            if (lives > 0) {
+                activePlayers++;
+            }
+        }
+        if (activePlayers <= 1 && !isGameOver) {
+            isGameOver = true;
+            Game.GAMES_FINISHED.increment();
+            if (FlightEvents.GAME_OVER.isEnabled()) {
+                new FlightEvents.GameOver().end(tableId, getWinnerIndex(), roundsPlayed);
             }
         }
-        return activePlayers.get(random.nextInt(activePlayers.size()));
+        return live;
     }
 
     /**
-     * Verifica daca jocul s-a terminat si determina castigatorul.
+     * Returneaza jucatorul cu cele mai multe vieti (castigatorul, la sfarsitul jocului).
+     *
+     * @return Indexul jucatorului; primul, la egalitate.
+     */
+    public int getWinnerIndex() {
+        int winnerIndex = 0;
+        for (int i = 1; i < playerLives.length; i++) {
+            if (playerLives[i] > playerLives[winnerIndex]) {
+                winnerIndex = i;
+            }
+        }
+        return winnerIndex;
+    }
+
+    /**
+     * Adauga mesajul de sfarsit de joc, daca jocul s-a terminat.
      *
      * @param roundSummary Rezumatul curent al rundei, unde se vor adauga mesajele de finalizare a jocului.
      */
-    private void checkGameOver(StringBuilder roundSummary) {
-        long activePlayers = playerLives.stream().filter(lives -> lives > 0).count();
-        if (activePlayers <= 1) {
-            isGameOver = true;
-            int winnerIndex = playerLives.indexOf(playerLives.stream().max(Integer::compare).orElse(0));
-            roundSummary.append("\n🎉 Game Over! Winner: " + players.get(winnerIndex) + "\n");
+    private void appendGameOver(StringBuilder roundSummary) {
+        if (isGameOver) {
+            roundSummary.append("\n🎉 Game Over! Winner: " + players.get(getWinnerIndex()) + "\n");
         }
     }
 
@@ -242,10 +399,14 @@ public class MultiplayerGame {
      * Afiseaza numarul curent de vieti ale fiecarui jucator.
      */
     private void displayAllLives() {
-        System.out.println("\nCurrent Player Lives:");
+        if (!LOG.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder lives = new StringBuilder("\nCurrent Player Lives:");
         for (int i = 0; i < players.size(); i++) {
-            System.out.println(players.get(i) + ": " + playerLives.get(i) + " lives");
+            lives.append('\n').append(players.get(i)).append(": ").append(playerLives[i]).append(" lives");
         }
+        LOG.info("{}", lives);
     }
 
     /**
@@ -254,7 +415,7 @@ public class MultiplayerGame {
      * @return Numarul de gloante live.
      */
     public int getNumLiveShells() {
-        return (int) chamber.stream().filter(shell -> shell == ShellType.LIVE_SHELL).count();
+        return Long.bitCount(chamber & ((1L << chamberCount) - 1));
     }
 
     /**
@@ -263,7 +424,36 @@ public class MultiplayerGame {
      * @return Numarul de gloante blank.
      */
     public int getNumBlankShells() {
-        return (int) chamber.stream().filter(shell -> shell == ShellType.BLANK_SHELL).count();
+        return chamberCount - getNumLiveShells();
+    }
+
+    @Override
+    public int getRemainingLiveShells() {
+        return getNumLiveShells();
+    }
+
+    @Override
+    public int getRemainingBlankShells() {
+        return getNumBlankShells();
+    }
+
+    /**
+     * Returneaza regulile variantei jucate.
+     *
+     * @return Regulile.
+     */
+    public RuleSet getRuleSet() {
+        return rules;
+    }
+
+    @Override
+    public int getPlayerCount() {
+        return playerLives.length;
+    }
+
+    @Override
+    public int getLives(int seat) {
+        return playerLives[seat];
     }
 
     /**
@@ -282,7 +472,7 @@ public class MultiplayerGame {
      * @return Numarul de vieti ale jucatorului.
      */
     public int getPlayerLives(int playerIndex) {
-        return playerLives.get(playerIndex);
+        return playerLives[playerIndex];
     }
 
     /**
@@ -291,7 +481,11 @@ public class MultiplayerGame {
      * @return O lista de numere intregi reprezentand vietile fiecarui jucator.
      */
     public List<Integer> getAllPlayerLives() {
-        return new ArrayList<>(playerLives);
+        List<Integer> lives = new ArrayList<>(playerLives.length);
+        for (int life : playerLives) {
+            lives.add(life);
+        }
+        return lives;
     }
 
     /**
@@ -0,0 +1,213 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Clasa OddsTable contine probabilitatile exacte de castig ale jucatorului in modul singleplayer, precalculate
+ * o singura data pentru toate starile posibile (vietile jucatorului si ale dealerului, gloantele live si blank
+ * ramase in camera, a cui este tura). Interfata citeste doar valori din tabel, fara simulare.
+ *
+ * Modelul urmeaza regulile RuleSet.CLASSIC (celelalte variante nu sunt acoperite): o camera goala se reincarca
+ * cu 1-5 gloante live (echiprobabil) din 6;
+ * un glont tras in tine nu schimba tura, unul tras in adversar o schimba; dealerul alege la intamplare
+ * (50/50), iar jucatorul este presupus sa aleaga in continuare actiunea cea mai buna.
+ */
+public final class OddsTable {
+
+    /**
+     * Numarul maxim de vieti acoperit de tabel.
+     */
+    public static final int MAX_LIVES = 5;
+
+    /**
+     * Numarul de gloante dintr-o camera plina.
+     */
+    public static final int CHAMBER_SIZE = 6;
+
+    /**
+     * Actiunea "trage in tine".
+     */
+    private static final int SELF = 0;
+
+    /**
+     * Actiunea "trage in adversar".
+     */
+    private static final int OPPONENT = 1;
+
+    /**
+     * Probabilitatea de castig a jucatorului pentru fiecare stare si actiune a celui aflat la rand:
+     * index(p, d, live, blank, turn) * 2 + actiune.
+     */
+    private static final double[] ACTION_VALUES = new double[(MAX_LIVES + 1) * (MAX_LIVES + 1)
+            * (CHAMBER_SIZE + 1) * (CHAMBER_SIZE + 1) * 2 * 2];
+
+    static {
+        Arrays.fill(ACTION_VALUES, Double.NaN);
+        for (int p = 1; p <= MAX_LIVES; p++) {
+            for (int d = 1; d <= MAX_LIVES; d++) {
+                for (int live = 0; live <= CHAMBER_SIZE; live++) {
+                    for (int blank = 0; live + blank <= CHAMBER_SIZE; blank++) {
+                        for (int turn = 0; turn < 2; turn++) {
+                            actionValue(p, d, live, blank, turn == 1, SELF);
+                            actionValue(p, d, live, blank, turn == 1, OPPONENT);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private OddsTable() {
+    }
+
+    /**
+     * Verifica daca starea data este acoperita de tabel.
+     *
+     * @param playerLives Vietile jucatorului.
+     * @param dealerLives Vietile dealerului.
+     * @param liveShells Gloantele live ramase.
+     * @param blankShells Gloantele blank ramase.
+     * @return True daca probabilitatile pot fi citite din tabel.
+     */
+    public static boolean covers(int playerLives, int dealerLives, int liveShells, int blankShells) {
+        return playerLives >= 1 && playerLives <= MAX_LIVES && dealerLives >= 1 && dealerLives <= MAX_LIVES
+                && liveShells >= 0 && blankShells >= 0 && liveShells + blankShells <= CHAMBER_SIZE;
+    }
+
+    /**
+     * Returneaza probabilitatea ca urmatorul glont tras sa fie live.
+     * Pentru o camera goala, aceasta este media peste toate reincarcarile posibile.
+     *
+     * @param liveShells Gloantele live ramase.
+     * @param blankShells Gloantele blank ramase.
+     * @return Probabilitatea, intre 0 si 1.
+     */
+    public static double nextShellLive(int liveShells, int blankShells) {
+        int shells = liveShells + blankShells;
+        if (shells == 0) {
+            return 0.5; // Media lui k/6 pentru k = 1..5
+        }
+        return (double) liveShells / shells;
+    }
+
+    /**
+     * Returneaza probabilitatea de castig a jucatorului daca, fiind la rand, trage in el insusi.
+     *
+     * @param playerLives Vietile jucatorului.
+     * @param dealerLives Vietile dealerului.
+     * @param liveShells Gloantele live ramase.
+     * @param blankShells Gloantele blank ramase.
+     * @return Probabilitatea de castig.
+     * @throws IllegalArgumentException daca starea nu este acoperita de tabel.
+     */
+    public static double winIfShootSelf(int playerLives, int dealerLives, int liveShells, int blankShells) {
+        return lookup(playerLives, dealerLives, liveShells, blankShells, true, SELF);
+    }
+
+    /**
+     * Returneaza probabilitatea de castig a jucatorului daca, fiind la rand, trage in dealer.
+     *
+     * @param playerLives Vietile jucatorului.
+     * @param dealerLives Vietile dealerului.
+     * @param liveShells Gloantele live ramase.
+     * @param blankShells Gloantele blank ramase.
+     * @return Probabilitatea de castig.
+     * @throws IllegalArgumentException daca starea nu este acoperita de tabel.
+     */
+    public static double winIfShootDealer(int playerLives, int dealerLives, int liveShells, int blankShells) {
+        return lookup(playerLives, dealerLives, liveShells, blankShells, true, OPPONENT);
+    }
+
+    /**
+     * Returneaza probabilitatea de castig a jucatorului in starea data, cu joc optim de acum inainte.
+     *
+     * @param playerLives Vietile jucatorului.
+     * @param dealerLives Vietile dealerului.
+     * @param liveShells Gloantele live ramase.
+     * @param blankShells Gloantele blank ramase.
+     * @param playerTurn True daca jucatorul este la rand.
+     * @return Probabilitatea de castig.
+     * @throws IllegalArgumentException daca starea nu este acoperita de tabel.
+     */
+    public static double winProbability(int playerLives, int dealerLives, int liveShells, int blankShells, boolean playerTurn) {
+        double self = lookup(playerLives, dealerLives, liveShells, blankShells, playerTurn, SELF);
+        double opponent = lookup(playerLives, dealerLives, liveShells, blankShells, playerTurn, OPPONENT);
+        return playerTurn ? Math.max(self, opponent) : (self + opponent) / 2;
+    }
+
+    /**
+     * Citeste o valoare din tabel.
+     */
+    private static double lookup(int p, int d, int live, int blank, boolean playerTurn, int action) {
+        if (!covers(p, d, live, blank)) {
+            throw new IllegalArgumentException("State outside the odds table: " + p + "/" + d + "/" + live + "/" + blank);
+        }
+        return ACTION_VALUES[index(p, d, live, blank, playerTurn) * 2 + action];
+    }
+
+    /**
+     * Valoarea unei stari, cu joc optim pentru jucator si aleator pentru dealer; folosita doar la constructia tabelului.
+     */
+    private static double stateValue(int p, int d, int live, int blank, boolean playerTurn) {
+        if (p <= 0) {
+            return 0.0;
+        }
+        if (d <= 0) {
+            return 1.0;
+        }
+        double self = actionValue(p, d, live, blank, playerTurn, SELF);
+        double opponent = actionValue(p, d, live, blank, playerTurn, OPPONENT);
+        return playerTurn ? Math.max(self, opponent) : (self + opponent) / 2;
+    }
+
+    /**
+     * Valoarea unei actiuni a celui aflat la rand, memorata in tabel. Recursivitatea se termina deoarece
+     * fiecare camera contine cel putin un glont live, deci intre doua reincarcari cineva pierde o viata.
+     */
+    private static double actionValue(int p, int d, int live, int blank, boolean playerTurn, int action) {
+        int slot = index(p, d, live, blank, playerTurn) * 2 + action;
+        double cached = ACTION_VALUES[slot];
+        if (!Double.isNaN(cached)) {
+            return cached;
+        }
+
+        double value;
+        int shells = live + blank;
+        if (shells == 0) {
+            // Camera se reincarca inainte de tragere; actiunea este aleasa fara a cunoaste noua incarcatura
+            value = 0;
+            for (int k = 1; k < CHAMBER_SIZE; k++) {
+                value += actionValue(p, d, k, CHAMBER_SIZE - k, playerTurn, action);
+            }
+            value /= CHAMBER_SIZE - 1;
+        } else {
+            value = 0;
+            if (live > 0) {
+                int np = p;
+                int nd = d;
+                boolean shooterIsHit = action == SELF;
+                if (playerTurn == shooterIsHit) {
+                    np--;
+                } else {
+                    nd--;
+                }
+                boolean nextTurn = action == SELF ? playerTurn : !playerTurn;
+                value += (double) live / shells * stateValue(np, nd, live - 1, blank, nextTurn);
+            }
+            if (blank > 0) {
+                boolean nextTurn = action == SELF ? playerTurn : !playerTurn;
+                value += (double) blank / shells * stateValue(p, d, live, blank - 1, nextTurn);
+            }
+        }
+        ACTION_VALUES[slot] = value;
+        return value;
+    }
+
+    /**
+     * Calculeaza pozitia unei stari in tabel.
+     */
+    private static int index(int p, int d, int live, int blank, boolean playerTurn) {
+        return ((((p * (MAX_LIVES + 1) + d) * (CHAMBER_SIZE + 1) + live) * (CHAMBER_SIZE + 1) + blank) * 2)
+                + (playerTurn ? 1 : 0);
+    }
+}
@@ -8,13 +8,14 @@ import java.util.List;
 /**
  * Clasa PlayFrame reprezinta interfata grafica pentru selectarea modului de joc in aplicatia Russian Roulette.
  * Permite utilizatorului sa aleaga intre modul singleplayer si multiplayer.
+ * Ecranul este construit o singura data de AppWindow si refolosit.
  */
-public class PlayFrame extends JFrame {
+public class PlayFrame extends JPanel {
 
     /**
      * Numele utilizatorului autentificat.
      */
-    private final String username;
+    private String username;
 
     /**
      * Instanta UserManager utilizata pentru gestionarea utilizatorilor.
@@ -31,14 +32,19 @@ public class PlayFrame extends JFrame {
         this.username = username;
         this.userManager = userManager;
 
-        setTitle("Select Game Mode");
-        setSize(400, 300);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        setLocationRelativeTo(null);
-
+        setLayout(new BorderLayout());
         initUI();
     }
 
+    /**
+     * Seteaza utilizatorul pentru care se porneste urmatorul joc.
+     *
+     * @param username Numele utilizatorului autentificat.
+     */
+    void setUsername(String username) {
+        this.username = username;
+    }
+
     /**
      * Initializeaza interfata grafica a ferestrei pentru selectarea modului de joc.
      */
@@ -64,21 +70,23 @@ public class PlayFrame extends JFrame {
      * Solicita utilizatorului sa introduca numarul de vieti.
      */
     private void startSingleplayerGame() {
-        String livesInput = JOptionPane.showInputDialog(this, "Enter number of lives (1-5):", "3");
+        RuleSet rules = RuleSet.CLASSIC;
+        String livesInput = JOptionPane.showInputDialog(this, "Enter number of lives (" + rules.getMinLives() + "-"
+                + rules.getMaxLives() + "):", String.valueOf(rules.getDefaultLives()));
         try {
             int lives = Integer.parseInt(livesInput);
-            if (lives < 1 || lives > 5) {
-                JOptionPane.showMessageDialog(this, "Invalid number of lives. Defaulting to 3.", "Error", JOptionPane.ERROR_MESSAGE);
-                lives = 3;
+            if (!rules.isValidLives(lives)) {
+                JOptionPane.showMessageDialog(this, "Invalid number of lives. Defaulting to " + rules.getDefaultLives() + ".",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                lives = rules.getDefaultLives();
             }
 
-            new SingleplayerFrame(username, userManager, lives).setVisible(true);
-            dispose();
+            int livesFinal = lives;
+            AppWindow.navigate(this, window -> window.showSingleplayer(username, livesFinal));
 
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Invalid input. Returning to main menu.", "Error", JOptionPane.ERROR_MESSAGE);
-            new MainMenuFrame(userManager).setVisible(true);
-            dispose();
+            AppWindow.navigate(this, window -> window.showMainMenu(null));
         }
     }
 
@@ -109,13 +117,11 @@ public class PlayFrame extends JFrame {
             }
 
             // Start MultiplayerFrame
-            new MultiplayerFrame(players, userManager, 3).setVisible(true);
-            dispose();
+            AppWindow.navigate(this, window -> window.showMultiplayer(players, 3));
 
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Invalid input. Returning to main menu.", "Error", JOptionPane.ERROR_MESSAGE);
-            new MainMenuFrame(userManager, username).setVisible(true);
-            dispose();
+            AppWindow.navigate(this, window -> window.showMainMenu(username));
         }
     }
 
@@ -0,0 +1,71 @@
+package org.example;
+
+/**
+ * Clasa RoundUpdate descrie ce trebuie redesenat in interfata dupa un pas de joc calculat in fundal.
+ * Instantele sunt imutabile si sunt create pe firul de lucru, apoi trimise catre EDT, astfel incat
+ * interfata sa nu citeasca niciodata direct starea jocului in timp ce aceasta este modificata.
+ */
+final class RoundUpdate {
+
+    /**
+     * Textul care se adauga in jurnalul de joc.
+     */
+    final String log;
+
+    /**
+     * Vietile fiecarui participant (pentru singleplayer: jucatorul, apoi dealerul).
+     */
+    final int[] lives;
+
+    /**
+     * Numarul de gloante live afisat.
+     */
+    final int liveShells;
+
+    /**
+     * Numarul de gloante blank afisat.
+     */
+    final int blankShells;
+
+    /**
+     * Indica daca jocul s-a terminat dupa acest pas.
+     */
+    final boolean gameOver;
+
+    /**
+     * Textul cu probabilitatile afisate peste joc; null daca nu se afiseaza.
+     */
+    final String odds;
+
+    /**
+     * Constructor pentru clasa RoundUpdate.
+     *
+     * @param log Textul care se adauga in jurnal.
+     * @param lives Vietile participantilor.
+     * @param liveShells Numarul de gloante live.
+     * @param blankShells Numarul de gloante blank.
+     * @param gameOver Indica daca jocul s-a terminat.
+     */
+    RoundUpdate(String log, int[] lives, int liveShells, int blankShells, boolean gameOver) {
+        this(log, lives, liveShells, blankShells, gameOver, null);
+    }
+
+    /**
+     * Constructor pentru o actualizare care include si probabilitatile de joc.
+     *
+     * @param log Textul care se adauga in jurnal.
+     * @param lives Vietile participantilor.
+     * @param liveShells Numarul de gloante live.
+     * @param blankShells Numarul de gloante blank.
+     * @param gameOver Indica daca jocul s-a terminat.
+     * @param odds Textul cu probabilitatile sau null.
+     */
+    RoundUpdate(String log, int[] lives, int liveShells, int blankShells, boolean gameOver, String odds) {
+        this.log = log;
+        this.lives = lives;
+        this.liveShells = liveShells;
+        this.blankShells = blankShells;
+        this.gameOver = gameOver;
+        this.odds = odds;
+    }
+}
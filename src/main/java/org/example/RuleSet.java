@@ -0,0 +1,376 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Clasa RuleSet descrie regulile unei variante de joc: capacitatea camerei, intervalul gloantelor live dintr-o
+ * reincarcare, vietile de start permise si multiplicatorii de scor. Regulile sunt compilate la creare in tabele,
+ * iar motorul (Game, MultiplayerGame) doar citeste din ele: camera este o masca de biti (bitul 1 = glont live),
+ * iar o reincarcare alege uniform numarul de gloante live si apoi una din asezarile lor, precalculate, ceea ce
+ * este echivalent cu o amestecare uniforma.
+ *
+ * Instantele sunt imutabile, deci mai multe variante pot rula in paralel in acelasi proces; fiecare joc primeste
+ * varianta lui. Variantele se pot inregistra sub un nume (register, forName). CLASSIC este varianta implicita:
+ * 6 gloante, 1-5 live, 1-5 vieti si multiplicatorii 300/200/150/100/50 pentru 1-5 vieti ramase.
+ */
+public final class RuleSet {
+
+    /**
+     * Capacitatea maxima a camerei; tabelele de asezari au cel mult C(16, 8) = 12870 de intrari pe nivel.
+     */
+    public static final int MAX_CHAMBER_SIZE = 16;
+
+    /**
+     * Variantele inregistrate, dupa nume.
+     */
+    private static final ConcurrentMap<String, RuleSet> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Regulile originale ale jocului.
+     */
+    public static final RuleSet CLASSIC = register(builder("classic").build());
+
+    /**
+     * Numele variantei.
+     */
+    private final String name;
+
+    /**
+     * Numarul de gloante dintr-o camera plina.
+     */
+    private final int chamberSize;
+
+    /**
+     * Numarul minim de gloante live dintr-o reincarcare.
+     */
+    private final int minLiveShells;
+
+    /**
+     * Numarul maxim de gloante live dintr-o reincarcare.
+     */
+    private final int maxLiveShells;
+
+    /**
+     * Numarul minim de vieti de start.
+     */
+    private final int minLives;
+
+    /**
+     * Numarul maxim de vieti de start.
+     */
+    private final int maxLives;
+
+    /**
+     * Numarul implicit de vieti de start.
+     */
+    private final int defaultLives;
+
+    /**
+     * Multiplicatorul de scor dupa vietile ramase ale jucatorului (indexul este numarul de vieti).
+     */
+    private final int[] multipliers;
+
+    /**
+     * Toate asezarile posibile ale gloantelor, ca masti de biti, dupa numarul de gloante live
+     * (null pentru numerele din afara intervalului).
+     */
+    private final long[][] arrangements;
+
+    private RuleSet(Builder builder) {
+        this.name = builder.name;
+        this.chamberSize = builder.chamberSize;
+        this.minLiveShells = builder.minLiveShells;
+        this.maxLiveShells = builder.maxLiveShells;
+        this.minLives = builder.minLives;
+        this.maxLives = builder.maxLives;
+        this.defaultLives = builder.defaultLives;
+        this.multipliers = Arrays.copyOf(builder.multipliers, builder.multipliers.length);
+
+        int[] counts = new int[chamberSize + 1];
+        for (int mask = 0; mask < 1 << chamberSize; mask++) {
+            counts[Integer.bitCount(mask)]++;
+        }
+        this.arrangements = new long[chamberSize + 1][];
+        for (int live = minLiveShells; live <= maxLiveShells; live++) {
+            arrangements[live] = new long[counts[live]];
+        }
+        int[] filled = new int[chamberSize + 1];
+        for (int mask = 0; mask < 1 << chamberSize; mask++) {
+            int live = Integer.bitCount(mask);
+            if (arrangements[live] != null) {
+                arrangements[live][filled[live]++] = mask;
+            }
+        }
+    }
+
+    /**
+     * Creeaza un builder pornind de la regulile CLASSIC.
+     *
+     * @param name Numele variantei.
+     * @return Builder-ul.
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Inregistreaza o varianta sub numele ei.
+     *
+     * @param rules Varianta.
+     * @return Varianta inregistrata.
+     * @throws IllegalArgumentException daca exista deja o alta varianta cu acelasi nume.
+     */
+    public static RuleSet register(RuleSet rules) {
+        RuleSet existing = REGISTRY.putIfAbsent(rules.name, rules);
+        if (existing != null && existing != rules) {
+            throw new IllegalArgumentException("Rule set already registered: " + rules.name);
+        }
+        return rules;
+    }
+
+    /**
+     * Returneaza varianta inregistrata cu numele dat.
+     *
+     * @param name Numele variantei.
+     * @return Varianta.
+     * @throws IllegalArgumentException daca nu exista o varianta cu acest nume.
+     */
+    public static RuleSet forName(String name) {
+        RuleSet rules = REGISTRY.get(name);
+        if (rules == null) {
+            throw new IllegalArgumentException("Unknown rule set: " + name + " (known: " + names() + ")");
+        }
+        return rules;
+    }
+
+    /**
+     * Returneaza numele variantelor inregistrate.
+     *
+     * @return Numele, sortate.
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(new TreeSet<>(REGISTRY.keySet()));
+    }
+
+    /**
+     * Incarca o camera plina: alege uniform numarul de gloante live si una din asezarile lor.
+     *
+     * @param random Generatorul de numere aleatoare al mesei.
+     * @return Camera, ca masca de biti: bitul i este 1 daca glontul i este live; primul tras este bitul
+     * chamberSize - 1.
+     */
+    public long loadChamber(Random random) {
+        long[] masks = arrangements[minLiveShells + random.nextInt(maxLiveShells - minLiveShells + 1)];
+        return masks[random.nextInt(masks.length)];
+    }
+
+    /**
+     * Returneaza tabelul asezarilor cu un numar dat de gloante live, fara copiere (pentru BatchSimulator).
+     *
+     * @param liveShells Numarul de gloante live, intre minim si maxim.
+     * @return Mastile asezarilor; nu trebuie modificate.
+     */
+    long[] arrangements(int liveShells) {
+        return arrangements[liveShells];
+    }
+
+    /**
+     * Returneaza multiplicatorul de scor pentru vietile ramase ale jucatorului.
+     *
+     * @param livesLeft Vietile ramase.
+     * @return Multiplicatorul; 0 pentru un numar de vieti fara multiplicator (de exemplu 0).
+     */
+    public int scoreMultiplier(int livesLeft) {
+        return livesLeft >= 0 && livesLeft < multipliers.length ? multipliers[livesLeft] : 0;
+    }
+
+    /**
+     * Verifica daca un numar de vieti de start este permis.
+     *
+     * @param lives Numarul de vieti.
+     * @return True daca este intre minim si maxim.
+     */
+    public boolean isValidLives(int lives) {
+        return lives >= minLives && lives <= maxLives;
+    }
+
+    /**
+     * Returneaza numele variantei.
+     *
+     * @return Numele.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returneaza numarul de gloante dintr-o camera plina.
+     *
+     * @return Capacitatea camerei.
+     */
+    public int getChamberSize() {
+        return chamberSize;
+    }
+
+    /**
+     * Returneaza numarul minim de gloante live dintr-o reincarcare.
+     *
+     * @return Minimul.
+     */
+    public int getMinLiveShells() {
+        return minLiveShells;
+    }
+
+    /**
+     * Returneaza numarul maxim de gloante live dintr-o reincarcare.
+     *
+     * @return Maximul.
+     */
+    public int getMaxLiveShells() {
+        return maxLiveShells;
+    }
+
+    /**
+     * Returneaza numarul minim de vieti de start.
+     *
+     * @return Minimul.
+     */
+    public int getMinLives() {
+        return minLives;
+    }
+
+    /**
+     * Returneaza numarul maxim de vieti de start.
+     *
+     * @return Maximul.
+     */
+    public int getMaxLives() {
+        return maxLives;
+    }
+
+    /**
+     * Returneaza numarul implicit de vieti de start.
+     *
+     * @return Numarul implicit.
+     */
+    public int getDefaultLives() {
+        return defaultLives;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + chamberSize + " shells, " + minLiveShells + "-" + maxLiveShells + " live, "
+                + minLives + "-" + maxLives + " lives)";
+    }
+
+    /**
+     * Clasa Builder construieste un RuleSet, pornind de la valorile CLASSIC.
+     */
+    public static final class Builder {
+
+        /**
+         * Numele variantei.
+         */
+        private final String name;
+
+        /**
+         * Valorile variantei, initial cele CLASSIC.
+         */
+        private int chamberSize = 6;
+        private int minLiveShells = 1;
+        private int maxLiveShells = 5;
+        private int minLives = 1;
+        private int maxLives = 5;
+        private int defaultLives = 3;
+        private int[] multipliers = {0, 300, 200, 150, 100, 50};
+
+        private Builder(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Rule set name cannot be empty");
+            }
+            this.name = name;
+        }
+
+        /**
+         * Seteaza numarul de gloante dintr-o camera plina.
+         *
+         * @param chamberSize Capacitatea camerei, intre 1 si MAX_CHAMBER_SIZE.
+         * @return Acest builder.
+         */
+        public Builder chamberSize(int chamberSize) {
+            this.chamberSize = chamberSize;
+            return this;
+        }
+
+        /**
+         * Seteaza intervalul gloantelor live dintr-o reincarcare.
+         *
+         * @param min Minimul, cel putin 0.
+         * @param max Maximul, cel putin 1 si cel mult capacitatea camerei.
+         * @return Acest builder.
+         */
+        public Builder liveShells(int min, int max) {
+            this.minLiveShells = min;
+            this.maxLiveShells = max;
+            return this;
+        }
+
+        /**
+         * Seteaza vietile de start permise.
+         *
+         * @param min Minimul, cel putin 1.
+         * @param max Maximul.
+         * @param defaultLives Valoarea implicita, intre minim si maxim.
+         * @return Acest builder.
+         */
+        public Builder lives(int min, int max, int defaultLives) {
+            this.minLives = min;
+            this.maxLives = max;
+            this.defaultLives = defaultLives;
+            return this;
+        }
+
+        /**
+         * Seteaza multiplicatorul de scor pentru un numar de vieti ramase.
+         *
+         * @param livesLeft Vietile ramase, cel putin 1.
+         * @param multiplier Multiplicatorul, nenegativ.
+         * @return Acest builder.
+         */
+        public Builder multiplier(int livesLeft, int multiplier) {
+            if (livesLeft < 1 || multiplier < 0) {
+                throw new IllegalArgumentException("Invalid multiplier " + multiplier + " for " + livesLeft + " lives");
+            }
+            if (livesLeft >= multipliers.length) {
+                multipliers = Arrays.copyOf(multipliers, livesLeft + 1);
+            }
+            multipliers[livesLeft] = multiplier;
+            return this;
+        }
+
+        /**
+         * Valideaza regulile si le compileaza.
+         *
+         * @return Varianta compilata (neinregistrata).
+         * @throws IllegalArgumentException daca regulile nu sunt consistente.
+         */
+        public RuleSet build() {
+            if (chamberSize < 1 || chamberSize > MAX_CHAMBER_SIZE) {
+                throw new IllegalArgumentException("Chamber size must be between 1 and " + MAX_CHAMBER_SIZE);
+            }
+            if (minLiveShells < 0 || maxLiveShells < Math.max(1, minLiveShells) || maxLiveShells > chamberSize) {
+                throw new IllegalArgumentException("Live shells must satisfy 0 <= min <= max <= chamber size, max >= 1");
+            }
+            if (minLives < 1 || maxLives < minLives || defaultLives < minLives || defaultLives > maxLives) {
+                throw new IllegalArgumentException("Lives must satisfy 1 <= min <= default <= max");
+            }
+            return new RuleSet(this);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clasa ScoreAnalytics urmareste distributia rezultatelor jocurilor singleplayer, pentru calibrarea scorurilor:
+ * pentru fiecare numar de vieti pastreaza cate un KllSketch pentru scor (Game.calculateScore), numarul de runde
+ * si numarul de trageri din joc. Jocurile pot veni din simulari (simulate) sau dintr-un jurnal text (readJournal).
+ *
+ * Memoria este constanta in numarul de jocuri. Instantele nu sunt sigure pentru mai multe fire: fiecare fir isi
+ * foloseste propria instanta, iar rezultatele se unesc cu merge; intre noduri se transfera cu toBytes/fromBytes.
+ */
+public class ScoreAnalytics {
+
+    /**
+     * Numele metricilor urmarite, in ordinea din tablourile de sketch-uri.
+     */
+    public static final String SCORE = "score";
+    public static final String ROUNDS = "rounds";
+    public static final String SHOTS = "shots";
+
+    /**
+     * Metricile, in ordinea din tablourile de sketch-uri.
+     */
+    private static final String[] METRICS = {SCORE, ROUNDS, SHOTS};
+
+    /**
+     * Numarul maxim de bucati in care se imparte o simulare.
+     */
+    private static final int CHUNKS = 64;
+
+    /**
+     * Parametrul de precizie al sketch-urilor.
+     */
+    private final int k;
+
+    /**
+     * Sketch-urile, dupa numarul de vieti: {scor, runde, trageri}.
+     */
+    private final Map<Integer, KllSketch[]> sketches = new TreeMap<>();
+
+    /**
+     * Constructor cu precizia implicita a sketch-urilor.
+     */
+    public ScoreAnalytics() {
+        this(KllSketch.DEFAULT_K);
+    }
+
+    /**
+     * Constructor pentru clasa ScoreAnalytics.
+     *
+     * @param k Parametrul de precizie al sketch-urilor.
+     */
+    public ScoreAnalytics(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Inregistreaza un joc terminat.
+     *
+     * @param lives Numarul de vieti de la inceputul jocului.
+     * @param score Scorul final.
+     * @param rounds Numarul de runde (turele jucatorului).
+     * @param shots Numarul de trageri (ale jucatorului si ale dealerului).
+     */
+    public void accept(int lives, int score, int rounds, int shots) {
+        KllSketch[] game = sketchesFor(lives);
+        game[0].update(score);
+        game[1].update(rounds);
+        game[2].update(shots);
+    }
+
+    /**
+     * Inregistreaza un joc singleplayer terminat. resetGameState nu reseteaza numarul rundelor, deci jocul
+     * trebuie sa fie o instanta noua, nu una refolosita.
+     *
+     * @param lives Numarul de vieti de la inceputul jocului.
+     * @param game Jocul terminat.
+     * @param shots Numarul de trageri din joc.
+     */
+    public void accept(int lives, Game game, int shots) {
+        accept(lives, game.calculateScore(), game.getRoundNumber(), shots);
+    }
+
+    /**
+     * Returneaza sketch-ul unei metrici pentru un numar de vieti.
+     *
+     * @param lives Numarul de vieti.
+     * @param metric SCORE, ROUNDS sau SHOTS.
+     * @return Sketch-ul sau null daca nu exista jocuri cu acel numar de vieti.
+     * @throws IllegalArgumentException daca metrica nu este cunoscuta.
+     */
+    public KllSketch getSketch(int lives, String metric) {
+        KllSketch[] game = sketches.get(lives);
+        return game == null ? null : game[metricIndex(metric)];
+    }
+
+    /**
+     * Returneaza numerele de vieti pentru care exista jocuri.
+     *
+     * @return Numerele de vieti, crescator.
+     */
+    public List<Integer> getLivesSettings() {
+        return new ArrayList<>(sketches.keySet());
+    }
+
+    /**
+     * Adauga rezultatele altei instante (de pe alt fir sau nod).
+     *
+     * @param other Instanta adaugata; nu este modificata.
+     */
+    public void merge(ScoreAnalytics other) {
+        other.sketches.forEach((lives, game) -> {
+            KllSketch[] own = sketchesFor(lives);
+            for (int m = 0; m < METRICS.length; m++) {
+                own[m].merge(game[m]);
+            }
+        });
+    }
+
+    /**
+     * Serializeaza toate sketch-urile.
+     *
+     * @return Reprezentarea binara.
+     */
+    public byte[] toBytes() {
+        List<byte[]> parts = new ArrayList<>();
+        int size = 8;
+        for (KllSketch[] game : sketches.values()) {
+            for (KllSketch sketch : game) {
+                byte[] part = sketch.toBytes();
+                parts.add(part);
+                size += 4 + part.length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size + 4 * sketches.size());
+        buffer.putInt(k).putInt(sketches.size());
+        int p = 0;
+        for (int lives : sketches.keySet()) {
+            buffer.putInt(lives);
+            for (int m = 0; m < METRICS.length; m++) {
+                byte[] part = parts.get(p++);
+                buffer.putInt(part.length).put(part);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reconstruieste o instanta serializata cu toBytes.
+     *
+     * @param bytes Reprezentarea binara.
+     * @return Instanta.
+     * @throws IllegalArgumentException daca datele nu sunt valide.
+     */
+    public static ScoreAnalytics fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            ScoreAnalytics analytics = new ScoreAnalytics(buffer.getInt());
+            int settings = buffer.getInt();
+            for (int s = 0; s < settings; s++) {
+                int lives = buffer.getInt();
+                KllSketch[] game = new KllSketch[METRICS.length];
+                for (int m = 0; m < METRICS.length; m++) {
+                    byte[] part = new byte[buffer.getInt()];
+                    buffer.get(part);
+                    game[m] = KllSketch.fromBytes(part);
+                }
+                analytics.sketches.put(lives, game);
+            }
+            return analytics;
+        } catch (java.nio.BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Truncated analytics data", e);
+        }
+    }
+
+    /**
+     * Citeste jocuri dintr-un jurnal text: cate un joc pe linie, {@code vieti scor runde trageri}, separate
+     * prin spatii sau virgule. Liniile goale si cele care incep cu '#' sunt ignorate.
+     *
+     * @param in Sursa jurnalului.
+     * @return Numarul de jocuri citite.
+     * @throws IOException daca sursa nu poate fi citita.
+     * @throws IllegalArgumentException daca o linie nu are formatul asteptat.
+     */
+    public long readJournal(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        long games = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("[\\s,]+");
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected 'lives score rounds shots'");
+            }
+            try {
+                accept(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                        Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+            games++;
+        }
+        return games;
+    }
+
+    /**
+     * Simuleaza jocuri singleplayer complete, in paralel, cu dealerul implicit (Strategy.RANDOM) si strategia data
+     * pentru jucator. Fiecare bucata de jocuri are propria instanta si propriul generator, derivat din samanta,
+     * iar instantele sunt unite la final; rezultatul nu depinde de numarul de fire.
+     *
+     * @param lives Numarul de vieti ale jucatorului si ale dealerului.
+     * @param games Numarul de jocuri.
+     * @param player Strategia jucatorului.
+     * @param threads Numarul de fire.
+     * @param seed Samanta simularii.
+     * @return Analiza jocurilor simulate.
+     * @throws InterruptedException daca firul este intrerupt in asteptarea rezultatelor.
+     */
+    public static ScoreAnalytics simulate(int lives, long games, Strategy player, int threads, long seed)
+            throws InterruptedException {
+        return simulate(RuleSet.CLASSIC, lives, games, player, threads, seed);
+    }
+
+    /**
+     * Simuleaza jocuri singleplayer complete cu o varianta de reguli (vezi simulate fara reguli).
+     *
+     * @param rules Regulile variantei.
+     * @param lives Numarul de vieti ale jucatorului si ale dealerului.
+     * @param games Numarul de jocuri.
+     * @param player Strategia jucatorului.
+     * @param threads Numarul de fire.
+     * @param seed Samanta simularii.
+     * @return Analiza jocurilor simulate.
+     * @throws InterruptedException daca firul este intrerupt in asteptarea rezultatelor.
+     */
+    public static ScoreAnalytics simulate(RuleSet rules, int lives, long games, Strategy player, int threads,
+                                          long seed) throws InterruptedException {
+        int chunks = (int) Math.max(1, Math.min(CHUNKS, games));
+        List<Callable<ScoreAnalytics>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            long chunkGames = games * (c + 1) / chunks - games * c / chunks;
+            Random random = new Random(new SplittableRandom(seed + c).nextLong());
+            tasks.add(() -> {
+                ScoreAnalytics analytics = new ScoreAnalytics();
+                for (long g = 0; g < chunkGames; g++) {
+                    Game game = new Game("analytics", null, rules, Strategy.RANDOM, random);
+                    game.setPlayerLife(lives);
+                    game.setDealerLife(lives);
+                    int shots = 0;
+                    while (!game.isGameOver()) {
+                        if (game.isPlayerTurn()) {
+                            game.resolveRound(player);
+                        } else {
+                            game.resolveDealerRound();
+                        }
+                        shots++;
+                    }
+                    analytics.accept(lives, game, shots);
+                }
+                return analytics;
+            });
+        }
+
+        ScoreAnalytics total = new ScoreAnalytics();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "score-analytics-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<ScoreAnalytics> result : pool.invokeAll(tasks)) {
+                total.merge(result.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Formateaza distributiile: pentru fiecare numar de vieti si metrica, numarul de jocuri, minimul,
+     * cuantilele 10/25/50/75/90/99% si maximul.
+     *
+     * @return Tabelul distributiilor.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(String.format("%-6s %-7s %10s %8s %8s %8s %8s %8s %8s %8s %8s%n",
+                "lives", "metric", "games", "min", "p10", "p25", "p50", "p75", "p90", "p99", "max"));
+        sketches.forEach((lives, game) -> {
+            for (int m = 0; m < METRICS.length; m++) {
+                KllSketch sketch = game[m];
+                sb.append(String.format("%-6d %-7s %10d %8d %8d %8d %8d %8d %8d %8d %8d%n", lives, METRICS[m],
+                        sketch.getCount(), sketch.getMin(), sketch.getQuantile(0.10), sketch.getQuantile(0.25),
+                        sketch.getQuantile(0.50), sketch.getQuantile(0.75), sketch.getQuantile(0.90),
+                        sketch.getQuantile(0.99), sketch.getMax()));
+            }
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Returneaza sketch-urile unui numar de vieti, creandu-le daca este nevoie.
+     */
+    private KllSketch[] sketchesFor(int lives) {
+        return sketches.computeIfAbsent(lives, l -> new KllSketch[]{new KllSketch(k), new KllSketch(k), new KllSketch(k)});
+    }
+
+    private static int metricIndex(String metric) {
+        for (int m = 0; m < METRICS.length; m++) {
+            if (METRICS[m].equals(metric)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric: " + metric);
+    }
+
+    /**
+     * Afiseaza distributia scorurilor. Argumente (toate optionale):
+     * {@code --games N --lives MAX --strategy NUME --rules VARIANTA --threads T --seed X --journal FISIER}.
+     * Fara --journal se simuleaza --games jocuri pentru fiecare numar de vieti permis de varianta (implicit
+     * "classic"), pana la --lives, cu strategia data pentru jucator (implicit RANDOM, una din
+     * StrategyTournament.builtIns); cu --journal se citesc jocurile din fisier.
+     *
+     * @param args Argumentele din linia de comanda.
+     * @throws IOException daca jurnalul nu poate fi citit.
+     * @throws InterruptedException daca simularea este intrerupta.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        ScoreAnalytics analytics;
+        if (options.containsKey("journal")) {
+            analytics = new ScoreAnalytics();
+            try (Reader reader = Files.newBufferedReader(Path.of(options.get("journal")))) {
+                analytics.readJournal(reader);
+            }
+        } else {
+            long games = Long.parseLong(options.getOrDefault("games", "1000000"));
+            RuleSet rules = RuleSet.forName(options.getOrDefault("rules", RuleSet.CLASSIC.getName()));
+            int maxLives = Integer.parseInt(options.getOrDefault("lives", String.valueOf(rules.getMaxLives())));
+            int threads = Integer.parseInt(options.getOrDefault("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            String name = options.getOrDefault("strategy", "RANDOM");
+            Strategy player = StrategyTournament.builtIns().get(name);
+            if (player == null) {
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+            }
+            analytics = new ScoreAnalytics();
+            for (int lives = rules.getMinLives(); lives <= Math.min(maxLives, rules.getMaxLives()); lives++) {
+                analytics.merge(simulate(rules, lives, games, player, threads, seed + lives));
+            }
+        }
+        System.out.print(analytics.format());
+    }
+}
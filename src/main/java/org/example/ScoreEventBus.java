@@ -0,0 +1,326 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Clasa ScoreEventBus transmite schimbarile de scor catre abonati (clasamente deschise, alte componente din proces).
+ * Schimbarile sunt comasate pe utilizator si livrate in loturi, cel mult o data la fiecare interval, pe un fir
+ * dedicat; pozitiile in clasament se calculeaza o singura data per utilizator si per lot, la livrare, din scorul
+ * publicat (nu din cel stocat, care poate fi inca in asteptarea scrierii).
+ * Fiecare schimbare contine si intervalul de pozitii ocupat de ceilalti utilizatori care au fost deplasati cu un loc.
+ * Firul de livrare porneste la primul abonat si se opreste cand pleaca ultimul, iar publicarea fara abonati nu costa nimic.
+ */
+public class ScoreEventBus implements AutoCloseable {
+
+    /**
+     * Jurnalul livrarii evenimentelor de scor (subsistemul "ruleta.events").
+     */
+    private static final Logger LOG = LoggerFactory.getLogger("ruleta.events");
+
+    /**
+     * Intervalul implicit minim, in milisecunde, dintre doua livrari.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 250;
+
+    /**
+     * Intervalul minim dintre doua livrari, in milisecunde.
+     */
+    private final long intervalMillis;
+
+    /**
+     * Functia care calculeaza pozitia in clasament corespunzatoare unui scor; poate fi null.
+     */
+    private final IntUnaryOperator rankForScore;
+
+    /**
+     * Abonatii.
+     */
+    private final List<Consumer<List<ScoreChange>>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Schimbarile nelivrate, cate una pe utilizator.
+     */
+    private final ConcurrentHashMap<String, int[]> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Firul de livrare; creat la primul abonat si oprit cand pleaca ultimul.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Indica daca instanta a fost inchisa.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor cu intervalul implicit de livrare.
+     *
+     * @param rankForScore Functia care calculeaza pozitia in clasament pentru un scor (poate fi null).
+     */
+    public ScoreEventBus(IntUnaryOperator rankForScore) {
+        this(DEFAULT_INTERVAL_MILLIS, rankForScore);
+    }
+
+    /**
+     * Constructor pentru clasa ScoreEventBus.
+     *
+     * @param intervalMillis Intervalul minim dintre doua livrari, in milisecunde.
+     * @param rankForScore Functia care calculeaza pozitia in clasament pentru un scor (poate fi null).
+     * @throws IllegalArgumentException daca intervalul nu este pozitiv.
+     */
+    public ScoreEventBus(long intervalMillis, IntUnaryOperator rankForScore) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.intervalMillis = intervalMillis;
+        this.rankForScore = rankForScore;
+    }
+
+    /**
+     * Aboneaza un consumator la schimbarile de scor. Consumatorul este apelat pe firul de livrare;
+     * componentele Swing trebuie sa treaca singure pe EDT.
+     *
+     * @param subscriber Consumatorul care primeste loturile de schimbari.
+     * @return Actiunea care anuleaza abonamentul; la plecarea ultimului abonat firul de livrare se opreste.
+     * @throws IllegalStateException daca instanta a fost inchisa.
+     */
+    public synchronized Runnable subscribe(Consumer<List<ScoreChange>> subscriber) {
+        if (closed) {
+            throw new IllegalStateException("ScoreEventBus is closed");
+        }
+        subscribers.add(subscriber);
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "score-events");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::dispatch, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return () -> unsubscribe(subscriber);
+    }
+
+    /**
+     * Anuleaza un abonament si opreste firul de livrare daca nu mai ramane niciun abonat.
+     */
+    private synchronized void unsubscribe(Consumer<List<ScoreChange>> subscriber) {
+        if (!subscribers.remove(subscriber) || !subscribers.isEmpty() || scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler = null;
+        pending.clear();
+    }
+
+    /**
+     * Indica daca firul de livrare ruleaza (folosit in teste).
+     *
+     * @return True daca firul de livrare a fost pornit si nu a fost oprit.
+     */
+    synchronized boolean isDispatching() {
+        return scheduler != null;
+    }
+
+    /**
+     * Indica daca exista abonati; publicatorii pot sari peste calculul datelor evenimentului daca nu exista.
+     *
+     * @return True daca exista cel putin un abonat.
+     */
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Publica schimbarea scorului unui utilizator. Mai multe schimbari pentru acelasi utilizator in acelasi
+     * interval sunt comasate: se pastreaza primul scor anterior si ultimul scor nou.
+     *
+     * @param username Numele utilizatorului.
+     * @param previousScore Scorul anterior.
+     * @param score Scorul nou.
+     */
+    public void publish(String username, int previousScore, int score) {
+        if (closed || subscribers.isEmpty()) {
+            return;
+        }
+        pending.merge(username, new int[]{previousScore, score}, (vechi, nou) -> new int[]{vechi[0], nou[1]});
+    }
+
+    /**
+     * Livreaza imediat schimbarile in asteptare (folosit de firul de livrare si in teste).
+     */
+    void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ScoreChange> batch = new ArrayList<>(pending.size());
+        Iterator<String> keys = pending.keySet().iterator();
+        while (keys.hasNext()) {
+            String username = keys.next();
+            int[] change = pending.remove(username);
+            if (change != null && change[0] != change[1]) {
+                batch.add(change(username, change[0], change[1]));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ScoreChange> lot = List.copyOf(batch);
+        for (Consumer<List<ScoreChange>> subscriber : subscribers) {
+            try {
+                subscriber.accept(lot);
+            } catch (RuntimeException e) {
+                LOG.error("❌ Un abonat la evenimentele de scor a esuat: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Construieste schimbarea unui utilizator. Ceilalti utilizatori cu scor intre scorul vechi si cel nou s-au deplasat
+     * cu un loc: la o crestere ocupa acum pozitiile de sub utilizator, pana la ultimul cu scor cel putin egal cu cel vechi;
+     * la o scadere ocupa pozitiile de deasupra lui, incepand cu prima de dupa cei cu scor mai mare decat cel vechi.
+     */
+    private ScoreChange change(String username, int previousScore, int score) {
+        if (rankForScore == null) {
+            return new ScoreChange(username, previousScore, score, 0, 0, 0);
+        }
+        int rank = rankForScore.applyAsInt(score);
+        if (score > previousScore) {
+            return new ScoreChange(username, previousScore, score, rank, rank, rankForScore.applyAsInt(previousScore - 1) - 1);
+        }
+        return new ScoreChange(username, previousScore, score, rank, rankForScore.applyAsInt(previousScore), rank);
+    }
+
+    /**
+     * Opreste firul de livrare; schimbarile nelivrate sunt abandonate.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        subscribers.clear();
+        pending.clear();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Schimbarea scorului unui utilizator, impreuna cu noua lui pozitie in clasament si intervalul de pozitii
+     * in care ceilalti utilizatori s-au deplasat cu un loc. Pozitiile din afara intervalului nu s-au schimbat
+     * din cauza acestei schimbari, deci un abonat trebuie sa recitesca doar randurile din interval.
+     */
+    public static final class ScoreChange {
+
+        /**
+         * Numele utilizatorului.
+         */
+        private final String username;
+
+        /**
+         * Scorul anterior.
+         */
+        private final int previousScore;
+
+        /**
+         * Scorul nou.
+         */
+        private final int score;
+
+        /**
+         * Pozitia in clasament dupa schimbare (0 daca nu se cunoaste).
+         */
+        private final int rank;
+
+        /**
+         * Prima pozitie afectata de schimbare (0 daca nu se cunoaste).
+         */
+        private final int firstAffectedRank;
+
+        /**
+         * Ultima pozitie afectata de schimbare (0 daca nu se cunoaste).
+         */
+        private final int lastAffectedRank;
+
+        ScoreChange(String username, int previousScore, int score, int rank, int firstAffectedRank, int lastAffectedRank) {
+            this.username = username;
+            this.previousScore = previousScore;
+            this.score = score;
+            this.rank = rank;
+            this.firstAffectedRank = firstAffectedRank;
+            this.lastAffectedRank = lastAffectedRank;
+        }
+
+        /**
+         * Returneaza numele utilizatorului.
+         *
+         * @return Numele utilizatorului.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Returneaza scorul anterior.
+         *
+         * @return Scorul anterior.
+         */
+        public int getPreviousScore() {
+            return previousScore;
+        }
+
+        /**
+         * Returneaza scorul nou.
+         *
+         * @return Scorul nou.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Returneaza pozitia in clasament dupa schimbare.
+         *
+         * @return Pozitia, incepand de la 1, sau 0 daca nu se cunoaste.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        /**
+         * Returneaza prima (cea mai buna) pozitie din clasament afectata de schimbare.
+         *
+         * @return Pozitia, incepand de la 1, sau 0 daca nu se cunoaste.
+         */
+        public int getFirstAffectedRank() {
+            return firstAffectedRank;
+        }
+
+        /**
+         * Returneaza ultima pozitie din clasament afectata de schimbare; intre prima si ultima pozitie,
+         * ceilalti utilizatori s-au deplasat cu un loc.
+         *
+         * @return Pozitia, incepand de la 1, sau 0 daca nu se cunoaste.
+         */
+        public int getLastAffectedRank() {
+            return lastAffectedRank;
+        }
+
+        @Override
+        public String toString() {
+            return username + ": " + previousScore + " -> " + score + " (#" + rank
+                    + ", affected #" + firstAffectedRank + "-#" + lastAffectedRank + ")";
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Clasa ScoreRankIndex numara cate scoruri sunt strict mai mari decat o valoare data, in O(log S).
+ * Scorurile din intervalul [0, DIRECT_LIMIT) sunt tinute intr-un arbore Fenwick peste contoare pe scor,
+ * care creste (in puteri ale lui 2) doar pana la cel mai mare scor vazut; scorurile negative sau
+ * foarte mari, rare in joc, sunt numarate separat intr-un TreeMap.
+ * Toate operatiile sunt sincronizate, deci o mutare de scor este vazuta atomic de interogari.
+ */
+final class ScoreRankIndex {
+
+    /**
+     * Limita superioara (exclusiva) a scorurilor tinute in arborele Fenwick.
+     */
+    static final int DIRECT_LIMIT = 1 << 16;
+
+    /**
+     * Numarul de scoruri cu fiecare valoare din [0, capacitate).
+     */
+    private int[] counts = new int[64];
+
+    /**
+     * Arborele Fenwick peste counts, indexat de la 1.
+     */
+    private long[] tree = new long[65];
+
+    /**
+     * Numarul de scoruri din arborele Fenwick.
+     */
+    private long directTotal;
+
+    /**
+     * Numarul de scoruri din afara intervalului [0, DIRECT_LIMIT), dupa valoare.
+     */
+    private final TreeMap<Integer, Integer> outside = new TreeMap<>();
+
+    /**
+     * Adauga un scor in index.
+     *
+     * @param scor Scorul adaugat.
+     */
+    synchronized void add(int scor) {
+        change(scor, 1);
+    }
+
+    /**
+     * Scoate un scor din index.
+     *
+     * @param scor Scorul scos; trebuie sa fi fost adaugat inainte.
+     */
+    synchronized void remove(int scor) {
+        change(scor, -1);
+    }
+
+    /**
+     * Muta un scor la o valoare noua, intr-o singura operatie atomica.
+     *
+     * @param vechi Scorul vechi.
+     * @param nou Scorul nou.
+     */
+    synchronized void move(int vechi, int nou) {
+        change(vechi, -1);
+        change(nou, 1);
+    }
+
+    /**
+     * Numara scorurile strict mai mari decat valoarea data.
+     *
+     * @param scor Valoarea de comparat.
+     * @return Numarul de scoruri mai mari.
+     */
+    synchronized long countAbove(int scor) {
+        long peste = 0;
+        for (int numar : outside.tailMap(scor, false).values()) {
+            peste += numar;
+        }
+        if (scor < 0) {
+            return peste + directTotal;
+        }
+        if (scor < counts.length) {
+            peste += directTotal - prefix(scor + 1);
+        }
+        return peste;
+    }
+
+    private void change(int scor, int delta) {
+        if (scor < 0 || scor >= DIRECT_LIMIT) {
+            outside.merge(scor, delta, (a, b) -> a + b == 0 ? null : a + b);
+            return;
+        }
+        if (scor >= counts.length) {
+            grow(scor);
+        }
+        counts[scor] += delta;
+        directTotal += delta;
+        for (int i = scor + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Suma contoarelor pentru scorurile 0..pozitie-1.
+     */
+    private long prefix(int pozitie) {
+        long suma = 0;
+        for (int i = pozitie; i > 0; i -= i & -i) {
+            suma += tree[i];
+        }
+        return suma;
+    }
+
+    /**
+     * Mareste capacitatea la urmatoarea putere a lui 2 care cuprinde scorul si reconstruieste arborele in O(S).
+     */
+    private void grow(int scor) {
+        counts = Arrays.copyOf(counts, Math.min(DIRECT_LIMIT, Integer.highestOneBit(scor) << 1));
+        tree = new long[counts.length + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += counts[i - 1];
+            int parinte = i + (i & -i);
+            if (parinte < tree.length) {
+                tree[parinte] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Clasa ScoreWriteBehind colecteaza actualizarile de scor in memorie si le scrie in stocare in loturi
+ * (un singur apel bulkWrite pentru MongoDB) in locul unei scrieri pentru fiecare joc terminat.
+ * Actualizarile pentru acelasi utilizator sunt comasate, pastrandu-se scorul maxim.
+ */
+public class ScoreWriteBehind implements AutoCloseable {
+
+    /**
+     * Jurnalul scrierilor in stocare (subsistemul "ruleta.store").
+     */
+    private static final Logger LOG = LoggerFactory.getLogger("ruleta.store");
+
+    /**
+     * Dimensiunea implicita a unui lot trimis catre baza de date.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Numarul implicit maxim de utilizatori cu scor neinscris inainte de a aplica backpressure.
+     */
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    /**
+     * Intervalul implicit, in milisecunde, dintre doua scrieri periodice.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+
+    /**
+     * Stocarea in care se scriu scorurile.
+     */
+    private final UserStore userStore;
+
+    /**
+     * Numarul maxim de scoruri scrise printr-un singur apel al stocarii.
+     */
+    private final int batchSize;
+
+    /**
+     * Numarul de utilizatori in asteptare peste care apelantul scrie el insusi lotul.
+     */
+    private final int maxPending;
+
+    /**
+     * Scorurile in asteptare, cate unul (maximul) pentru fiecare utilizator.
+     */
+    private final ConcurrentHashMap<String, Integer> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Firul care declanseaza scrierile periodice si cele declansate de dimensiunea lotului.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Serializeaza scrierile, astfel incat un singur lot sa fie in curs la un moment dat.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Indica daca o scriere declansata de dimensiune este deja programata.
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    /**
+     * Indica daca instanta a fost inchisa.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Impiedica inchiderea in timpul unui submit: submit tine blocarea de citire, iar close o ia pe cea de scriere
+     * cand marcheaza instanta ca inchisa, deci niciun scor nu poate ajunge in asteptare dupa scrierea finala.
+     */
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    /**
+     * Numarul total de scoruri primite.
+     */
+    private final LongAdder submittedUpdates = new LongAdder();
+
+    /**
+     * Numarul de scoruri comasate cu un scor deja in asteptare.
+     */
+    private final LongAdder coalescedUpdates = new LongAdder();
+
+    /**
+     * Numarul de scrieri sincrone fortate de coada plina (backpressure).
+     */
+    private final LongAdder backpressureEvents = new LongAdder();
+
+    /**
+     * Numarul de scrieri de lot reusite.
+     */
+    private final AtomicLong flushCount = new AtomicLong();
+
+    /**
+     * Numarul de operatii scrise cu succes.
+     */
+    private final AtomicLong flushedUpdates = new AtomicLong();
+
+    /**
+     * Numarul de scrieri de lot esuate.
+     */
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    /**
+     * Durata ultimei scrieri de lot, in nanosecunde.
+     */
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+
+    /**
+     * Durata maxima a unei scrieri de lot, in nanosecunde.
+     */
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    /**
+     * Durata cumulata a scrierilor de lot, in nanosecunde.
+     */
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+
+    /**
+     * Constructor cu pragurile implicite.
+     *
+     * @param userStore Stocarea utilizatorilor.
+     */
+    public ScoreWriteBehind(UserStore userStore) {
+        this(userStore, DEFAULT_BATCH_SIZE, DEFAULT_MAX_PENDING, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor pentru clasa ScoreWriteBehind.
+     *
+     * @param userStore Stocarea utilizatorilor.
+     * @param batchSize Numarul de utilizatori in asteptare care declanseaza o scriere.
+     * @param maxPending Numarul de utilizatori in asteptare peste care apelantul scrie sincron.
+     * @param flushIntervalMillis Intervalul dintre doua scrieri periodice, in milisecunde.
+     * @throws IllegalArgumentException daca userStore este null sau pragurile nu sunt pozitive.
+     */
+    public ScoreWriteBehind(UserStore userStore, int batchSize, int maxPending, long flushIntervalMillis) {
+        if (userStore == null) {
+            throw new IllegalArgumentException("UserStore cannot be null");
+        }
+        if (batchSize <= 0 || maxPending < batchSize || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid write-behind thresholds");
+        }
+        this.userStore = userStore;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "score-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Inregistreaza un scor pentru scriere ulterioara. Daca exista deja un scor in asteptare pentru
+     * acelasi utilizator, se pastreaza maximul dintre cele doua. Cand coada este plina, apelantul scrie el insusi
+     * lotul; o eroare a stocarii este doar jurnalizata, iar scorurile raman in asteptare pentru scrierea urmatoare.
+     *
+     * @param username Numele utilizatorului.
+     * @param scor Scorul obtinut.
+     * @throws IllegalStateException daca instanta a fost inchisa.
+     */
+    public void submit(String username, int scor) {
+        stateLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("ScoreWriteBehind is closed");
+            }
+            submittedUpdates.increment();
+            Integer previous = pending.putIfAbsent(username, scor);
+            if (previous != null) {
+                coalescedUpdates.increment();
+                pending.merge(username, scor, Math::max);
+            }
+
+            int size = pending.size();
+            if (size >= maxPending) {
+                // Backpressure: apelantul plateste costul scrierii in loc sa creasca coada la nesfarsit, dar o eroare
+                // a stocarii nu trebuie sa opreasca runda jucatorului
+                backpressureEvents.increment();
+                flushQuietly();
+            } else if (size >= batchSize && flushScheduled.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returneaza scorul aflat inca in asteptare pentru un utilizator.
+     *
+     * @param username Numele utilizatorului.
+     * @return Scorul in asteptare sau null daca nu exista.
+     */
+    public Integer pendingScore(String username) {
+        return pending.get(username);
+    }
+
+    /**
+     * Scrie sincron toate scorurile aflate in asteptare, in loturi de cel mult batchSize operatii.
+     * Daca scrierea esueaza, scorurile nescrise sunt puse inapoi in asteptare si exceptia este propagata.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                Map<String, Integer> batch = new LinkedHashMap<>();
+                Iterator<String> keys = pending.keySet().iterator();
+                while (keys.hasNext() && batch.size() < batchSize) {
+                    String username = keys.next();
+                    Integer scor = pending.remove(username);
+                    if (scor != null) {
+                        batch.put(username, scor);
+                    }
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    userStore.maxScores(batch);
+                } catch (RuntimeException e) {
+                    failedFlushes.incrementAndGet();
+                    batch.forEach((username, scor) -> pending.merge(username, scor, Math::max));
+                    throw e;
+                }
+                recordFlush(System.nanoTime() - start, batch.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Scrie scorurile in asteptare, raportand eventualele erori fara a opri firul de fundal.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.error("❌ Scrierea lotului de scoruri a esuat: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Actualizeaza metricile de latenta dupa o scriere reusita.
+     *
+     * @param nanos Durata scrierii lotului.
+     * @param operations Numarul de operatii din lot.
+     */
+    private void recordFlush(long nanos, int operations) {
+        flushCount.incrementAndGet();
+        flushedUpdates.addAndGet(operations);
+        lastFlushNanos.set(nanos);
+        totalFlushNanos.addAndGet(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Opreste scrierile periodice si scrie sincron tot ce a ramas in asteptare. Asteapta terminarea apelurilor
+     * submit in curs, iar cele care incep dupa inchidere primesc IllegalStateException.
+     * Exceptiile de scriere sunt propagate, pentru ca apelantul sa stie ca unele scoruri nu au ajuns in baza de date.
+     */
+    @Override
+    public void close() {
+        stateLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Returneaza numarul de utilizatori cu scor inca nescris.
+     *
+     * @return Numarul de utilizatori cu scor inca nescris.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returneaza numarul total de scoruri primite prin submit.
+     *
+     * @return Numarul total de scoruri primite prin submit.
+     */
+    public long getSubmittedUpdates() {
+        return submittedUpdates.sum();
+    }
+
+    /**
+     * Returneaza numarul de scoruri comasate cu un scor deja in asteptare.
+     *
+     * @return Numarul de scoruri comasate cu un scor deja in asteptare.
+     */
+    public long getCoalescedUpdates() {
+        return coalescedUpdates.sum();
+    }
+
+    /**
+     * Returneaza de cate ori apelantul a fost fortat sa scrie sincron din cauza cozii pline.
+     *
+     * @return De cate ori apelantul a fost fortat sa scrie sincron din cauza cozii pline.
+     */
+    public long getBackpressureEvents() {
+        return backpressureEvents.sum();
+    }
+
+    /**
+     * Returneaza numarul de scrieri de lot reusite.
+     *
+     * @return Numarul de scrieri de lot reusite.
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Returneaza numarul de operatii scrise cu succes.
+     *
+     * @return Numarul de operatii scrise cu succes.
+     */
+    public long getFlushedUpdates() {
+        return flushedUpdates.get();
+    }
+
+    /**
+     * Returneaza numarul de scrieri de lot esuate.
+     *
+     * @return Numarul de scrieri de lot esuate.
+     */
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    /**
+     * Returneaza durata ultimei scrieri de lot, in nanosecunde.
+     *
+     * @return Durata ultimei scrieri de lot, in nanosecunde.
+     */
+    public long getLastFlushLatencyNanos() {
+        return lastFlushNanos.get();
+    }
+
+    /**
+     * Returneaza durata maxima a unei scrieri de lot, in nanosecunde.
+     *
+     * @return Durata maxima a unei scrieri de lot, in nanosecunde.
+     */
+    public long getMaxFlushLatencyNanos() {
+        return maxFlushNanos.get();
+    }
+
+    /**
+     * Returneaza durata medie a unei scrieri de lot, in nanosecunde.
+     *
+     * @return Durata medie a unei scrieri de lot, in nanosecunde.
+     */
+    public long getAverageFlushLatencyNanos() {
+        long count = flushCount.get();
+        return count == 0 ? 0 : totalFlushNanos.get() / count;
+    }
+}
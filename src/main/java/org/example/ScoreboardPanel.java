@@ -0,0 +1,165 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Clasa ScoreboardPanel reprezinta ecranul cu clasamentul utilizatorilor.
+ * Ecranul este construit o singura data de AppWindow. Clasamentul este un JTable peste un ScoreboardTableModel
+ * care citeste in fundal doar paginile vizibile, deci ecranul se deschide imediat indiferent de numarul de utilizatori.
+ * Cat timp ecranul este afisat, schimbarile de scor primite pe ScoreEventBus reincarca randurile vizibile;
+ * abonamentul se anuleaza cand ecranul este ascuns, ca firul de livrare sa se poata opri.
+ */
+public class ScoreboardPanel extends JPanel {
+
+    /**
+     * Instanta AsyncUserManager utilizata pentru citirea clasamentului in fundal.
+     */
+    private final AsyncUserManager asyncUserManager;
+
+    /**
+     * Modelul lenes al tabelului.
+     */
+    private final ScoreboardTableModel model;
+
+    /**
+     * Tabelul clasamentului.
+     */
+    private final JTable table;
+
+    /**
+     * Eticheta de stare (incarcare, erori, clasament gol).
+     */
+    private final JLabel statusLabel = new JLabel(" ", SwingConstants.CENTER);
+
+    /**
+     * Butonul care deruleaza tabelul la pozitia utilizatorului autentificat.
+     */
+    private final JButton findMeButton = new JButton("Jump to my rank");
+
+    /**
+     * Numele utilizatorului autentificat, pastrat pentru revenirea la meniul principal.
+     */
+    private String username;
+
+    /**
+     * Actiunea care anuleaza abonamentul la schimbarile de scor, cat timp ecranul este afisat.
+     */
+    private Runnable unsubscribe;
+
+    /**
+     * Constructor pentru clasa ScoreboardPanel.
+     *
+     * @param userManager Instanta UserManager utilizata pentru citirea clasamentului.
+     */
+    public ScoreboardPanel(UserManager userManager) {
+        this.asyncUserManager = new AsyncUserManager(userManager);
+        this.model = new ScoreboardTableModel(asyncUserManager);
+
+        setLayout(new BorderLayout());
+        JLabel titleLabel = new JLabel("🏆 Scoreboard", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
+        add(titleLabel, BorderLayout.NORTH);
+
+        table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.getColumnModel().getColumn(0).setMaxWidth(80);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new GridLayout(2, 1));
+        bottomPanel.add(statusLabel);
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 2));
+        buttonPanel.add(findMeButton);
+        JButton backButton = new JButton("Back to Main Menu");
+        buttonPanel.add(backButton);
+        bottomPanel.add(buttonPanel);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        findMeButton.addActionListener(e -> jumpToMyRank());
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) {
+                return;
+            }
+            if (isShowing() && unsubscribe == null) {
+                unsubscribe = userManager.getScoreEvents().subscribe(changes -> SwingUtilities.invokeLater(() -> onScoreChanges(changes)));
+            } else if (!isShowing() && unsubscribe != null) {
+                unsubscribe.run();
+                unsubscribe = null;
+            }
+        });
+        backButton.addActionListener(e -> AppWindow.navigate(this, window -> window.showMainMenu(username)));
+    }
+
+    /**
+     * Reincarca clasamentul in fundal; ecranul se afiseaza imediat, iar randurile apar pe masura ce sosesc paginile.
+     *
+     * @param username Numele utilizatorului autentificat (poate fi null).
+     */
+    void refresh(String username) {
+        this.username = username;
+        findMeButton.setEnabled(username != null);
+        statusLabel.setText("Loading...");
+
+        model.refresh().whenCompleteAsync((ignored, error) -> {
+            if (error != null) {
+                statusLabel.setText("❌ Could not load the scoreboard: " + AsyncUserManager.cauza(error).getMessage());
+            } else if (model.getRowCount() == 0) {
+                statusLabel.setText("⚠️ No players registered yet.");
+            } else {
+                statusLabel.setText(model.getRowCount() + " players");
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Aplica un lot de schimbari de scor, daca ecranul este afisat: paginile sunt recitite si
+     * ultima schimbare este anuntata in bara de stare.
+     *
+     * @param changes Schimbarile comasate primite de la magistrala.
+     */
+    private void onScoreChanges(List<ScoreEventBus.ScoreChange> changes) {
+        if (!isShowing()) {
+            return;
+        }
+        int selected = table.getSelectedRow();
+        model.refresh().thenRun(() -> {
+            if (selected >= 0 && selected < model.getRowCount()) {
+                table.setRowSelectionInterval(selected, selected);
+            }
+        });
+        ScoreEventBus.ScoreChange last = changes.get(changes.size() - 1);
+        String more = changes.size() > 1 ? " (+" + (changes.size() - 1) + " more)" : "";
+        statusLabel.setText("🔥 " + last.getUsername() + " scored " + last.getScore() + " → #" + last.getRank() + more);
+    }
+
+    /**
+     * Deruleaza tabelul la randul utilizatorului autentificat si il selecteaza.
+     */
+    private void jumpToMyRank() {
+        String me = username;
+        findMeButton.setEnabled(false);
+        asyncUserManager.getRank(me)
+                .thenComposeAsync(rank -> {
+                    if (rank <= 0 || model.getRowCount() == 0) {
+                        return CompletableFuture.completedFuture(-1);
+                    }
+                    return model.findRow(me, Math.min(rank, model.getRowCount()) - 1);
+                }, SwingUtilities::invokeLater)
+                .whenCompleteAsync((row, error) -> {
+                    findMeButton.setEnabled(username != null);
+                    if (error != null) {
+                        statusLabel.setText("❌ Could not find your rank: " + AsyncUserManager.cauza(error).getMessage());
+                    } else if (row < 0) {
+                        statusLabel.setText("⚠️ You are not on the scoreboard yet.");
+                    } else {
+                        table.setRowSelectionInterval(row, row);
+                        table.scrollRectToVisible(table.getCellRect(row, 0, true));
+                    }
+                }, SwingUtilities::invokeLater);
+    }
+}
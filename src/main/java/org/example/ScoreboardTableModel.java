@@ -0,0 +1,226 @@
+package org.example;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.bson.Document;
+
+/**
+ * Clasa ScoreboardTableModel este modelul lenes al tabelului de clasament.
+ * Modelul cunoaste doar numarul de utilizatori si paginile deja citite; cand tabelul cere un rand dintr-o pagina
+ * necitita, pagina este ceruta in fundal, randul este afisat temporar ca "..." si este redesenat cand pagina soseste.
+ * Se pastreaza in memorie doar ultimele MAX_CACHED_PAGES pagini, deci tabelul se deschide imediat si foloseste
+ * aceeasi memorie indiferent de numarul de utilizatori.
+ * Metodele se apeleaza pe EDT, ca pentru orice model Swing.
+ */
+public class ScoreboardTableModel extends AbstractTableModel {
+
+    /**
+     * Numarul implicit de utilizatori dintr-o pagina.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Numarul maxim de pagini pastrate in memorie.
+     */
+    private static final int MAX_CACHED_PAGES = 20;
+
+    /**
+     * Valoarea afisata pentru randurile a caror pagina nu a sosit inca.
+     */
+    static final String LOADING = "...";
+
+    /**
+     * Numele coloanelor.
+     */
+    private static final String[] COLUMNS = {"Rank", "Player", "Score"};
+
+    /**
+     * Sursa asincrona a paginilor.
+     */
+    private final AsyncUserManager asyncUserManager;
+
+    /**
+     * Executorul pe care se aplica rezultatele (EDT in aplicatie).
+     */
+    private final Executor uiExecutor;
+
+    /**
+     * Numarul de utilizatori dintr-o pagina.
+     */
+    private final int pageSize;
+
+    /**
+     * Paginile citite, dupa index, in ordinea ultimei folosiri.
+     */
+    private final Map<Integer, List<Document>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Document>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    /**
+     * Paginile cerute si inca nesosite.
+     */
+    private final Set<Integer> loading = new HashSet<>();
+
+    /**
+     * Numarul de randuri ale tabelului.
+     */
+    private int rowCount;
+
+    /**
+     * Generatia datelor; rezultatele cerute inainte de ultima reincarcare sunt ignorate.
+     */
+    private int generation;
+
+    /**
+     * Constructor pentru clasa ScoreboardTableModel, care aplica rezultatele pe EDT.
+     *
+     * @param asyncUserManager Sursa asincrona a paginilor de clasament.
+     */
+    public ScoreboardTableModel(AsyncUserManager asyncUserManager) {
+        this(asyncUserManager, DEFAULT_PAGE_SIZE, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Constructor care permite alegerea dimensiunii paginii si a executorului de interfata (folosit in teste).
+     *
+     * @param asyncUserManager Sursa asincrona a paginilor de clasament.
+     * @param pageSize Numarul de utilizatori dintr-o pagina.
+     * @param uiExecutor Executorul pe care se aplica rezultatele.
+     * @throws IllegalArgumentException daca pageSize nu este pozitiv.
+     */
+    ScoreboardTableModel(AsyncUserManager asyncUserManager, int pageSize, Executor uiExecutor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.asyncUserManager = asyncUserManager;
+        this.pageSize = pageSize;
+        this.uiExecutor = uiExecutor;
+    }
+
+    /**
+     * Uita paginile citite si reciteste numarul de utilizatori; paginile vizibile se cer din nou la desenare.
+     *
+     * @return Future completat (pe executorul de interfata) dupa actualizarea numarului de randuri.
+     */
+    public CompletableFuture<Void> refresh() {
+        int current = ++generation;
+        pages.clear();
+        loading.clear();
+        return asyncUserManager.getScoreboardSize().thenAcceptAsync(count -> {
+            if (current == generation) {
+                rowCount = (int) Math.min(Integer.MAX_VALUE, count);
+                fireTableDataChanged();
+            }
+        }, uiExecutor);
+    }
+
+    /**
+     * Asigura ca pagina care contine randul dat este citita.
+     *
+     * @param row Indexul randului.
+     * @return Future completat (pe executorul de interfata) cand pagina este disponibila.
+     */
+    public CompletableFuture<List<Document>> loadPageFor(int row) {
+        int page = row / pageSize;
+        List<Document> cached = pages.get(page);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        int current = generation;
+        loading.add(page);
+        return asyncUserManager.getScoreboardPage(page * pageSize, pageSize).handleAsync((documente, error) -> {
+            if (current == generation) {
+                // La eroare pagina nu ramane blocata in "loading"; este ceruta din nou la urmatoarea desenare
+                loading.remove(page);
+            }
+            if (error != null) {
+                throw new CompletionException(error);
+            }
+            if (current == generation) {
+                pages.put(page, documente);
+                int first = page * pageSize;
+                int last = Math.min(rowCount, first + pageSize) - 1;
+                if (last >= first) {
+                    fireTableRowsUpdated(first, last);
+                }
+            }
+            return documente;
+        }, uiExecutor);
+    }
+
+    /**
+     * Cauta randul unui utilizator in pagina care contine randul estimat (de exemplu pozitia sa in clasament).
+     *
+     * @param username Numele utilizatorului.
+     * @param estimatedRow Randul estimat.
+     * @return Future cu randul utilizatorului sau cu randul estimat daca utilizatorul nu este in acea pagina.
+     */
+    public CompletableFuture<Integer> findRow(String username, int estimatedRow) {
+        int first = (estimatedRow / pageSize) * pageSize;
+        return loadPageFor(estimatedRow).thenApply(documente -> {
+            for (int i = 0; i < documente.size(); i++) {
+                if (username.equals(documente.get(i).getString("username"))) {
+                    return first + i;
+                }
+            }
+            return estimatedRow;
+        });
+    }
+
+    /**
+     * Returneaza numarul de utilizatori dintr-o pagina.
+     *
+     * @return Dimensiunea paginii.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) {
+            return row + 1;
+        }
+        int page = row / pageSize;
+        List<Document> documente = pages.get(page);
+        if (documente == null && !loading.contains(page)) {
+            loadPageFor(row);
+            documente = pages.get(page); // Pagina poate sosi imediat, de exemplu dintr-o stocare in memorie
+        }
+        if (documente == null) {
+            return LOADING;
+        }
+        int index = row - page * pageSize;
+        if (index >= documente.size()) {
+            return ""; // Clasamentul s-a micsorat intre timp
+        }
+        Document user = documente.get(index);
+        return column == 1 ? user.getString("username") : user.getInteger("scor", 0);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Clasa SeatStatusPanel afiseaza vietile fiecarui jucator de la masa multiplayer.
+ * Panoul pastreaza cate o componenta de dimensiune fixa pentru fiecare loc, creata o singura data;
+ * la o actualizare sunt redesenate doar locurile ale caror vieti s-au schimbat, fara removeAll/revalidate,
+ * deci costul unei runde nu depinde de numarul de locuri de la masa.
+ */
+public class SeatStatusPanel extends JPanel {
+
+    /**
+     * Numarul maxim de locuri afisate pe o coloana.
+     */
+    private static final int SEATS_PER_COLUMN = 8;
+
+    /**
+     * Culoarea numelui unui jucator eliminat.
+     */
+    private static final Color ELIMINATED = Color.GRAY;
+
+    /**
+     * Componentele locurilor, in ordinea jucatorilor.
+     */
+    private final SeatCell[] seats;
+
+    /**
+     * Constructor pentru clasa SeatStatusPanel.
+     *
+     * @param players Numele jucatorilor, in ordinea locurilor.
+     * @param initialLives Numarul initial de vieti al fiecarui jucator.
+     */
+    public SeatStatusPanel(List<String> players, int initialLives) {
+        int columns = (players.size() + SEATS_PER_COLUMN - 1) / SEATS_PER_COLUMN;
+        setLayout(new GridLayout(0, Math.max(1, columns)));
+        seats = new SeatCell[players.size()];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = new SeatCell(players.get(i), initialLives);
+            add(seats[i]);
+        }
+    }
+
+    /**
+     * Actualizeaza vietile afisate; se apeleaza pe EDT.
+     *
+     * @param lives Vietile fiecarui jucator, in ordinea locurilor.
+     * @return Numarul de locuri redesenate.
+     * @throws IllegalArgumentException daca numarul de valori difera de numarul de locuri.
+     */
+    public int setLives(int[] lives) {
+        if (lives.length != seats.length) {
+            throw new IllegalArgumentException("Expected " + seats.length + " seats, got " + lives.length);
+        }
+        int changed = 0;
+        for (int i = 0; i < seats.length; i++) {
+            if (seats[i].setLives(lives[i])) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returneaza numarul de vieti afisat pentru un loc.
+     *
+     * @param seat Indexul locului.
+     * @return Numarul de vieti afisat.
+     */
+    public int getLives(int seat) {
+        return seats[seat].lives;
+    }
+
+    /**
+     * Componenta unui loc: numele jucatorului si vietile lui, desenate direct, intr-o dimensiune fixa.
+     */
+    private static final class SeatCell extends JComponent {
+
+        /**
+         * Numele jucatorului.
+         */
+        private final String name;
+
+        /**
+         * Numarul de vieti afisat.
+         */
+        private int lives;
+
+        private SeatCell(String name, int lives) {
+            this.name = name;
+            this.lives = lives;
+            setOpaque(false);
+            setFont(UIManager.getFont("Label.font"));
+            Dimension size = new Dimension(160, getFontMetrics(getFont()).getHeight() + 6);
+            setPreferredSize(size);
+            setMinimumSize(size);
+        }
+
+        /**
+         * Schimba vietile afisate si cere redesenarea doar daca valoarea s-a modificat.
+         *
+         * @param lives Numarul nou de vieti.
+         * @return True daca locul va fi redesenat.
+         */
+        private boolean setLives(int lives) {
+            if (this.lives == lives) {
+                return false;
+            }
+            this.lives = lives;
+            repaint();
+            return true;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g2.setColor(lives > 0 ? UIManager.getColor("Label.foreground") : ELIMINATED);
+                String text = lives > 0 ? name + ": " + lives + " ❤️" : name + ": 💀";
+                FontMetrics metrics = g2.getFontMetrics();
+                int x = Math.max(0, (getWidth() - metrics.stringWidth(text)) / 2);
+                int y = (getHeight() - metrics.getHeight()) / 2 + metrics.getAscent();
+                g2.drawString(text, x, y);
+            } finally {
+                g2.dispose();
+            }
+        }
+    }
+}
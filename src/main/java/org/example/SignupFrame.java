@@ -7,7 +7,7 @@ import java.awt.*;
  * Clasa SignupFrame reprezinta interfata grafica pentru inregistrarea utilizatorilor.
  * Permite utilizatorilor sa creeze un cont nou prin furnizarea unui nume de utilizator si a unei parole.
  */
-public class SignupFrame extends JFrame {
+public class SignupFrame extends JPanel {
 
     /**
      * Constructor pentru clasa SignupFrame.
@@ -15,10 +15,7 @@ public class SignupFrame extends JFrame {
      * @param userManager Instanta UserManager utilizata pentru gestionarea utilizatorilor.
      */
     public SignupFrame(UserManager userManager) {
-        setTitle("Sign Up");
-        setSize(300, 200);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        setLocationRelativeTo(null);
+        setLayout(new BorderLayout());
 
         JPanel panel = new JPanel(new GridLayout(3, 2));
         JLabel userLabel = new JLabel("New Username:");
@@ -37,7 +34,8 @@ public class SignupFrame extends JFrame {
 
         add(panel);
 
-        // Actionare buton "Sign Up"
+        // Actionare buton "Sign Up": inregistrarea ruleaza in fundal, nu pe EDT
+        AsyncUserManager asyncUserManager = new AsyncUserManager(userManager);
         signupButton.addActionListener(e -> {
             String username = userField.getText();
             String password = new String(passField.getPassword());
@@ -46,16 +44,24 @@ public class SignupFrame extends JFrame {
                 return;
             }
 
-            userManager.inregistrareUtilizator(username, password);
-            JOptionPane.showMessageDialog(this, "Account created successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            new MainMenuFrame(userManager).setVisible(true);
-            dispose();
+            signupButton.setEnabled(false);
+            asyncUserManager.inregistrareUtilizator(username, password)
+                    .whenCompleteAsync((result, error) -> {
+                        signupButton.setEnabled(true);
+                        if (error != null) {
+                            JOptionPane.showMessageDialog(this, "Sign up failed: " + AsyncUserManager.cauza(error).getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                        } else if (result == SignupResult.USER_EXISTS) {
+                            JOptionPane.showMessageDialog(this, "Username \"" + username + "\" is already taken.", "Error", JOptionPane.ERROR_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Account created successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                            userField.setText("");
+                            passField.setText(""); // Ecranul este refolosit, deci nu pastram parola
+                            AppWindow.navigate(this, window -> window.showMainMenu(null));
+                        }
+                    }, SwingUtilities::invokeLater);
         });
 
         // Actionare buton "Back"
-        backButton.addActionListener(e -> {
-            new MainMenuFrame(userManager).setVisible(true);
-            dispose();
-        });
+        backButton.addActionListener(e -> AppWindow.navigate(this, window -> window.showMainMenu(null)));
     }
 }
@@ -0,0 +1,17 @@
+package org.example;
+
+/**
+ * Rezultatul unei inregistrari de utilizator.
+ */
+public enum SignupResult {
+
+    /**
+     * Contul a fost creat.
+     */
+    CREATED,
+
+    /**
+     * Exista deja un utilizator cu acelasi nume.
+     */
+    USER_EXISTS
+}
@@ -2,12 +2,15 @@ package org.example;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Clasa SingleplayerFrame reprezinta interfata grafica pentru modul singleplayer al aplicatiei Russian Roulette.
  * Permite utilizatorilor sa joace impotriva dealerului, gestionand tururile, afisarea vietilor si interactiunile din joc.
+ * Este un ecran (panou) afisat in fereastra unica AppWindow.
  */
-public class SingleplayerFrame extends JFrame {
+public class SingleplayerFrame extends JPanel {
 
     /**
      * Numele utilizatorului autentificat.
@@ -25,9 +28,9 @@ public class SingleplayerFrame extends JFrame {
     private final Game game;
 
     /**
-     * Zona de text pentru afisarea jurnalului de joc.
+     * Jurnalul de joc, limitat la ultimele GameLogModel.DEFAULT_RETENTION linii.
      */
-    private JTextArea gameLog;
+    private GameLogPanel gameLog;
 
     /**
      * Buton pentru actiunea "Shoot Yourself".
@@ -59,6 +62,16 @@ public class SingleplayerFrame extends JFrame {
      */
     private JLabel blankShellsLabel;
 
+    /**
+     * Eticheta pentru afisarea probabilitatilor (overlay optional).
+     */
+    private JLabel oddsLabel;
+
+    /**
+     * Indica daca probabilitatile sunt afisate; citit si de firul de lucru.
+     */
+    private volatile boolean showOdds = false;
+
     /**
      * Constructor pentru clasa SingleplayerFrame.
      *
@@ -73,11 +86,7 @@ public class SingleplayerFrame extends JFrame {
         this.game.setPlayerLife(lives);
         this.game.setDealerLife(lives);
 
-        setTitle("Singleplayer Mode");
-        setSize(600, 400);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        setLocationRelativeTo(null);
-
+        setLayout(new BorderLayout());
         initUI();
     }
 
@@ -88,12 +97,10 @@ public class SingleplayerFrame extends JFrame {
         JPanel mainPanel = new JPanel(new BorderLayout());
         add(mainPanel);
 
-        gameLog = new JTextArea();
-        gameLog.setEditable(false);
-        JScrollPane scrollPane = new JScrollPane(gameLog);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        gameLog = new GameLogPanel();
+        mainPanel.add(gameLog, BorderLayout.CENTER);
 
-        JPanel controlPanel = new JPanel(new GridLayout(4, 1));
+        JPanel controlPanel = new JPanel(new GridLayout(5, 1));
 
         JPanel lifePanel = new JPanel(new GridLayout(1, 2));
         playerLifeLabel = new JLabel("Player Lives: ❤️❤️❤️", SwingConstants.CENTER);
@@ -109,6 +116,21 @@ public class SingleplayerFrame extends JFrame {
         shellPanel.add(blankShellsLabel);
         controlPanel.add(shellPanel);
 
+        JPanel oddsPanel = new JPanel(new BorderLayout());
+        JCheckBox oddsToggle = new JCheckBox("Show odds");
+        oddsLabel = new JLabel(" ", SwingConstants.CENTER);
+        oddsLabel.setVisible(false);
+        oddsToggle.addActionListener(e -> {
+            showOdds = oddsToggle.isSelected();
+            oddsLabel.setVisible(showOdds);
+            if (shootSelfButton.isEnabled()) {
+                updateInterface(); // Altfel textul soseste cu urmatoarea actualizare a firului de lucru
+            }
+        });
+        oddsPanel.add(oddsToggle, BorderLayout.WEST);
+        oddsPanel.add(oddsLabel, BorderLayout.CENTER);
+        controlPanel.add(oddsPanel);
+
         JPanel buttonPanel = new JPanel(new FlowLayout());
         shootSelfButton = new JButton("Shoot Yourself");
         shootDealerButton = new JButton("Shoot Dealer");
@@ -117,10 +139,7 @@ public class SingleplayerFrame extends JFrame {
         controlPanel.add(buttonPanel);
 
         JButton backButton = new JButton("Back to Main Menu");
-        backButton.addActionListener(e -> {
-            new MainMenuFrame(userManager, this.username).setVisible(true);
-            dispose();
-        });
+        backButton.addActionListener(e -> backToMainMenu());
         controlPanel.add(backButton);
 
         mainPanel.add(controlPanel, BorderLayout.SOUTH);
@@ -133,63 +152,151 @@ public class SingleplayerFrame extends JFrame {
 
     /**
      * Gestioneaza o runda a jocului pe baza actiunii utilizatorului.
+     * Runda, tura dealerului si salvarea scorului se calculeaza in fundal (SwingWorker); pe EDT ajung
+     * doar actualizarile de afisare (RoundUpdate), deci fereastra nu se blocheaza cand baza de date este lenta.
      *
      * @param action Actiunea efectuata: "s" pentru a te impusca sau "d" pentru a trage in dealer.
      */
     void playRound(String action) {
         if (game.isGameOver()) {
-            askToContinueOrEnd();
+            askToContinueOrEnd(calculateScore());
             return;
         }
 
         shootSelfButton.setEnabled(false);
         shootDealerButton.setEnabled(false);
+        gameLog.beginRound(); // Rundele se disting prin culoare; liniile vechi ies din jurnal singure
+
+        new RoundWorker(action).execute();
+    }
+
+    /**
+     * Firul de lucru care desfasoara o runda (si tura dealerului) si salveaza scorul la finalul jocului.
+     * Rezultatul este scorul final sau null daca jocul continua.
+     */
+    private final class RoundWorker extends SwingWorker<Integer, RoundUpdate> {
+
+        /**
+         * Actiunea jucatorului.
+         */
+        private final String action;
+
+        private RoundWorker(String action) {
+            this.action = action;
+        }
 
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        protected Integer doInBackground() {
+            publish(snapshot(game.playRoundSwing(action)));
+
+            if (!game.isGameOver() && !game.isPlayerTurn()) {
+                // Automatizeaza tura dealerului
+                publish(snapshot(game.dealerTurn()));
+            }
+
+            if (game.isGameOver()) {
+                int finalScore = calculateScore();
+                int currentHighScore = userManager.getHighScore(username);
+                if (finalScore > currentHighScore) {
+                    userManager.actualizareScor(username, finalScore); // Actualizeaza doar daca scorul final este mai mare
+                }
+                return finalScore;
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<RoundUpdate> updates) {
+            for (RoundUpdate update : updates) {
+                render(update);
+            }
+        }
+
+        @Override
+        protected void done() {
             try {
-                gameLog.setText(""); // Curata jurnalul rundelor anterioare
-                String result = game.playRoundSwing(action);
-                gameLog.append(result + "\n");
-                updateInterface();
-
-                if (game.isGameOver()) {
-                    askToContinueOrEnd();
-                } else if (!game.isPlayerTurn()) {
-                    // Automatizeaza tura dealerului
-                    String dealerResult = game.dealerTurn();
-                    gameLog.append(dealerResult + "\n");
-                    updateInterface();
-
-                    if (game.isGameOver()) {
-                        askToContinueOrEnd();
-                    }
+                Integer finalScore = get();
+                if (finalScore != null) {
+                    askToContinueOrEnd(finalScore);
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(SingleplayerFrame.this, "Error: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             } finally {
-                // Reactiveaza butoanele doar daca jocul nu s-a terminat si este tura jucatorului
+                // Reactiveaza butoanele doar daca jocul nu s-a terminat
                 shootSelfButton.setEnabled(!game.isGameOver());
                 shootDealerButton.setEnabled(!game.isGameOver());
             }
-        });
+        }
     }
 
     /**
-     * Gestioneaza optiunile de continuare sau de terminare a jocului dupa finalizare.
+     * Captureaza starea afisata a jocului; se apeleaza pe firul de lucru.
+     *
+     * @param log Textul rundei.
+     * @return Actualizarea de afisare.
      */
-    private void askToContinueOrEnd() {
-        int finalScore = calculateScore();
+    private RoundUpdate snapshot(String log) {
+        return new RoundUpdate(log, new int[]{game.getPlayerLife(), game.getDealerLife()},
+                game.getNumLiveShells(), game.getNumBlankShells(), game.isGameOver(), showOdds ? describeOdds() : null);
+    }
 
-        int currentHighScore = userManager.getHighScore(username);
-        if (finalScore > currentHighScore) {
-            userManager.actualizareScor(username, finalScore); // Actualizeaza doar daca scorul final este mai mare
+    /**
+     * Descrie probabilitatile starii curente, citite din OddsTable (fara simulare).
+     *
+     * @return Textul afisat in overlay.
+     */
+    private String describeOdds() {
+        int p = game.getPlayerLife();
+        int d = game.getDealerLife();
+        int live = game.getRemainingLiveShells();
+        int blank = game.getRemainingBlankShells();
+        if (game.isGameOver() || !OddsTable.covers(p, d, live, blank)) {
+            return "🎯 Odds unavailable";
+        }
+        String next = "🎯 Next shell live: " + percent(OddsTable.nextShellLive(live, blank));
+        if (!game.isPlayerTurn()) {
+            return next + " · Win chance: " + percent(OddsTable.winProbability(p, d, live, blank, false));
         }
+        return next + " · Win if you shoot yourself: " + percent(OddsTable.winIfShootSelf(p, d, live, blank))
+                + " · Win if you shoot the dealer: " + percent(OddsTable.winIfShootDealer(p, d, live, blank));
+    }
 
+    /**
+     * Formateaza o probabilitate ca procent.
+     */
+    private static String percent(double probability) {
+        return Math.round(probability * 100) + "%";
+    }
+
+    /**
+     * Aplica o actualizare de afisare; se apeleaza pe EDT.
+     *
+     * @param update Actualizarea calculata in fundal.
+     */
+    private void render(RoundUpdate update) {
+        gameLog.append(update.log);
+        playerLifeLabel.setText("Player Lives: " + "❤️".repeat(update.lives[0]));
+        dealerLifeLabel.setText("Dealer Lives: " + "❤️".repeat(update.lives[1]));
+        liveShellsLabel.setText("Live Shells: " + update.liveShells);
+        blankShellsLabel.setText("Blank Shells: " + update.blankShells);
+        if (update.odds != null) {
+            oddsLabel.setText(update.odds);
+        }
+    }
+
+    /**
+     * Gestioneaza optiunile de continuare sau de terminare a jocului dupa finalizare.
+     * Scorul a fost deja salvat pe firul de lucru.
+     *
+     * @param finalScore Scorul final al jocului.
+     */
+    private void askToContinueOrEnd(int finalScore) {
         if (game.getPlayerLife() <= 0) {
             // Jucatorul a pierdut, fara optiune de continuare
             JOptionPane.showMessageDialog(this, "You Lost! Your final score is " + finalScore + ".", "Game Over", JOptionPane.INFORMATION_MESSAGE);
-            new MainMenuFrame(userManager, this.username).setVisible(true);
-            dispose();
+            backToMainMenu();
             return;
         }
 
@@ -206,27 +313,24 @@ public class SingleplayerFrame extends JFrame {
             updateInterface();
         } else {
             JOptionPane.showMessageDialog(this, "Your final score is " + finalScore + ".", "Game Over", JOptionPane.INFORMATION_MESSAGE);
-            new MainMenuFrame(userManager, this.username).setVisible(true);
-            dispose();
+            backToMainMenu();
         }
     }
 
+    /**
+     * Revine la meniul principal al ferestrei aplicatiei.
+     */
+    private void backToMainMenu() {
+        AppWindow.navigate(this, window -> window.showMainMenu(username));
+    }
+
     /**
      * Calculeaza scorul final al jucatorului.
      *
      * @return Scorul final calculat pe baza numarului de vieti si runde.
      */
     private int calculateScore() {
-        int multiplier;
-        switch (game.getPlayerLife()) {
-            case 5 -> multiplier = 50;
-            case 4 -> multiplier = 100;
-            case 3 -> multiplier = 150;
-            case 2 -> multiplier = 200;
-            case 1 -> multiplier = 300;
-            default -> multiplier = 0;
-        }
-        return game.getRoundNumber() * multiplier;
+        return game.calculateScore();
     }
 
     private void updateInterface() {
@@ -234,5 +338,8 @@ public class SingleplayerFrame extends JFrame {
         dealerLifeLabel.setText("Dealer Lives: " + "❤️".repeat(game.getDealerLife()));
         liveShellsLabel.setText("Live Shells: " + game.getNumLiveShells());
         blankShellsLabel.setText("Blank Shells: " + game.getNumBlankShells());
+        if (showOdds) {
+            oddsLabel.setText(describeOdds());
+        }
     }
 }
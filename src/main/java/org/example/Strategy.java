@@ -0,0 +1,78 @@
+package org.example;
+
+import java.util.Random;
+
+/**
+ * Interfata Strategy alege actiunea unui loc de la masa: tinta tragerii, care poate fi chiar locul sau
+ * (se impusca) sau locul unui adversar activ. Strategia este apelata cu camera deja incarcata, deci vede
+ * gloantele ramase inainte de tragere. Toate alegerile aleatoare folosesc generatorul primit, pentru ca
+ * simularile cu o samanta fixa sa fie reproductibile.
+ */
+@FunctionalInterface
+public interface Strategy {
+
+    /**
+     * Se impusca mereu (alegerea implicita a jucatorilor din MultiplayerGame.playRound).
+     */
+    Strategy SHOOT_SELF = (table, seat, random) -> seat;
+
+    /**
+     * Trage mereu intr-un adversar activ ales aleator.
+     */
+    Strategy SHOOT_OPPONENT = (table, seat, random) -> randomOpponent(table, seat, random);
+
+    /**
+     * Se impusca sau trage intr-un adversar aleator, cu probabilitati egale (strategia implicita a dealerului).
+     */
+    Strategy RANDOM = (table, seat, random) -> random.nextBoolean() ? seat : randomOpponent(table, seat, random);
+
+    /**
+     * Se impusca doar cand in camera raman mai multe gloante blank decat live (si isi pastreaza tura,
+     * in singleplayer); altfel trage intr-un adversar aleator.
+     */
+    Strategy ODDS = (table, seat, random) -> table.getRemainingBlankShells() > table.getRemainingLiveShells()
+            ? seat : randomOpponent(table, seat, random);
+
+    /**
+     * Alege tinta tragerii.
+     *
+     * @param table Starea mesei.
+     * @param seat Locul care trage.
+     * @param random Generatorul de numere aleatoare al mesei.
+     * @return Locul tintei: seat pentru a se impusca sau locul unui adversar activ.
+     */
+    int chooseTarget(TableState table, int seat, Random random);
+
+    /**
+     * Alege un adversar activ, uniform; cu un singur adversar nu consuma generatorul.
+     *
+     * @param table Starea mesei.
+     * @param seat Locul care trage.
+     * @param random Generatorul de numere aleatoare.
+     * @return Locul adversarului.
+     * @throws IllegalStateException daca nu exista niciun adversar activ.
+     */
+    static int randomOpponent(TableState table, int seat, Random random) {
+        int active = 0;
+        int last = -1;
+        for (int i = 0; i < table.getPlayerCount(); i++) {
+            if (i != seat && table.getLives(i) > 0) {
+                active++;
+                last = i;
+            }
+        }
+        if (active <= 1) {
+            if (last < 0) {
+                throw new IllegalStateException("No active opponent");
+            }
+            return last;
+        }
+        int k = random.nextInt(active);
+        for (int i = 0; i < table.getPlayerCount(); i++) {
+            if (i != seat && table.getLives(i) > 0 && k-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No active opponent");
+    }
+}
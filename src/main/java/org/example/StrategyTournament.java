@@ -0,0 +1,512 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clasa StrategyTournament joaca strategiile intre ele, in paralel, si intoarce un clasament cu intervale de
+ * incredere, pentru reglarea strategiilor automate.
+ *
+ * headToHead joaca fiecare pereche de strategii pe motorul singleplayer (Game), alternand locul jucatorului si
+ * al dealerului, pentru ca avantajul primei mutari sa se anuleze. mixes joaca fiecare combinatie de strategii
+ * (cu repetitie) pe o masa multiplayer, rotind locurile de la un joc la altul.
+ *
+ * Jocurile unei confruntari sunt impartite in bucati rulate pe un pool de fire; fiecare bucata are propriul
+ * generator, derivat din samanta turneului, deci rezultatele nu depind de numarul de fire.
+ */
+public class StrategyTournament {
+
+    /**
+     * Cuantila normala pentru intervalele de incredere de 95%.
+     */
+    static final double Z_95 = 1.96;
+
+    /**
+     * Numarul maxim de bucati in care se imparte o confruntare.
+     */
+    private static final int CHUNKS = 64;
+
+    /**
+     * Numele strategiilor, in ordinea primita.
+     */
+    private final String[] names;
+
+    /**
+     * Strategiile, in ordinea numelor.
+     */
+    private final Strategy[] strategies;
+
+    /**
+     * Vietile initiale ale fiecarui loc.
+     */
+    private final int lives;
+
+    /**
+     * Numarul de fire folosite.
+     */
+    private final int threads;
+
+    /**
+     * Samanta din care sunt derivate generatoarele bucatilor.
+     */
+    private final long seed;
+
+    /**
+     * Constructor pentru clasa StrategyTournament.
+     *
+     * @param strategies Strategiile, dupa nume (cel putin doua).
+     * @param lives Vietile initiale ale fiecarui loc.
+     * @param threads Numarul de fire folosite.
+     * @param seed Samanta turneului.
+     * @throws IllegalArgumentException daca exista mai putin de doua strategii sau parametrii nu sunt pozitivi.
+     */
+    public StrategyTournament(Map<String, Strategy> strategies, int lives, int threads, long seed) {
+        if (strategies.size() < 2 || lives < 1 || threads < 1) {
+            throw new IllegalArgumentException("A tournament needs at least 2 strategies, 1 life and 1 thread");
+        }
+        this.names = strategies.keySet().toArray(new String[0]);
+        this.strategies = strategies.values().toArray(new Strategy[0]);
+        this.lives = lives;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Returneaza strategiile predefinite, dupa nume.
+     *
+     * @return SHOOT_SELF, SHOOT_OPPONENT, RANDOM si ODDS.
+     */
+    public static Map<String, Strategy> builtIns() {
+        Map<String, Strategy> builtIns = new LinkedHashMap<>();
+        builtIns.put("SHOOT_SELF", Strategy.SHOOT_SELF);
+        builtIns.put("SHOOT_OPPONENT", Strategy.SHOOT_OPPONENT);
+        builtIns.put("RANDOM", Strategy.RANDOM);
+        builtIns.put("ODDS", Strategy.ODDS);
+        return builtIns;
+    }
+
+    /**
+     * Joaca fiecare pereche de strategii diferite pe motorul singleplayer; in jumatate din jocuri prima strategie
+     * este jucatorul (muta prima), in cealalta jumatate este dealerul.
+     *
+     * @param gamesPerPair Numarul de jocuri pentru fiecare pereche.
+     * @return Clasamentul; celula (a, b) este procentul de victorii al lui a impotriva lui b.
+     * @throws InterruptedException daca firul este intrerupt in asteptarea rezultatelor.
+     */
+    public Standings headToHead(long gamesPerPair) throws InterruptedException {
+        List<int[]> pairs = new ArrayList<>();
+        for (int a = 0; a < names.length; a++) {
+            for (int b = a + 1; b < names.length; b++) {
+                pairs.add(new int[]{a, b});
+            }
+        }
+        return play("Head-to-head", pairs, gamesPerPair, true);
+    }
+
+    /**
+     * Joaca fiecare combinatie (cu repetitie) de strategii pe o masa multiplayer cu numarul dat de locuri,
+     * rotind locurile de la un joc la altul.
+     *
+     * @param seats Numarul de locuri de la masa (cel putin 2).
+     * @param gamesPerMix Numarul de jocuri pentru fiecare combinatie.
+     * @return Clasamentul; celula (a, b) este procentul de victorii al lui a la mesele la care sta si b.
+     * @throws InterruptedException daca firul este intrerupt in asteptarea rezultatelor.
+     * @throws IllegalArgumentException daca masa are mai putin de doua locuri.
+     */
+    public Standings mixes(int seats, long gamesPerMix) throws InterruptedException {
+        if (seats < 2) {
+            throw new IllegalArgumentException("A table needs at least 2 seats");
+        }
+        List<int[]> mixes = new ArrayList<>();
+        addMixes(new int[seats], 0, 0, mixes);
+        return play(seats + "-seat mixes", mixes, gamesPerMix, false);
+    }
+
+    /**
+     * Genereaza combinatiile cu repetitie (indici nedescrescatori) de la pozitia data.
+     */
+    private void addMixes(int[] mix, int position, int from, List<int[]> mixes) {
+        if (position == mix.length) {
+            mixes.add(mix.clone());
+            return;
+        }
+        for (int s = from; s < names.length; s++) {
+            mix[position] = s;
+            addMixes(mix, position + 1, s, mixes);
+        }
+    }
+
+    /**
+     * Joaca toate confruntarile pe pool si aduna victoriile fiecarei intrari.
+     *
+     * @param singleplayer True pentru motorul singleplayer (doar perechi), false pentru cel multiplayer.
+     */
+    private Standings play(String title, List<int[]> matchups, long gamesPerMatchup, boolean singleplayer)
+            throws InterruptedException {
+        if (gamesPerMatchup < 1) {
+            throw new IllegalArgumentException("Each matchup needs at least one game");
+        }
+        int seats = matchups.get(0).length;
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        List<int[]> taskMatchups = new ArrayList<>();
+        int chunks = (int) Math.min(CHUNKS, gamesPerMatchup);
+        for (int m = 0; m < matchups.size(); m++) {
+            for (int c = 0; c < chunks; c++) {
+                long first = gamesPerMatchup * c / chunks;
+                long last = gamesPerMatchup * (c + 1) / chunks;
+                long chunkSeed = new SplittableRandom(seed + m * 1_000_003L + c).nextLong();
+                int[] matchup = matchups.get(m);
+                tasks.add(singleplayer
+                        ? () -> playSingleplayer(matchup, first, last, new Random(chunkSeed))
+                        : () -> playMultiplayer(matchup, first, last, new Random(chunkSeed)));
+                taskMatchups.add(matchup);
+            }
+        }
+
+        Standings standings = new Standings(title, names, seats, gamesPerMatchup);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "tournament-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<long[]>> results = pool.invokeAll(tasks);
+            for (int t = 0; t < results.size(); t++) {
+                standings.add(taskMatchups.get(t), results.get(t).get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return standings;
+    }
+
+    /**
+     * Joaca jocurile [first, last) ale unei perechi pe motorul singleplayer.
+     *
+     * @return Victoriile fiecarei intrari din pereche.
+     */
+    private long[] playSingleplayer(int[] pair, long first, long last, Random random) {
+        long[] wins = new long[2];
+        Game game = new Game("tournament", null, Strategy.RANDOM, random);
+        game.setPlayerLife(lives);
+        game.setDealerLife(lives);
+        for (long g = first; g < last; g++) {
+            if (g > first) {
+                game.resetGameState();
+            }
+            // In jocurile impare, a doua strategie muta prima
+            int rotation = (int) (g & 1);
+            Strategy player = strategies[pair[rotation]];
+            Strategy dealer = strategies[pair[1 - rotation]];
+            while (!game.isGameOver()) {
+                game.resolveRound(game.isPlayerTurn() ? player : dealer);
+            }
+            int winnerSeat = game.getPlayerLife() > 0 ? Game.PLAYER_SEAT : Game.DEALER_SEAT;
+            wins[(winnerSeat + rotation) % 2]++;
+        }
+        return wins;
+    }
+
+    /**
+     * Joaca jocurile [first, last) ale unei combinatii pe motorul multiplayer.
+     *
+     * @return Victoriile fiecarei intrari din combinatie.
+     */
+    private long[] playMultiplayer(int[] mix, long first, long last, Random random) {
+        int seats = mix.length;
+        long[] wins = new long[seats];
+        List<String> players = new ArrayList<>(seats);
+        for (int s = 0; s < seats; s++) {
+            players.add("seat" + s);
+        }
+        // Strategiile pe locuri, pentru fiecare rotatie: locul s este ocupat de intrarea (s + rotatie) % seats
+        List<List<Strategy>> rotations = new ArrayList<>(seats);
+        for (int r = 0; r < seats; r++) {
+            List<Strategy> seated = new ArrayList<>(seats);
+            for (int s = 0; s < seats; s++) {
+                seated.add(strategies[mix[(s + r) % seats]]);
+            }
+            rotations.add(seated);
+        }
+        for (long g = first; g < last; g++) {
+            int rotation = (int) (g % seats);
+            MultiplayerGame game = new MultiplayerGame(players, null, lives, rotations.get(rotation), random);
+            int current = 0;
+            while (!game.isGameOver()) {
+                game.resolveTurn(current);
+                current = game.nextPlayerIndex(current);
+            }
+            wins[(game.getWinnerIndex() + rotation) % seats]++;
+        }
+        return wins;
+    }
+
+    /**
+     * Calculeaza intervalul de incredere Wilson pentru o proportie.
+     *
+     * @param successes Numarul de succese.
+     * @param trials Numarul de incercari.
+     * @param z Cuantila normala (1.96 pentru 95%).
+     * @return Limitele {inferioara, superioara}, intre 0 si 1; {0, 1} daca nu exista incercari.
+     */
+    public static double[] wilsonInterval(long successes, long trials, double z) {
+        if (trials == 0) {
+            return new double[]{0, 1};
+        }
+        double n = trials;
+        double p = successes / n;
+        double z2 = z * z;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2 * n)) / denominator;
+        double halfWidth = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+        return new double[]{Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+    }
+
+    /**
+     * Clasa Standings contine rezultatele unui turneu: victoriile fiecarei strategii, in total si
+     * impotriva fiecarei alte strategii.
+     */
+    public static class Standings {
+
+        /**
+         * Titlul turneului.
+         */
+        private final String title;
+
+        /**
+         * Numele strategiilor.
+         */
+        private final String[] names;
+
+        /**
+         * Numarul de locuri de la masa.
+         */
+        private final int seats;
+
+        /**
+         * Numarul de jocuri pentru fiecare confruntare.
+         */
+        private final long gamesPerMatchup;
+
+        /**
+         * wins[a][b]: jocurile castigate de a la mesele la care sta si b.
+         */
+        private final long[][] wins;
+
+        /**
+         * games[a][b]: jocurile jucate de a la mesele la care sta si b.
+         */
+        private final long[][] games;
+
+        /**
+         * Victoriile totale ale fiecarei strategii (o strategie asezata de doua ori conteaza de doua ori).
+         */
+        private final long[] totalWins;
+
+        /**
+         * Jocurile totale ale fiecarei strategii, numarate la fel.
+         */
+        private final long[] totalGames;
+
+        private Standings(String title, String[] names, int seats, long gamesPerMatchup) {
+            this.title = title;
+            this.names = names;
+            this.seats = seats;
+            this.gamesPerMatchup = gamesPerMatchup;
+            this.wins = new long[names.length][names.length];
+            this.games = new long[names.length][names.length];
+            this.totalWins = new long[names.length];
+            this.totalGames = new long[names.length];
+        }
+
+        /**
+         * Adauga rezultatele unei bucati: intrarea p a castigat entryWins[p] din jocurile bucatii.
+         */
+        private void add(int[] matchup, long[] entryWins) {
+            long played = Arrays.stream(entryWins).sum();
+            for (int p = 0; p < matchup.length; p++) {
+                totalWins[matchup[p]] += entryWins[p];
+                totalGames[matchup[p]] += played;
+                for (int q = 0; q < matchup.length; q++) {
+                    if (p != q) {
+                        wins[matchup[p]][matchup[q]] += entryWins[p];
+                        games[matchup[p]][matchup[q]] += played;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returneaza procentul de victorii pe care l-ar avea o strategie oarecare intr-un joc echilibrat.
+         *
+         * @return 1 / numarul de locuri.
+         */
+        public double getFairShare() {
+            return 1.0 / seats;
+        }
+
+        /**
+         * Returneaza proportia de victorii a unei strategii, in toate jocurile ei.
+         *
+         * @param name Numele strategiei.
+         * @return Proportia de victorii, intre 0 si 1.
+         */
+        public double getWinRate(String name) {
+            int a = index(name);
+            return totalGames[a] == 0 ? 0 : (double) totalWins[a] / totalGames[a];
+        }
+
+        /**
+         * Returneaza intervalul de incredere de 95% pentru proportia de victorii a unei strategii.
+         *
+         * @param name Numele strategiei.
+         * @return Limitele {inferioara, superioara}.
+         */
+        public double[] getInterval(String name) {
+            int a = index(name);
+            return wilsonInterval(totalWins[a], totalGames[a], Z_95);
+        }
+
+        /**
+         * Returneaza proportia de victorii a unei strategii la mesele la care sta si o alta.
+         *
+         * @param name Numele strategiei.
+         * @param opponent Numele celeilalte strategii.
+         * @return Proportia de victorii sau NaN daca cele doua nu s-au intalnit.
+         */
+        public double getWinRate(String name, String opponent) {
+            int a = index(name);
+            int b = index(opponent);
+            return games[a][b] == 0 ? Double.NaN : (double) wins[a][b] / games[a][b];
+        }
+
+        /**
+         * Returneaza intervalul de incredere de 95% pentru proportia de victorii a unei strategii impotriva alteia.
+         *
+         * @param name Numele strategiei.
+         * @param opponent Numele celeilalte strategii.
+         * @return Limitele {inferioara, superioara}.
+         */
+        public double[] getInterval(String name, String opponent) {
+            int a = index(name);
+            int b = index(opponent);
+            return wilsonInterval(wins[a][b], games[a][b], Z_95);
+        }
+
+        /**
+         * Returneaza numarul de jocuri ale unei strategii la mesele la care sta si o alta.
+         *
+         * @param name Numele strategiei.
+         * @param opponent Numele celeilalte strategii.
+         * @return Numarul de jocuri.
+         */
+        public long getGames(String name, String opponent) {
+            return games[index(name)][index(opponent)];
+        }
+
+        /**
+         * Returneaza strategiile ordonate descrescator dupa proportia de victorii.
+         *
+         * @return Numele strategiilor, de la cea mai buna.
+         */
+        public List<String> getRanking() {
+            List<String> ranking = new ArrayList<>(Arrays.asList(names));
+            ranking.sort(Comparator.comparingDouble((String name) -> getWinRate(name)).reversed());
+            return ranking;
+        }
+
+        /**
+         * Formateaza clasamentul si matricea confruntarilor, cu procentele si intervalele de 95%.
+         *
+         * @return Tabelul rezultatelor.
+         */
+        public String format() {
+            List<String> ranking = getRanking();
+            StringBuilder sb = new StringBuilder(String.format("%s: %d games per matchup, fair share %.1f%%%n",
+                    title, gamesPerMatchup, getFairShare() * 100));
+            sb.append(String.format("%-4s %-16s %7s %17s |", "rank", "strategy", "win%", "95% CI"));
+            for (String column : ranking) {
+                sb.append(String.format(" %16s", "vs " + column));
+            }
+            sb.append(System.lineSeparator());
+            for (int r = 0; r < ranking.size(); r++) {
+                String name = ranking.get(r);
+                double[] interval = getInterval(name);
+                sb.append(String.format("%-4d %-16s %7.2f [%6.2f, %6.2f] |", r + 1, name, getWinRate(name) * 100,
+                        interval[0] * 100, interval[1] * 100));
+                for (String column : ranking) {
+                    if (getGames(name, column) == 0) {
+                        sb.append(String.format(" %16s", "-"));
+                    } else {
+                        double[] cell = getInterval(name, column);
+                        sb.append(String.format(" %8.2f +-%5.2f", getWinRate(name, column) * 100,
+                                (cell[1] - cell[0]) * 50));
+                    }
+                }
+                sb.append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+
+        private int index(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Ruleaza un turneu intre strategiile predefinite. Argumente (toate optionale):
+     * {@code --games N --seats S --lives L --threads T --seed X}. Se joaca intai perechile pe motorul
+     * singleplayer, apoi combinatiile de S jucatori pe motorul multiplayer.
+     *
+     * @param args Argumentele din linia de comanda.
+     * @throws InterruptedException daca turneul este intrerupt.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        long games = Long.parseLong(options.getOrDefault("games", "1000000"));
+        int seats = Integer.parseInt(options.getOrDefault("seats", "4"));
+        int lives = Integer.parseInt(options.getOrDefault("lives", "3"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        StrategyTournament tournament = new StrategyTournament(builtIns(), lives, threads, seed);
+        long start = System.nanoTime();
+        System.out.print(tournament.headToHead(games).format());
+        System.out.println();
+        if (seats > 2) {
+            System.out.print(tournament.mixes(seats, games).format());
+        }
+        System.out.printf("%nFinished in %.1f s on %d threads (seed %d)%n", (System.nanoTime() - start) / 1e9, threads, seed);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example;
+
+/**
+ * Interfata TableState descrie starea unei mese, asa cum o vede o strategie: locurile, vietile fiecaruia si
+ * gloantele ramase in camera. Este implementata de Game (locul 0 jucatorul, locul 1 dealerul) si de
+ * MultiplayerGame (locul este indexul jucatorului).
+ */
+public interface TableState {
+
+    /**
+     * Returneaza numarul de locuri de la masa.
+     *
+     * @return Numarul de locuri, inclusiv cele ale jucatorilor eliminati.
+     */
+    int getPlayerCount();
+
+    /**
+     * Returneaza vietile ramase ale unui loc.
+     *
+     * @param seat Locul.
+     * @return Numarul de vieti; 0 sau mai putin daca jucatorul a fost eliminat.
+     */
+    int getLives(int seat);
+
+    /**
+     * Returneaza numarul de gloante live ramase in camera.
+     *
+     * @return Numarul de gloante live ramase.
+     */
+    int getRemainingLiveShells();
+
+    /**
+     * Returneaza numarul de gloante blank ramase in camera.
+     *
+     * @return Numarul de gloante blank ramase.
+     */
+    int getRemainingBlankShells();
+}
@@ -0,0 +1,141 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clasa TimedUserStore masoara durata fiecarei operatii a unei stocari si o inregistreaza in histogramele
+ * "store.&lt;operatie&gt;" din registrul global Metrics. UserManager isi infasoara stocarea in aceasta clasa,
+ * deci fiecare apel catre MongoDB (sau catre stocarea configurata) are propriul cronometru.
+ */
+public class TimedUserStore implements UserStore {
+
+    /**
+     * Histogramele operatiilor, dupa numele metodei din UserStore.
+     */
+    private static final LatencyHistogram FIND_USER = Metrics.global().histogram("store.findUser");
+    private static final LatencyHistogram INSERT_USER = Metrics.global().histogram("store.insertUser");
+    private static final LatencyHistogram INSERT_USERS = Metrics.global().histogram("store.insertUsers");
+    private static final LatencyHistogram SET_SCORE = Metrics.global().histogram("store.setScore");
+    private static final LatencyHistogram MAX_SCORES = Metrics.global().histogram("store.maxScores");
+    private static final LatencyHistogram FIND_ALL_BY_SCORE = Metrics.global().histogram("store.findAllByScore");
+    private static final LatencyHistogram FIND_RANKED_PAGE = Metrics.global().histogram("store.findRankedPage");
+    private static final LatencyHistogram COUNT_RANKED = Metrics.global().histogram("store.countRankedUsers");
+    private static final LatencyHistogram COUNT_ABOVE = Metrics.global().histogram("store.countUsersWithScoreAbove");
+
+    /**
+     * Stocarea masurata.
+     */
+    private final UserStore delegate;
+
+    /**
+     * Constructor pentru clasa TimedUserStore.
+     *
+     * @param delegate Stocarea masurata.
+     */
+    public TimedUserStore(UserStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Document findUser(String username) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findUser(username);
+        } finally {
+            FIND_USER.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public SignupResult insertUser(String username, String password) {
+        long start = System.nanoTime();
+        try {
+            return delegate.insertUser(username, password);
+        } finally {
+            INSERT_USER.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<String, SignupResult> insertUsers(Map<String, String> conturi) {
+        long start = System.nanoTime();
+        try {
+            return delegate.insertUsers(conturi);
+        } finally {
+            INSERT_USERS.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void setScore(String username, int scor) {
+        long start = System.nanoTime();
+        try {
+            delegate.setScore(username, scor);
+        } finally {
+            SET_SCORE.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void maxScores(Map<String, Integer> scoruri) {
+        long start = System.nanoTime();
+        try {
+            delegate.maxScores(scoruri);
+        } finally {
+            MAX_SCORES.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Document> findAllByScore() {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAllByScore();
+        } finally {
+            FIND_ALL_BY_SCORE.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Document> findRankedPage(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findRankedPage(offset, limit);
+        } finally {
+            FIND_RANKED_PAGE.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long countRankedUsers() {
+        long start = System.nanoTime();
+        try {
+            return delegate.countRankedUsers();
+        } finally {
+            COUNT_RANKED.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long countUsersWithScoreAbove(int scor) {
+        long start = System.nanoTime();
+        try {
+            return delegate.countUsersWithScoreAbove(scor);
+        } finally {
+            COUNT_ABOVE.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,302 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Clasa UserCache pastreaza in memorie documentele utilizatorilor citite recent, pentru ca autentificarea
+ * si citirea scorului maxim sa nu mai interogheze baza de date la fiecare apel.
+ * Cache-ul este impartit in segmente LRU independente (fiecare cu propriul lacat), are o capacitate
+ * maxima si un timp de viata (TTL) pentru fiecare intrare.
+ */
+public class UserCache {
+
+    /**
+     * Capacitatea implicita a cache-ului.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    /**
+     * Timpul de viata implicit al unei intrari, in secunde.
+     */
+    public static final long DEFAULT_TTL_SECONDS = 30;
+
+    /**
+     * Contoarele globale de accesari reusite si ratate, insumate peste toate cache-urile (vezi Metrics).
+     */
+    private static final LongAdder GLOBAL_HITS = Metrics.global().counter("cache.hits");
+    private static final LongAdder GLOBAL_MISSES = Metrics.global().counter("cache.misses");
+
+    /**
+     * Numarul de segmente; putere a lui 2 pentru selectia rapida a segmentului.
+     */
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Segmentele cache-ului.
+     */
+    private final Segment[] segments;
+
+    /**
+     * Timpul de viata al unei intrari, in nanosecunde.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Sursa de timp, in nanosecunde.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Numarul de citiri gasite in cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Numarul de citiri care nu au fost gasite in cache.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Numarul de intrari eliminate pentru a respecta capacitatea.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Numarul de intrari eliminate pentru ca au expirat.
+     */
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Constructor cu capacitatea si timpul de viata implicite.
+     */
+    public UserCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructor pentru clasa UserCache.
+     *
+     * @param maxSize Numarul maxim de utilizatori pastrati in cache.
+     * @param ttl Timpul de viata al unei intrari.
+     * @param unit Unitatea de masura pentru ttl.
+     */
+    public UserCache(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, unit.toNanos(ttl), System::nanoTime);
+    }
+
+    /**
+     * Constructor care permite specificarea sursei de timp (folosit in teste).
+     *
+     * @param maxSize Numarul maxim de utilizatori pastrati in cache.
+     * @param ttlNanos Timpul de viata al unei intrari, in nanosecunde.
+     * @param clock Sursa de timp, in nanosecunde.
+     * @throws IllegalArgumentException daca maxSize sau ttlNanos nu sunt pozitive.
+     */
+    UserCache(int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize <= 0 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.segments = new Segment[SEGMENT_COUNT];
+        int segmentCapacity = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returneaza documentul unui utilizator din cache.
+     *
+     * @param username Numele utilizatorului.
+     * @return Documentul utilizatorului sau null daca nu exista in cache ori a expirat.
+     */
+    public Document get(String username) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            Entry entry = segment.get(username);
+            if (entry == null) {
+                misses.increment();
+                GLOBAL_MISSES.increment();
+                return null;
+            }
+            if (clock.getAsLong() - entry.loadedAt >= ttlNanos) {
+                segment.remove(username);
+                expirations.increment();
+                misses.increment();
+                GLOBAL_MISSES.increment();
+                return null;
+            }
+            hits.increment();
+            GLOBAL_HITS.increment();
+            return entry.user;
+        }
+    }
+
+    /**
+     * Adauga sau inlocuieste documentul unui utilizator in cache.
+     *
+     * @param username Numele utilizatorului.
+     * @param user Documentul utilizatorului.
+     */
+    public void put(String username, Document user) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            segment.put(username, new Entry(user, clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Inlocuieste documentul unui utilizator aflat deja in cache, fara a-i reinnoi timpul de viata.
+     *
+     * @param username Numele utilizatorului.
+     * @param update Functia care produce documentul actualizat.
+     */
+    public void update(String username, UnaryOperator<Document> update) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            Entry entry = segment.get(username);
+            if (entry != null) {
+                segment.put(username, new Entry(update.apply(entry.user), entry.loadedAt));
+            }
+        }
+    }
+
+    /**
+     * Elimina un utilizator din cache; se apeleaza la fiecare scriere a utilizatorului.
+     *
+     * @param username Numele utilizatorului.
+     */
+    public void invalidate(String username) {
+        Segment segment = segmentFor(username);
+        synchronized (segment) {
+            segment.remove(username);
+        }
+    }
+
+    /**
+     * Goleste complet cache-ul.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returneaza numarul de intrari din cache (inclusiv cele expirate, inca neeliminate).
+     *
+     * @return Numarul de intrari.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returneaza numarul de citiri gasite in cache.
+     *
+     * @return Numarul de citiri reusite.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returneaza numarul de citiri care au necesitat interogarea bazei de date.
+     *
+     * @return Numarul de citiri ratate.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returneaza proportia citirilor gasite in cache.
+     *
+     * @return Rata de reusita, intre 0 si 1.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Returneaza numarul de intrari eliminate pentru a respecta capacitatea.
+     *
+     * @return Numarul de eliminari.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returneaza numarul de intrari eliminate pentru ca au expirat.
+     *
+     * @return Numarul de expirari.
+     */
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * Selecteaza segmentul responsabil pentru un utilizator.
+     *
+     * @param username Numele utilizatorului.
+     * @return Segmentul corespunzator.
+     */
+    private Segment segmentFor(String username) {
+        int h = username.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Intrare din cache: documentul si momentul incarcarii lui.
+     */
+    private static final class Entry {
+        private final Document user;
+        private final long loadedAt;
+
+        private Entry(Document user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Segment LRU: un LinkedHashMap ordonat dupa acces care elimina cea mai veche intrare cand se depaseste capacitatea.
+     */
+    private final class Segment extends LinkedHashMap<String, Entry> {
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -2,20 +2,54 @@ package org.example;
 
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Clasa UserManager gestioneaza operatiunile legate de utilizatori, incluzand autentificarea, inregistrarea,
  * actualizarea scorurilor si afisarea clasamentului.
  */
-public class UserManager {
+public class UserManager implements AutoCloseable {
 
     /**
-     * Colectia MongoDB utilizata pentru stocarea datelor utilizatorilor.
+     * Jurnalul operatiilor cu utilizatori (subsistemul "ruleta.users").
      */
-    private final MongoCollection<Document> userCollection;
+    private static final Logger LOG = LoggerFactory.getLogger("ruleta.users");
+
+    /**
+     * Stocarea utilizatorilor (MongoDB, memorie sau fisier), cu fiecare operatie cronometrata.
+     */
+    private final UserStore userStore;
+
+    /**
+     * Scrierea amanata a scorurilor; null daca scorurile se scriu imediat.
+     */
+    private final ScoreWriteBehind scoreWriteBehind;
+
+    /**
+     * Cache-ul documentelor utilizatorilor; null daca fiecare citire interogheaza baza de date.
+     */
+    private final UserCache userCache;
+
+    /**
+     * Magistrala pe care se publica schimbarile de scor pentru clasamentele deschise.
+     */
+    private final ScoreEventBus scoreEvents;
+
+    /**
+     * Indica daca managerul a fost inchis; close poate fi apelat si din meniu, si din hook-ul de oprire.
+     */
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * Hook-ul de oprire inregistrat de forApplication; null pentru managerii creati direct. Este scos in close,
+     * ca managerul inchis sa nu ramana referit de Runtime.
+     */
+    private volatile Thread shutdownHook;
 
     /**
      * Constructor pentru clasa UserManager.
@@ -24,30 +58,162 @@ public class UserManager {
      * @throws IllegalArgumentException daca userCollection este null.
      */
     public UserManager(MongoCollection<Document> userCollection) {
-        if (userCollection == null) {
-            throw new IllegalArgumentException("MongoCollection cannot be null");
+        this(new MongoUserStore(userCollection));
+    }
+
+    /**
+     * Constructor pentru clasa UserManager cu scriere amanata a scorurilor.
+     *
+     * @param userCollection Colectia MongoDB utilizata pentru stocarea utilizatorilor.
+     * @param scoreWriteBehind Scrierea amanata a scorurilor sau null pentru scriere imediata.
+     * @throws IllegalArgumentException daca userCollection este null.
+     */
+    public UserManager(MongoCollection<Document> userCollection, ScoreWriteBehind scoreWriteBehind) {
+        this(new MongoUserStore(userCollection), scoreWriteBehind, new UserCache());
+    }
+
+    /**
+     * Constructor pentru clasa UserManager cu cache configurat explicit.
+     *
+     * @param userCollection Colectia MongoDB utilizata pentru stocarea utilizatorilor.
+     * @param scoreWriteBehind Scrierea amanata a scorurilor sau null pentru scriere imediata.
+     * @param userCache Cache-ul utilizatorilor sau null pentru a citi mereu din baza de date.
+     * @throws IllegalArgumentException daca userCollection este null.
+     */
+    public UserManager(MongoCollection<Document> userCollection, ScoreWriteBehind scoreWriteBehind, UserCache userCache) {
+        this(new MongoUserStore(userCollection), scoreWriteBehind, userCache);
+    }
+
+    /**
+     * Constructor pentru clasa UserManager peste o stocare oarecare, cu cache-ul implicit.
+     *
+     * @param userStore Stocarea utilizatorilor.
+     * @throws IllegalArgumentException daca userStore este null.
+     */
+    public UserManager(UserStore userStore) {
+        this(userStore, null, new UserCache());
+    }
+
+    /**
+     * Constructor complet pentru clasa UserManager.
+     *
+     * @param userStore Stocarea utilizatorilor.
+     * @param scoreWriteBehind Scrierea amanata a scorurilor sau null pentru scriere imediata.
+     * @param userCache Cache-ul utilizatorilor sau null pentru a citi mereu din stocare.
+     * @throws IllegalArgumentException daca userStore este null.
+     */
+    public UserManager(UserStore userStore, ScoreWriteBehind scoreWriteBehind, UserCache userCache) {
+        if (userStore == null) {
+            throw new IllegalArgumentException("UserStore cannot be null");
         }
-        this.userCollection = userCollection;
+        this.userStore = userStore instanceof TimedUserStore ? userStore : new TimedUserStore(userStore);
+        this.scoreWriteBehind = scoreWriteBehind;
+        this.userCache = userCache;
+        // Creata ultima: pozitia pentru un scor se numara in stocarea de mai sus, ca in getRank
+        this.scoreEvents = new ScoreEventBus(scor -> (int) this.userStore.countUsersWithScoreAbove(scor) + 1);
     }
 
     /**
-     * Inregistreaza un utilizator nou in baza de date.
+     * Creeaza managerul folosit de aplicatie: scorurile se scriu in loturi printr-un ScoreWriteBehind, iar managerul
+     * este inchis la oprirea JVM (inclusiv prin System.exit), astfel incat scorurile din lot ajung in stocare.
+     *
+     * @param userStore Stocarea utilizatorilor.
+     * @return Managerul utilizatorilor.
+     * @throws IllegalArgumentException daca userStore este null.
+     */
+    public static UserManager forApplication(UserStore userStore) {
+        if (userStore == null) {
+            throw new IllegalArgumentException("UserStore cannot be null");
+        }
+        UserStore timedStore = new TimedUserStore(userStore);
+        UserManager userManager = new UserManager(timedStore, new ScoreWriteBehind(timedStore), new UserCache());
+        Thread hook = new Thread(() -> {
+            try {
+                userManager.close();
+            } catch (RuntimeException e) {
+                LOG.error("❌ Scorurile in asteptare nu au putut fi scrise la oprire: {}", e.getMessage(), e);
+            }
+        }, "user-manager-shutdown");
+        userManager.shutdownHook = hook;
+        Runtime.getRuntime().addShutdownHook(hook);
+        return userManager;
+    }
+
+    /**
+     * Cauta un utilizator, mai intai in cache si apoi in baza de date.
+     *
+     * @param username Numele utilizatorului.
+     * @return Documentul utilizatorului sau null daca nu exista.
+     */
+    private Document gasesteUtilizator(String username) {
+        if (userCache != null) {
+            Document utilizator = userCache.get(username);
+            if (utilizator != null) {
+                return utilizator;
+            }
+        }
+        Document utilizator = userStore.findUser(username);
+        if (utilizator != null && userCache != null) {
+            // Un scor aflat inca in lot este mai nou decat cel din baza de date
+            Integer inAsteptare = scoreWriteBehind != null ? scoreWriteBehind.pendingScore(username) : null;
+            if (inAsteptare != null && inAsteptare > utilizator.getInteger("scor", 0)) {
+                utilizator = new Document(utilizator).append("scor", inAsteptare);
+            }
+            userCache.put(username, utilizator);
+        }
+        return utilizator;
+    }
+
+    /**
+     * Returneaza magistrala schimbarilor de scor, la care se pot abona clasamentele deschise.
+     *
+     * @return Magistrala evenimentelor de scor.
+     */
+    public ScoreEventBus getScoreEvents() {
+        return scoreEvents;
+    }
+
+    /**
+     * Returneaza cache-ul utilizatorilor, pentru consultarea statisticilor.
+     *
+     * @return Cache-ul utilizatorilor sau null daca nu este folosit.
+     */
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    /**
+     * Inregistreaza un utilizator nou printr-o singura operatie a stocarii (un insertOne pentru MongoDB).
+     * Unicitatea numelui este garantata de stocare (indexul unic pe username), deci doua inregistrari
+     * simultane cu acelasi nume nu pot reusi amandoua.
      *
      * @param username Numele de utilizator al noului utilizator.
      * @param password Parola noului utilizator.
+     * @return CREATED daca utilizatorul a fost creat, USER_EXISTS daca numele este deja folosit.
      */
-    public void inregistrareUtilizator(String username, String password) {
-        Document utilizator = userCollection.find(new Document("username", username)).first();
-
-        if (utilizator != null) {
-            System.out.println("❌ Utilizatorul \"" + username + "\" exista deja.");
-        } else {
-            Document nouUtilizator = new Document("username", username)
-                    .append("password", password)
-                    .append("scor", 0);
-            userCollection.insertOne(nouUtilizator);
-            System.out.println("✅ Utilizatorul \"" + username + "\" a fost inregistrat cu succes.");
+    public SignupResult inregistrareUtilizator(String username, String password) {
+        FlightEvents.UserOperation event = new FlightEvents.UserOperation();
+        event.begin();
+        if (userCache != null && userCache.get(username) != null) {
+            event.end("signup", username, false);
+            return SignupResult.USER_EXISTS;
         }
+        SignupResult rezultat = userStore.insertUser(username, password);
+        invalideazaCache(username);
+        event.end("signup", username, rezultat == SignupResult.CREATED);
+        return rezultat;
+    }
+
+    /**
+     * Inregistreaza mai multi utilizatori printr-o singura operatie a stocarii, pentru crearea conturilor in masa.
+     *
+     * @param conturi Perechi nume de utilizator - parola, in ordinea in care trebuie create.
+     * @return Rezultatul inregistrarii pentru fiecare nume de utilizator, in ordinea primita.
+     */
+    public Map<String, SignupResult> inregistrareUtilizatori(Map<String, String> conturi) {
+        Map<String, SignupResult> rezultate = userStore.insertUsers(conturi);
+        rezultate.keySet().forEach(this::invalideazaCache);
+        return rezultate;
     }
 
     /**
@@ -58,20 +224,20 @@ public class UserManager {
      * @return True daca autentificarea a avut succes, altfel False.
      */
     public boolean autentificareUtilizator(String username, String password) {
-        Document utilizator = userCollection.find(new Document("username", username)).first();
+        FlightEvents.UserOperation event = new FlightEvents.UserOperation();
+        event.begin();
+        Document utilizator = gasesteUtilizator(username);
 
-        if (utilizator != null) {
-            return utilizator.getString("password").equals(password);
-        }
-        return false;
+        boolean autentificat = utilizator != null && utilizator.getString("password").equals(password);
+        event.end("login", username, autentificat);
+        return autentificat;
     }
 
     /**
      * Afiseaza clasamentul utilizatorilor, sortat descrescator dupa scor.
      */
     public void afisareScoreboard() {
-        List<Document> utilizatori = userCollection.find().into(new ArrayList<>());
-        utilizatori.sort((u1, u2) -> Integer.compare(u2.getInteger("scor", 0), u1.getInteger("scor", 0)));
+        List<Document> utilizatori = userStore.findAllByScore();
 
         if (utilizatori.isEmpty()) {
             System.out.println("⚠️ Nu exista utilizatori inregistrati.");
@@ -82,15 +248,31 @@ public class UserManager {
 
     /**
      * Actualizeaza scorul unui utilizator in baza de date.
+     * Daca este configurata scrierea amanata, scorul este pus in lot si pastrat doar daca este mai mare
+     * decat cel existent. Schimbarea este publicata pe magistrala getScoreEvents().
      *
      * @param username Numele utilizatorului.
      * @param scor Noul scor al utilizatorului.
      */
     public void actualizareScor(String username, int scor) {
-        Document query = new Document("username", username);
-        Document update = new Document("$set", new Document("scor", scor));
-        userCollection.updateOne(query, update);
-        System.out.println("✅ Scor actualizat cu succes pentru utilizatorul \"" + username + "\" la " + scor + " puncte.");
+        FlightEvents.UserOperation event = new FlightEvents.UserOperation();
+        event.begin();
+        // Scorul anterior se citeste doar daca cineva asculta schimbarile
+        int anterior = scoreEvents.hasSubscribers() ? getHighScore(username) : 0;
+        if (scoreWriteBehind != null) {
+            scoreWriteBehind.submit(username, scor);
+            if (userCache != null) {
+                userCache.update(username, u -> scor > u.getInteger("scor", 0) ? new Document(u).append("scor", scor) : u);
+            }
+            scoreEvents.publish(username, anterior, Math.max(anterior, scor));
+            event.end("score", username, true);
+            return;
+        }
+        userStore.setScore(username, scor);
+        invalideazaCache(username);
+        scoreEvents.publish(username, anterior, scor);
+        event.end("score", username, true);
+        LOG.debug("✅ Scor actualizat cu succes pentru utilizatorul \"{}\" la {} puncte.", username, scor);
     }
 
     /**
@@ -100,11 +282,28 @@ public class UserManager {
      * @return Cel mai mare scor al utilizatorului sau 0 daca utilizatorul nu exista.
      */
     public int getHighScore(String username) {
-        Document utilizator = userCollection.find(new Document("username", username)).first();
-        if (utilizator != null) {
-            return utilizator.getInteger("scor", 0);
+        Document utilizator = gasesteUtilizator(username);
+        int scor = utilizator != null ? utilizator.getInteger("scor", 0) : 0;
+        if (scoreWriteBehind != null) {
+            Integer inAsteptare = scoreWriteBehind.pendingScore(username);
+            if (inAsteptare != null && inAsteptare > scor) {
+                return inAsteptare;
+            }
+        }
+        return scor;
+    }
+
+    /**
+     * Returneaza pozitia unui utilizator in clasament, dupa scorul sau maxim.
+     *
+     * @param username Numele utilizatorului.
+     * @return Pozitia in clasament (1 pentru primul loc) sau 0 daca utilizatorul nu exista.
+     */
+    public int getRank(String username) {
+        if (gasesteUtilizator(username) == null) {
+            return 0;
         }
-        return 0;
+        return (int) userStore.countUsersWithScoreAbove(getHighScore(username)) + 1;
     }
 
     /**
@@ -113,8 +312,72 @@ public class UserManager {
      * @return Lista documentelor MongoDB continand utilizatorii si scorurile acestora, sortata descrescator dupa scor.
      */
     public List<Document> getScoreboard() {
-        List<Document> utilizatori = userCollection.find().into(new ArrayList<>());
-        utilizatori.sort((u1, u2) -> Integer.compare(u2.getInteger("scor", 0), u1.getInteger("scor", 0)));
-        return utilizatori;
+        FlightEvents.UserOperation event = new FlightEvents.UserOperation();
+        event.begin();
+        List<Document> clasament = userStore.findAllByScore();
+        event.end("scoreboard", null, true);
+        return clasament;
+    }
+
+    /**
+     * Returneaza o pagina din clasament, fara contul de administrator.
+     * Scorurile aflate inca in asteptare in write-behind apar dupa urmatoarea scriere a lotului.
+     *
+     * @param offset Pozitia (de la 0) primului utilizator din pagina.
+     * @param limit Numarul maxim de utilizatori din pagina.
+     * @return Documentele utilizatorilor din pagina, sortate descrescator dupa scor.
+     */
+    public List<Document> getScoreboardPage(int offset, int limit) {
+        FlightEvents.UserOperation event = new FlightEvents.UserOperation();
+        event.begin();
+        List<Document> pagina = userStore.findRankedPage(offset, limit);
+        event.end("scoreboardPage", null, true);
+        return pagina;
+    }
+
+    /**
+     * Returneaza numarul de utilizatori din clasament.
+     *
+     * @return Numarul de utilizatori, fara contul de administrator.
+     */
+    public long getScoreboardSize() {
+        return userStore.countRankedUsers();
+    }
+
+    /**
+     * Elimina un utilizator din cache dupa o scriere.
+     *
+     * @param username Numele utilizatorului modificat.
+     */
+    private void invalideazaCache(String username) {
+        if (userCache != null) {
+            userCache.invalidate(username);
+        }
+    }
+
+    /**
+     * Scrie scorurile aflate in asteptare si inchide stocarea utilizatorilor. Apelurile repetate nu au efect.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        Thread hook = shutdownHook;
+        if (hook != null && hook != Thread.currentThread()) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // JVM-ul se opreste deja, iar hook-ul va gasi managerul inchis
+            }
+        }
+        scoreEvents.close();
+        try {
+            if (scoreWriteBehind != null) {
+                scoreWriteBehind.close();
+            }
+        } finally {
+            userStore.close();
+        }
     }
 }
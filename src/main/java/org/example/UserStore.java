@@ -0,0 +1,107 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfata UserStore descrie stocarea utilizatorilor folosita de UserManager.
+ * Utilizatorii sunt reprezentati ca documente cu campurile "username", "password" si "scor",
+ * indiferent de implementare (MongoDB, memorie sau fisier).
+ */
+public interface UserStore extends AutoCloseable {
+
+    /**
+     * Numele contului de administrator, care nu apare in clasament.
+     */
+    String ADMIN_USERNAME = "admin";
+
+    /**
+     * Cauta un utilizator dupa nume.
+     *
+     * @param username Numele utilizatorului.
+     * @return Documentul utilizatorului sau null daca nu exista.
+     */
+    Document findUser(String username);
+
+    /**
+     * Creeaza un utilizator nou cu scorul 0. Operatia este atomica: doua inregistrari simultane
+     * cu acelasi nume nu pot reusi amandoua.
+     *
+     * @param username Numele utilizatorului.
+     * @param password Parola utilizatorului.
+     * @return CREATED sau USER_EXISTS.
+     */
+    SignupResult insertUser(String username, String password);
+
+    /**
+     * Creeaza mai multi utilizatori intr-o singura operatie.
+     *
+     * @param conturi Perechi nume de utilizator - parola.
+     * @return Rezultatul pentru fiecare nume de utilizator, in ordinea primita.
+     */
+    Map<String, SignupResult> insertUsers(Map<String, String> conturi);
+
+    /**
+     * Seteaza scorul unui utilizator existent.
+     *
+     * @param username Numele utilizatorului.
+     * @param scor Noul scor.
+     */
+    void setScore(String username, int scor);
+
+    /**
+     * Ridica scorurile mai multor utilizatori, pastrand pentru fiecare maximul dintre scorul existent si cel primit.
+     *
+     * @param scoruri Scorurile noi, dupa numele utilizatorului.
+     */
+    void maxScores(Map<String, Integer> scoruri);
+
+    /**
+     * Returneaza toti utilizatorii, sortati descrescator dupa scor.
+     *
+     * @return Lista documentelor utilizatorilor.
+     */
+    List<Document> findAllByScore();
+
+    /**
+     * Returneaza o pagina din clasament: utilizatorii sortati descrescator dupa scor si apoi dupa nume,
+     * fara contul de administrator.
+     *
+     * @param offset Pozitia (de la 0) primului utilizator din pagina.
+     * @param limit Numarul maxim de utilizatori din pagina.
+     * @return Documentele utilizatorilor din pagina.
+     */
+    List<Document> findRankedPage(int offset, int limit);
+
+    /**
+     * Numara utilizatorii care apar in clasament (toti, in afara de administrator).
+     *
+     * @return Numarul de utilizatori din clasament.
+     */
+    long countRankedUsers();
+
+    /**
+     * Numara utilizatorii din clasament (fara administrator) cu scor strict mai mare decat cel dat; folosit pentru
+     * calculul pozitiei in clasament.
+     *
+     * @param scor Scorul de referinta.
+     * @return Numarul de utilizatori cu scor mai mare.
+     */
+    long countUsersWithScoreAbove(int scor);
+
+    /**
+     * Pregateste stocarea pentru primele cereri (conexiune, indexuri), ca acestea sa nu plateasca costul initializarii.
+     * Implementarea implicita nu face nimic.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * Elibereaza resursele stocarii (conexiuni, fisiere).
+     */
+    @Override
+    default void close() {
+    }
+}
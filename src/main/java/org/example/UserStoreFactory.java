@@ -0,0 +1,67 @@
+package org.example;
+
+import java.nio.file.Path;
+
+/**
+ * Clasa UserStoreFactory creeaza stocarea utilizatorilor aleasa prin proprietatile de sistem:
+ * <ul>
+ *     <li>{@code ruleta.store} - "mongo" (implicit), "memory" sau "file";</li>
+ *     <li>{@code ruleta.store.file} - calea fisierului pentru "file" (implicit "utilizatori.db");</li>
+ *     <li>{@code ruleta.mongo.url} - URL-ul MongoDB pentru "mongo".</li>
+ * </ul>
+ */
+public final class UserStoreFactory {
+
+    /**
+     * Proprietatea de sistem care selecteaza tipul stocarii.
+     */
+    public static final String STORE_PROPERTY = "ruleta.store";
+
+    /**
+     * Proprietatea de sistem cu calea fisierului de utilizatori.
+     */
+    public static final String FILE_PROPERTY = "ruleta.store.file";
+
+    /**
+     * Proprietatea de sistem cu URL-ul MongoDB.
+     */
+    public static final String MONGO_URL_PROPERTY = "ruleta.mongo.url";
+
+    private UserStoreFactory() {
+    }
+
+    /**
+     * Creeaza stocarea descrisa de proprietatile de sistem.
+     *
+     * @return Stocarea utilizatorilor.
+     */
+    public static UserStore fromSystemProperties() {
+        return create(System.getProperty(STORE_PROPERTY, "mongo"));
+    }
+
+    /**
+     * Creeaza stocarea descrisa de proprietatile de sistem pe un fir de fundal, pentru pornirea rapida a interfetei.
+     *
+     * @return Stocarea utilizatorilor, disponibila dupa completarea LazyUserStore.readiness().
+     */
+    public static LazyUserStore lazyFromSystemProperties() {
+        return new LazyUserStore(UserStoreFactory::fromSystemProperties);
+    }
+
+    /**
+     * Creeaza o stocare dupa tipul ei.
+     *
+     * @param tip "mongo", "memory" sau "file".
+     * @return Stocarea utilizatorilor.
+     * @throws IllegalArgumentException daca tipul nu este cunoscut.
+     */
+    public static UserStore create(String tip) {
+        return switch (tip) {
+            case "memory" -> new InMemoryUserStore();
+            case "file" -> new FileUserStore(Path.of(System.getProperty(FILE_PROPERTY, "utilizatori.db")));
+            case "mongo" -> new MongoUserStore(System.getProperty(MONGO_URL_PROPERTY, MongoUserStore.DEFAULT_URL),
+                    MongoUserStore.DEFAULT_DATABASE, MongoUserStore.DEFAULT_COLLECTION);
+            default -> throw new IllegalArgumentException("Unknown user store: " + tip);
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package org.example;
+
+import java.util.Random;
+
+/**
+ * Clasa XorShiftRandom este generatorul xorshift64 folosit de BatchSimulator pentru fiecare joc din lot. Extinde
+ * Random, deci poate fi dat si unui Game: un Game cu new XorShiftRandom(seed + i) consuma exact aceleasi numere
+ * ca jocul i al unui lot cu samanta seed si ajunge la acelasi rezultat.
+ *
+ * nextInt(bound) foloseste cei 32 de biti de sus inmultiti cu bound (fara respingere, deci o abatere de cel mult
+ * bound / 2^32), iar nextBoolean bitul de semn; ambele consuma exact un pas, ca sa poata fi calculate identic
+ * pe benzile unui vector. Nu este sigur pentru mai multe fire si nu este potrivit pentru criptografie.
+ */
+public final class XorShiftRandom extends Random {
+
+    /**
+     * Constanta de amestecare a semintei (partea fractionara a raportului de aur).
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Starea generatorului; niciodata 0.
+     */
+    private long state;
+
+    /**
+     * Constructor pentru clasa XorShiftRandom.
+     *
+     * @param seed Samanta; seminte apropiate dau secvente independente.
+     */
+    public XorShiftRandom(long seed) {
+        super(0);
+        this.state = initialState(seed);
+    }
+
+    /**
+     * Calculeaza starea initiala pentru o samanta, cu functia de amestecare din SplittableRandom.
+     *
+     * @param seed Samanta.
+     * @return Starea, nenula.
+     */
+    static long initialState(long seed) {
+        long z = seed + GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return z == 0 ? GOLDEN_GAMMA : z;
+    }
+
+    /**
+     * Avanseaza o stare cu un pas xorshift64 (13, 7, 17).
+     *
+     * @param x Starea curenta.
+     * @return Starea urmatoare, care este si valoarea generata.
+     */
+    static long step(long x) {
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        return x;
+    }
+
+    /**
+     * Reduce o valoare generata la intervalul [0, bound).
+     *
+     * @param x Valoarea generata.
+     * @param bound Limita superioara (exclusiv), pozitiva.
+     * @return Rezultatul.
+     */
+    static int bounded(long x, int bound) {
+        return (int) (((x >>> 32) * bound) >>> 32);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // Apelat si de constructorul lui Random, inainte de initializarea campurilor
+        state = initialState(seed);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        state = step(state);
+        return state;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return bounded(nextLong(), bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+}
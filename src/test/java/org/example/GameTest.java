@@ -1,16 +1,36 @@
 package org.example;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import org.bson.conversions.Bson;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
 import org.bson.Document;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 class GameTest {
@@ -78,6 +98,32 @@ class UserManagerTest {
         verify(mockCollection).insertOne(any(Document.class));
     }
 
+    @Test
+    void testRegisterDuplicateUserReturnsUserExists() {
+        WriteError duplicateKey = new WriteError(11000, "E11000 duplicate key error", new BsonDocument());
+        doThrow(new MongoWriteException(duplicateKey, new ServerAddress()))
+                .when(mockCollection).insertOne(any(Document.class));
+
+        assertEquals(SignupResult.USER_EXISTS, userManager.inregistrareUtilizator("user1", "password"));
+        verify(mockCollection, never()).find((Bson) any());
+    }
+
+    @Test
+    void testBatchRegisterMapsDuplicatesPerUser() {
+        BulkWriteError duplicateKey = new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1);
+        doThrow(new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, Collections.emptyList(), Collections.emptyList()),
+                List.of(duplicateKey), null, new ServerAddress(), Collections.emptySet()))
+                .when(mockCollection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        Map<String, String> accounts = new LinkedHashMap<>();
+        accounts.put("newUser", "p1");
+        accounts.put("user1", "p2");
+        Map<String, SignupResult> results = userManager.inregistrareUtilizatori(accounts);
+
+        assertEquals(SignupResult.CREATED, results.get("newUser"));
+        assertEquals(SignupResult.USER_EXISTS, results.get("user1"));
+    }
+
     @Test
     void testAuthenticateUserSuccess() {
         Document mockUser = new Document("username", "user1").append("password", "pass1");
@@ -101,6 +147,1192 @@ class UserManagerTest {
     }
 }
 
+class ScoreWriteBehindTest {
+    private MongoCollection<Document> mockCollection;
+    private ScoreWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        mockCollection = mock(MongoCollection.class);
+        writeBehind = new ScoreWriteBehind(new MongoUserStore(mockCollection), 100, 1000, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.close();
+    }
+
+    @Test
+    void testUpdatesAreCoalescedIntoOneBulkWrite() {
+        writeBehind.submit("user1", 10);
+        writeBehind.submit("user1", 30);
+        writeBehind.submit("user1", 20);
+        writeBehind.submit("user2", 5);
+
+        assertEquals(Integer.valueOf(30), writeBehind.pendingScore("user1"));
+        assertEquals(2, writeBehind.getCoalescedUpdates());
+
+        writeBehind.flush();
+
+        ArgumentCaptor<List<WriteModel<Document>>> batch = ArgumentCaptor.forClass(List.class);
+        verify(mockCollection, times(1)).bulkWrite(batch.capture(), any(BulkWriteOptions.class));
+        assertEquals(2, batch.getValue().size());
+        assertEquals(0, writeBehind.getPendingCount());
+        assertEquals(1, writeBehind.getFlushCount());
+    }
+
+    @Test
+    void testFailedFlushKeepsScoresPending() {
+        when(mockCollection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new IllegalStateException("down"));
+        writeBehind.submit("user1", 10);
+
+        assertThrows(IllegalStateException.class, () -> writeBehind.flush());
+        assertEquals(Integer.valueOf(10), writeBehind.pendingScore("user1"));
+        assertEquals(1, writeBehind.getFailedFlushes());
+        reset(mockCollection);
+    }
+
+    @Test
+    void testBackpressureFailureKeepsScoresPending() {
+        when(mockCollection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new IllegalStateException("down"));
+        ScoreWriteBehind full = new ScoreWriteBehind(new MongoUserStore(mockCollection), 1, 1, 60_000);
+
+        assertDoesNotThrow(() -> full.submit("user1", 10));
+        assertEquals(Integer.valueOf(10), full.pendingScore("user1"));
+        assertEquals(1, full.getBackpressureEvents());
+        assertEquals(1, full.getFailedFlushes());
+        reset(mockCollection);
+        full.close();
+    }
+
+    @Test
+    void testHighScoreIncludesPendingScore() {
+        FindIterable<Document> mockFindIterable = mock(FindIterable.class);
+        when(mockFindIterable.first()).thenReturn(new Document("username", "user1").append("scor", 100));
+        when(mockCollection.find((Bson) any())).thenReturn(mockFindIterable);
+        UserManager userManager = new UserManager(mockCollection, writeBehind);
+
+        userManager.actualizareScor("user1", 250);
+
+        assertEquals(250, userManager.getHighScore("user1"));
+        verify(mockCollection, never()).updateOne(any(Bson.class), any(Bson.class));
+    }
+
+    @Test
+    void testSubmitRacingCloseIsNeverLost() throws Exception {
+        ScoreWriteBehind racing = new ScoreWriteBehind(new MongoUserStore(mockCollection), 10, 1000, 60_000);
+        long[] accepted = {0};
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                try {
+                    racing.submit("user" + i, i);
+                    accepted[0]++;
+                } catch (IllegalStateException e) {
+                    return;
+                }
+            }
+        });
+        submitter.start();
+        racing.close();
+        submitter.join();
+
+        assertEquals(accepted[0], racing.getFlushedUpdates());
+        assertEquals(0, racing.getPendingCount());
+    }
+}
+
+class UserCacheTest {
+    private long now;
+    private UserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        cache = new UserCache(16, 1_000, () -> now);
+    }
+
+    @Test
+    void testExpiredEntryIsMiss() {
+        cache.put("user1", new Document("username", "user1"));
+        assertNotNull(cache.get("user1"));
+
+        now = 1_000;
+        assertNull(cache.get("user1"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("user" + i, new Document("username", "user" + i));
+        }
+        assertTrue(cache.size() <= 16);
+        assertTrue(cache.getEvictionCount() >= 1_000 - 16);
+    }
+
+    @Test
+    void testRepeatedHighScoreReadsHitDatabaseOnce() {
+        MongoCollection<Document> mockCollection = mock(MongoCollection.class);
+        FindIterable<Document> mockFindIterable = mock(FindIterable.class);
+        when(mockFindIterable.first()).thenReturn(new Document("username", "user1").append("scor", 100));
+        when(mockCollection.find((Bson) any())).thenReturn(mockFindIterable);
+        UserManager userManager = new UserManager(mockCollection, null, cache);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(100, userManager.getHighScore("user1"));
+        }
+        verify(mockCollection, times(1)).find((Bson) any());
+
+        userManager.actualizareScor("user1", 200);
+        userManager.getHighScore("user1");
+        verify(mockCollection, times(2)).find((Bson) any());
+    }
+}
+
+class UserStoreTest {
+
+    @Test
+    void testInMemoryStoreKeepsScoreboardSorted() {
+        UserManager userManager = new UserManager(new InMemoryUserStore());
+        userManager.inregistrareUtilizator("ana", "p");
+        userManager.inregistrareUtilizator("bob", "p");
+        userManager.inregistrareUtilizator("cid", "p");
+        userManager.actualizareScor("bob", 300);
+        userManager.actualizareScor("cid", 150);
+
+        List<Document> scoreboard = userManager.getScoreboard();
+        assertEquals("bob", scoreboard.get(0).getString("username"));
+        assertEquals("cid", scoreboard.get(1).getString("username"));
+        assertEquals("ana", scoreboard.get(2).getString("username"));
+        assertEquals(SignupResult.USER_EXISTS, userManager.inregistrareUtilizator("ana", "x"));
+        assertTrue(userManager.autentificareUtilizator("bob", "p"));
+    }
+
+    @Test
+    void testRankIgnoresAdmin() {
+        UserManager userManager = new UserManager(new InMemoryUserStore());
+        userManager.inregistrareUtilizator(UserStore.ADMIN_USERNAME, "p");
+        userManager.inregistrareUtilizator("ana", "p");
+        userManager.actualizareScor(UserStore.ADMIN_USERNAME, 900);
+        userManager.actualizareScor("ana", 300);
+
+        assertEquals(1, userManager.getRank("ana"));
+        assertEquals("ana", userManager.getScoreboardPage(0, 10).get(0).getString("username"));
+    }
+
+    @Test
+    void testRankCountMatchesScoreboard() {
+        InMemoryUserStore store = new InMemoryUserStore();
+        Random random = new Random(7);
+        int[] scoruri = {-5, 0, 3, 63, 64, 1000, ScoreRankIndex.DIRECT_LIMIT, Integer.MAX_VALUE};
+        store.insertUser(UserStore.ADMIN_USERNAME, "p");
+        store.setScore(UserStore.ADMIN_USERNAME, Integer.MAX_VALUE);
+        for (int i = 0; i < 200; i++) {
+            store.insertUser("u" + (i % 50), "p");
+            store.setScore("u" + (i % 50), random.nextBoolean() ? scoruri[random.nextInt(scoruri.length)] : random.nextInt(5000));
+        }
+
+        for (int prag : new int[]{Integer.MIN_VALUE, -6, -5, 0, 63, 64, 999, 4999, ScoreRankIndex.DIRECT_LIMIT, Integer.MAX_VALUE}) {
+            long asteptat = store.findAllByScore().stream()
+                    .filter(u -> !UserStore.ADMIN_USERNAME.equals(u.getString("username")))
+                    .filter(u -> u.getInteger("scor") > prag)
+                    .count();
+            assertEquals(asteptat, store.countUsersWithScoreAbove(prag), "prag " + prag);
+        }
+    }
+
+    @Test
+    void testLazyStoreWaitsForConnectionAndReportsFailure() throws Exception {
+        java.util.concurrent.CountDownLatch connect = new java.util.concurrent.CountDownLatch(1);
+        LazyUserStore lazy = new LazyUserStore(() -> {
+            try {
+                connect.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new InMemoryUserStore();
+        });
+        assertFalse(lazy.isReady());
+
+        UserManager userManager = new UserManager(lazy);
+        java.util.concurrent.CompletableFuture<SignupResult> signup =
+                java.util.concurrent.CompletableFuture.supplyAsync(() -> userManager.inregistrareUtilizator("ana", "p"));
+        connect.countDown();
+        assertEquals(SignupResult.CREATED, signup.get(5, java.util.concurrent.TimeUnit.SECONDS));
+        lazy.readiness().get(5, java.util.concurrent.TimeUnit.SECONDS);
+        assertTrue(lazy.isReady());
+
+        LazyUserStore failing = new LazyUserStore(() -> {
+            throw new IllegalStateException("no server");
+        });
+        assertThrows(java.util.concurrent.ExecutionException.class, () -> failing.readiness().get(5, java.util.concurrent.TimeUnit.SECONDS));
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> failing.findUser("ana"));
+        assertEquals("no server", error.getMessage());
+    }
+
+    @Test
+    void testLazyStoreRetriesAfterFailedConnection() throws Exception {
+        java.util.concurrent.atomic.AtomicInteger attempts = new java.util.concurrent.atomic.AtomicInteger();
+        LazyUserStore lazy = new LazyUserStore(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("no server");
+            }
+            return new InMemoryUserStore();
+        });
+        assertThrows(java.util.concurrent.ExecutionException.class, () -> lazy.readiness().get(5, java.util.concurrent.TimeUnit.SECONDS));
+        assertFalse(lazy.isReady());
+
+        assertEquals(SignupResult.CREATED, lazy.insertUser("ana", "p"));
+        assertTrue(lazy.isReady());
+        lazy.readiness().get(5, java.util.concurrent.TimeUnit.SECONDS);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testConcurrentSignupsWithSameNameCreateOneUser() throws Exception {
+        InMemoryUserStore store = new InMemoryUserStore();
+        List<Thread> threads = new ArrayList<>();
+        List<SignupResult> results = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> results.add(store.insertUser("same", "p"))));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, Collections.frequency(results, SignupResult.CREATED));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testFileStoreSurvivesReopen() throws Exception {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("utilizatori", ".db");
+        java.nio.file.Files.delete(file);
+        try {
+            try (FileUserStore store = new FileUserStore(file)) {
+                for (int i = 0; i < 2_000; i++) {
+                    store.insertUser("user" + i, "pass" + i);
+                }
+                store.setScore("user42", 900);
+                store.maxScores(Map.of("user7", 450, "user42", 100));
+                store.close();
+                assertThrows(IllegalStateException.class, () -> store.setScore("user7", 1));
+            }
+            try (FileUserStore store = new FileUserStore(file)) {
+                assertEquals(900, store.findUser("user42").getInteger("scor", 0));
+                assertEquals(450, store.findUser("user7").getInteger("scor", 0));
+                assertEquals("pass1999", store.findUser("user1999").getString("password"));
+                assertEquals("user42", store.findAllByScore().get(0).getString("username"));
+                assertEquals(SignupResult.USER_EXISTS, store.insertUser("user0", "x"));
+            }
+        } finally {
+            java.nio.file.Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRankedPagesSkipAdmin() {
+        InMemoryUserStore store = new InMemoryUserStore();
+        store.insertUser("admin", "p");
+        store.setScore("admin", 10_000);
+        for (int i = 0; i < 25; i++) {
+            store.insertUser("user" + i, "p");
+            store.setScore("user" + i, i * 10);
+        }
+
+        assertEquals(25, store.countRankedUsers());
+        List<Document> page = store.findRankedPage(10, 10);
+        assertEquals(10, page.size());
+        assertEquals("user14", page.get(0).getString("username"));
+        assertEquals(5, store.findRankedPage(20, 10).size());
+    }
+
+    @Test
+    void testScoreboardModelLoadsPagesLazily() {
+        InMemoryUserStore store = new InMemoryUserStore();
+        for (int i = 0; i < 25; i++) {
+            store.insertUser("user" + i, "p");
+            store.setScore("user" + i, i);
+        }
+        AsyncUserManager asyncUserManager = new AsyncUserManager(new UserManager(store), Runnable::run);
+        ScoreboardTableModel model = new ScoreboardTableModel(asyncUserManager, 10, Runnable::run);
+
+        model.refresh().join();
+        assertEquals(25, model.getRowCount());
+        assertEquals("user24", model.getValueAt(0, 1));
+        assertEquals(15, model.getValueAt(9, 2));
+        assertEquals(Integer.valueOf(22), model.findRow("user2", 20).join());
+    }
+}
+
+class AsyncUserManagerTest {
+
+    @Test
+    void testLoginPipelinesHighScoreAndRank() throws Exception {
+        UserManager userManager = new UserManager(new InMemoryUserStore());
+        userManager.inregistrareUtilizator("ana", "p");
+        userManager.inregistrareUtilizator("bob", "p");
+        userManager.actualizareScor("ana", 100);
+        userManager.actualizareScor("bob", 300);
+        AsyncUserManager asyncUserManager = new AsyncUserManager(userManager);
+
+        AsyncUserManager.PlayerStats stats = asyncUserManager.autentificareCuStatistici("ana", "p").get(5, java.util.concurrent.TimeUnit.SECONDS);
+        assertEquals(100, stats.getHighScore());
+        assertEquals(2, stats.getRank());
+        assertNull(asyncUserManager.autentificareCuStatistici("ana", "wrong").get(5, java.util.concurrent.TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailureCauseIsUnwrapped() throws Exception {
+        UserManager userManager = new UserManager(new InMemoryUserStore() {
+            @Override
+            public Document findUser(String username) {
+                throw new IllegalStateException("store down");
+            }
+        });
+        AsyncUserManager asyncUserManager = new AsyncUserManager(userManager, Runnable::run);
+
+        Throwable[] error = new Throwable[1];
+        asyncUserManager.autentificareCuStatistici("ana", "p").whenComplete((stats, e) -> error[0] = e);
+        assertEquals("store down", AsyncUserManager.cauza(error[0]).getMessage());
+        assertEquals("boom", AsyncUserManager.cauza(new IllegalArgumentException("boom")).getMessage());
+    }
+}
+
+class GameLogModelTest {
+
+    @Test
+    void testRingKeepsNewestLines() {
+        GameLogModel model = new GameLogModel(3);
+        model.beginRound();
+        model.append("a\nb\n");
+        model.beginRound();
+        model.append("\nc\nd\ne\n");
+
+        assertEquals(3, model.getSize());
+        assertEquals("c", model.getElementAt(0).getText());
+        assertEquals("e", model.getElementAt(2).getText());
+        assertEquals(2, model.getElementAt(0).getRound());
+    }
+
+    @Test
+    void testClear() {
+        GameLogModel model = new GameLogModel(2);
+        model.append("a\nb\nc");
+        model.clear();
+        assertEquals(0, model.getSize());
+        assertThrows(IndexOutOfBoundsException.class, () -> model.getElementAt(0));
+    }
+}
+
+class SeatStatusPanelTest {
+
+    @Test
+    void testOnlyChangedSeatsAreUpdated() {
+        List<String> players = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            players.add("Player " + i);
+        }
+        SeatStatusPanel panel = new SeatStatusPanel(players, 3);
+        assertEquals(32, panel.getComponentCount());
+
+        int[] lives = new int[32];
+        Arrays.fill(lives, 3);
+        lives[7] = 2;
+        assertEquals(1, panel.setLives(lives));
+        assertEquals(0, panel.setLives(lives));
+        assertEquals(2, panel.getLives(7));
+        assertEquals(32, panel.getComponentCount());
+    }
+}
+
+class ScoreEventBusTest {
+
+    @Test
+    void testChangesAreCoalescedPerUser() {
+        UserManager userManager = new UserManager(new InMemoryUserStore());
+        userManager.inregistrareUtilizator("ana", "p");
+        userManager.inregistrareUtilizator("bob", "p");
+        List<List<ScoreEventBus.ScoreChange>> received = new ArrayList<>();
+        ScoreEventBus bus = userManager.getScoreEvents();
+        bus.subscribe(received::add);
+
+        userManager.actualizareScor("ana", 100);
+        userManager.actualizareScor("ana", 250);
+        userManager.actualizareScor("bob", 50);
+        bus.dispatch();
+
+        assertEquals(1, received.size());
+        Map<String, ScoreEventBus.ScoreChange> changes = new HashMap<>();
+        received.get(0).forEach(c -> changes.put(c.getUsername(), c));
+        assertEquals(0, changes.get("ana").getPreviousScore());
+        assertEquals(250, changes.get("ana").getScore());
+        assertEquals(1, changes.get("ana").getRank());
+        assertEquals(2, changes.get("bob").getRank());
+        userManager.close();
+    }
+
+    @Test
+    void testChangeReportsDisplacedRanks() {
+        InMemoryUserStore store = new InMemoryUserStore();
+        UserManager userManager = new UserManager(store);
+        for (String nume : List.of("ana", "bob", "cid", "dan")) {
+            userManager.inregistrareUtilizator(nume, "p");
+        }
+        userManager.actualizareScor("ana", 300);
+        userManager.actualizareScor("bob", 200);
+        userManager.actualizareScor("cid", 100);
+        List<ScoreEventBus.ScoreChange> received = new ArrayList<>();
+        ScoreEventBus bus = userManager.getScoreEvents();
+        bus.subscribe(received::addAll);
+
+        // cid trece de bob: pozitiile 2..3 se schimba, ana (#1) si dan (#4) raman pe loc
+        userManager.actualizareScor("cid", 250);
+        bus.dispatch();
+
+        ScoreEventBus.ScoreChange change = received.get(0);
+        assertEquals(2, change.getRank());
+        assertEquals(2, change.getFirstAffectedRank());
+        assertEquals(userManager.getRank("bob"), change.getLastAffectedRank());
+
+        // Inapoi sub bob: aceleasi pozitii 2..3
+        store.setScore("cid", 150);
+        bus.publish("cid", 250, 150);
+        bus.dispatch();
+        change = received.get(1);
+        assertEquals(3, change.getRank());
+        assertEquals(2, change.getFirstAffectedRank());
+        assertEquals(3, change.getLastAffectedRank());
+        userManager.close();
+    }
+
+    @Test
+    void testDispatcherStopsWithLastSubscriber() {
+        ScoreEventBus bus = new ScoreEventBus(null);
+        Runnable first = bus.subscribe(c -> { });
+        Runnable second = bus.subscribe(c -> { });
+        first.run();
+        assertTrue(bus.isDispatching());
+        second.run();
+        assertFalse(bus.isDispatching());
+        assertFalse(bus.hasSubscribers());
+
+        Runnable again = bus.subscribe(c -> { });
+        assertTrue(bus.isDispatching());
+        again.run();
+        bus.close();
+    }
+
+    @Test
+    void testNothingIsQueuedWithoutSubscribers() {
+        List<Integer> looked = new ArrayList<>();
+        ScoreEventBus bus = new ScoreEventBus(s -> {
+            looked.add(s);
+            return 1;
+        });
+        bus.publish("ana", 0, 10);
+        bus.dispatch();
+        assertTrue(looked.isEmpty());
+    }
+}
+
+class OddsTableTest {
+
+    @Test
+    void testSingleShellStates() {
+        // Un singur glont live ramas: tragand in dealer, il ucide pe dealerul cu o viata
+        assertEquals(1.0, OddsTable.winIfShootDealer(1, 1, 1, 0), 1e-12);
+        assertEquals(0.0, OddsTable.winIfShootSelf(1, 1, 1, 0), 1e-12);
+        assertEquals(0.5, OddsTable.nextShellLive(0, 0), 1e-12);
+        assertEquals(0.25, OddsTable.nextShellLive(1, 3), 1e-12);
+    }
+
+    @Test
+    void testProbabilitiesAreConsistent() {
+        for (int p = 1; p <= OddsTable.MAX_LIVES; p++) {
+            for (int d = 1; d <= OddsTable.MAX_LIVES; d++) {
+                double self = OddsTable.winIfShootSelf(p, d, 2, 3);
+                double dealer = OddsTable.winIfShootDealer(p, d, 2, 3);
+                assertTrue(self >= 0 && self <= 1 && dealer >= 0 && dealer <= 1);
+                assertEquals(Math.max(self, dealer), OddsTable.winProbability(p, d, 2, 3, true), 1e-12);
+            }
+        }
+        assertTrue(OddsTable.winProbability(5, 1, 0, 0, true) > OddsTable.winProbability(1, 5, 0, 0, true));
+        assertThrows(IllegalArgumentException.class, () -> OddsTable.winIfShootSelf(6, 1, 0, 0));
+    }
+
+    @Test
+    void testRemainingShellsTrackChamber() {
+        Game game = new Game("testUser", mock(UserManager.class));
+        game.setPlayerLife(5);
+        game.setDealerLife(5);
+        game.playRoundSwing("s");
+        assertEquals(5, game.getRemainingLiveShells() + game.getRemainingBlankShells());
+        assertEquals(6, game.getNumLiveShells() + game.getNumBlankShells());
+    }
+}
+
+class HeadlessRunnerTest {
+
+    @Test
+    void testScriptEmitsOneJsonLinePerCommand() throws Exception {
+        UserManager userManager = new UserManager(new InMemoryUserStore());
+        java.io.ByteArrayOutputStream buffer = new java.io.ByteArrayOutputStream();
+        HeadlessRunner runner = new HeadlessRunner(userManager, new java.io.PrintStream(buffer, true, "UTF-8"));
+
+        StringBuilder script = new StringBuilder("# sesiune de test\nsignup ana p\nsignup ana p\nlogin ana p\nlives 1\n");
+        for (int i = 0; i < 50; i++) {
+            script.append("play d\n");
+        }
+        script.append("scoreboard 5\nbogus\n");
+        int errors = runner.run(new java.io.StringReader(script.toString()));
+
+        String[] lines = buffer.toString("UTF-8").split("\n");
+        assertEquals(1, errors);
+        assertEquals(4 + 50 + 2 + 1, lines.length);
+        assertTrue(lines[0].contains("\"cmd\":\"signup\"") && lines[0].contains("CREATED"));
+        assertTrue(lines[1].contains("USER_EXISTS"));
+        assertTrue(lines[lines.length - 2].contains("\"ok\":false"));
+        assertTrue(lines[lines.length - 1].startsWith("{\"summary\":"));
+    }
+}
+
+class GameLogAppenderTest {
+
+    @Test
+    void testFlushWaitsForQueuedEvents() {
+        // Contextul aplicatiei (un LoggerContext nou nu are adaptor MDC, de care are nevoie AsyncAppender)
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event.getFormattedMessage());
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+        GameLogAppender appender = new GameLogAppender();
+        appender.setContext(context);
+        appender.addAppender(slow);
+        appender.start();
+        Logger logger = context.getLogger("ruleta.game.test");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        for (int i = 0; i < 50; i++) {
+            logger.info("runda {}", i);
+        }
+        appender.flush();
+
+        // Toate rundele sunt scrise, in ordine, iar marcajul nu apare
+        assertEquals(50, written.size());
+        assertEquals("runda 49", written.get(49));
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+}
+
+class MetricsTest {
+
+    @Test
+    void testHistogramPercentilesStayWithinBucketPrecision() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (long v = 1; v <= 10_000; v++) {
+                    histogram.record(v * 1_000);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 5_000_000) <= 5_000_000 / 16, "p50 = " + p50);
+        assertTrue(Math.abs(p99 - 9_900_000) <= 9_900_000 / 16, "p99 = " + p99);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testRegistryExposesTextOverHttp() throws Exception {
+        Metrics metrics = new Metrics();
+        metrics.counter("game.started").add(3);
+        metrics.histogram("store.findUser").record(1_500);
+
+        assertEquals(Long.valueOf(3), metrics.getCounters().get("game.started"));
+        assertEquals(Long.valueOf(1), metrics.getLatencies().get("store.findUser.count"));
+        try (MetricsHttpServer server = MetricsHttpServer.start(metrics, 0)) {
+            HttpURLConnection connection = (HttpURLConnection)
+                    URI.create("http://localhost:" + server.getPort() + "/metrics").toURL().openConnection();
+            String body = new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(body.contains("ruleta_game_started_total 3"));
+            assertTrue(body.contains("ruleta_store_findUser_nanos_count 1"));
+            assertTrue(body.contains("ruleta_store_findUser_nanos{quantile=\"0.99\"}"));
+        }
+    }
+
+    @Test
+    void testGamesStartedCountsEachGameOnce() {
+        long started = Game.GAMES_STARTED.sum();
+        Game game = new Game("ana", new UserManager(new InMemoryUserStore()));
+        game.setPlayerLife(1);
+        game.setDealerLife(1);
+        assertEquals(started + 1, Game.GAMES_STARTED.sum());
+        game.resetGameState();
+        assertEquals(started + 2, Game.GAMES_STARTED.sum());
+    }
+
+    @Test
+    void testGameRecordsRoundsAndFinishedGames() {
+        long rounds = Metrics.global().histogram("game.singleplayer.round").getCount();
+        long finished = Metrics.global().counter("game.finished").sum();
+        Game game = new Game("ana", new UserManager(new InMemoryUserStore()));
+        game.setPlayerLife(1);
+        game.setDealerLife(1);
+        while (!game.isGameOver()) {
+            game.playRoundSwing("s");
+            if (!game.isGameOver() && !game.isPlayerTurn()) {
+                game.dealerTurn();
+            }
+        }
+        assertTrue(Metrics.global().histogram("game.singleplayer.round").getCount() > rounds);
+        assertEquals(finished + 1, Metrics.global().counter("game.finished").sum());
+    }
+}
+
+class FlightEventsTest {
+
+    @Test
+    void testRecordingCapturesGameAndUserEvents() throws Exception {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("ruleta", ".jfr");
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            for (String name : List.of("org.example.RoundResolved", "org.example.ChamberReloaded",
+                    "org.example.GameOver", "org.example.UserOperation")) {
+                recording.enable(name).withThreshold(java.time.Duration.ZERO);
+            }
+            recording.start();
+
+            UserManager userManager = new UserManager(new InMemoryUserStore());
+            userManager.inregistrareUtilizator("ana", "p");
+            assertTrue(userManager.autentificareUtilizator("ana", "p"));
+            Game game = new Game("ana", userManager);
+            game.setPlayerLife(1);
+            game.setDealerLife(1);
+            while (!game.isGameOver()) {
+                game.playRoundSwing("s");
+                if (!game.isGameOver() && !game.isPlayerTurn()) {
+                    game.dealerTurn();
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            Map<String, Integer> counts = new HashMap<>();
+            for (jdk.jfr.consumer.RecordedEvent event : jdk.jfr.consumer.RecordingFile.readAllEvents(file)) {
+                counts.merge(event.getEventType().getName(), 1, Integer::sum);
+                if (event.getEventType().getName().equals("org.example.UserOperation")) {
+                    assertEquals("ana", event.getString("username"));
+                    assertTrue(event.getBoolean("success"));
+                }
+            }
+            assertTrue(counts.getOrDefault("org.example.RoundResolved", 0) >= 1);
+            assertTrue(counts.getOrDefault("org.example.ChamberReloaded", 0) >= 1);
+            assertEquals(Integer.valueOf(1), counts.get("org.example.GameOver"));
+            assertEquals(Integer.valueOf(2), counts.get("org.example.UserOperation"));
+        } finally {
+            java.nio.file.Files.deleteIfExists(file);
+        }
+    }
+}
+
+class LoadGeneratorTest {
+
+    @Test
+    void testVirtualUsersExerciseEveryOperation() throws Exception {
+        UserManager userManager = new UserManager(new InMemoryUserStore());
+        LoadGenerator.Result result = new LoadGenerator(userManager, 8, 3, 1).run(500);
+
+        for (String operation : List.of(LoadGenerator.SIGNUP, LoadGenerator.LOGIN, LoadGenerator.SINGLEPLAYER_ROUND,
+                LoadGenerator.MULTIPLAYER_ROUND, LoadGenerator.SCOREBOARD)) {
+            assertNotNull(result.getServiceLatency(operation), operation);
+            assertEquals(0, result.getErrors(operation), operation);
+            assertTrue(result.getThroughput(operation) > 0, operation);
+            // Latenta corectata porneste de la momentul programat, deci nu poate fi mai mica decat cea de serviciu
+            assertTrue(result.getCorrectedLatency(operation).getMax() >= result.getServiceLatency(operation).getMax() - 1, operation);
+        }
+        assertEquals(8, result.getServiceLatency(LoadGenerator.SIGNUP).getCount());
+        assertTrue(result.format().contains("singleplayer.round"));
+    }
+}
+
+class AllocationTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+
+    /**
+     * Masoara octetii alocati de firul curent pentru un numar de operatii, dupa o incalzire suficienta
+     * pentru compilarea JIT (escape analysis elimina evenimentele JFR si alte obiecte temporare).
+     */
+    private static long allocatedBytes(Runnable operation, int warmup, int operations) {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < operations; i++) {
+            operation.run();
+        }
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    @BeforeEach
+    void requireAllocationCounters() {
+        Assumptions.assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+    }
+
+    @Test
+    void testSingleplayerRoundsDoNotAllocate() {
+        Game game = new Game("ana", new UserManager(new InMemoryUserStore()));
+        game.setPlayerLife(Integer.MAX_VALUE);
+        game.setDealerLife(Integer.MAX_VALUE);
+        boolean[] shootSelf = {false};
+        Runnable round = () -> {
+            shootSelf[0] = !shootSelf[0];
+            game.resolveRound(shootSelf[0]);
+            if (!game.isPlayerTurn()) {
+                game.resolveDealerRound();
+            }
+        };
+
+        long bytes = allocatedBytes(round, 200_000, 100_000);
+        // Cateva alocari unice (de exemplu o recompilare) sunt tolerate; o alocare pe runda ar depasi limita
+        assertTrue(bytes < 1024, "100000 rounds allocated " + bytes + " bytes");
+    }
+
+    @Test
+    void testMultiplayerShotsDoNotAllocate() {
+        List<String> players = List.of("p0", "p1", "p2", "p3", "p4", "p5", "p6", "p7");
+        MultiplayerGame game = new MultiplayerGame(players, new UserManager(new InMemoryUserStore()), Integer.MAX_VALUE);
+        int[] seat = {0};
+        Runnable shot = () -> {
+            int current = seat[0];
+            if ((current & 1) == 0) {
+                game.resolveShot(current, current);
+            } else {
+                game.resolveShot(current, game.getRandomOpponentIndex(current));
+            }
+            seat[0] = (current + 1) % players.size();
+        };
+
+        long bytes = allocatedBytes(shot, 200_000, 100_000);
+        assertTrue(bytes < 1024, "100000 shots allocated " + bytes + " bytes");
+    }
+}
+
+class InMemoryMongoCollectionTest {
+    private MongoCollection<Document> collection;
+    private MongoUserStore store;
+
+    @BeforeEach
+    void setUp() {
+        collection = InMemoryMongoCollection.create();
+        store = new MongoUserStore(collection);
+    }
+
+    @Test
+    void testUniqueIndexRejectsDuplicateSignups() {
+        assertEquals(SignupResult.CREATED, store.insertUser("ana", "p"));
+        assertEquals(SignupResult.USER_EXISTS, store.insertUser("ana", "x"));
+
+        Map<String, String> accounts = new LinkedHashMap<>();
+        accounts.put("bob", "p");
+        accounts.put("ana", "p");
+        accounts.put("cid", "p");
+        Map<String, SignupResult> results = store.insertUsers(accounts);
+        assertEquals(SignupResult.CREATED, results.get("bob"));
+        assertEquals(SignupResult.USER_EXISTS, results.get("ana"));
+        assertEquals(SignupResult.CREATED, results.get("cid"));
+        assertEquals(3, collection.countDocuments());
+        assertEquals("p", store.findUser("ana").getString("password"));
+    }
+
+    @Test
+    void testScoreUpdatesUseSetAndMax() {
+        store.insertUser("ana", "p");
+        store.insertUser("bob", "p");
+        store.setScore("ana", 300);
+        store.maxScores(Map.of("ana", 100, "bob", 250));
+
+        assertEquals(300, store.findUser("ana").getInteger("scor", 0));
+        assertEquals(250, store.findUser("bob").getInteger("scor", 0));
+        assertEquals(1, store.countUsersWithScoreAbove(250));
+    }
+
+    @Test
+    void testFindSortsLimitsAndProjects() {
+        for (int i = 0; i < 10; i++) {
+            collection.insertOne(new Document("username", "user" + i).append("scor", i % 3).append("password", "p"));
+        }
+        List<Document> top = collection.find(com.mongodb.client.model.Filters.ne("username", "user0"))
+                .sort(com.mongodb.client.model.Sorts.orderBy(com.mongodb.client.model.Sorts.descending("scor"),
+                        com.mongodb.client.model.Sorts.ascending("username")))
+                .skip(1)
+                .limit(3)
+                .projection(com.mongodb.client.model.Projections.fields(
+                        com.mongodb.client.model.Projections.include("username", "scor"),
+                        com.mongodb.client.model.Projections.excludeId()))
+                .into(new ArrayList<>());
+
+        assertEquals(List.of("user5", "user8", "user1"), top.stream().map(d -> d.getString("username")).toList());
+        assertEquals(Set.of("username", "scor"), top.get(0).keySet());
+    }
+
+    @Test
+    void testUpdateCannotBreakUniqueIndex() {
+        store.insertUser("ana", "p");
+        store.insertUser("bob", "p");
+        MongoWriteException error = assertThrows(MongoWriteException.class, () -> collection.updateOne(
+                new Document("username", "bob"), new Document("$set", new Document("username", "ana"))));
+        assertEquals(11000, error.getCode());
+        assertNotNull(store.findUser("bob"));
+        assertThrows(UnsupportedOperationException.class, () -> collection.aggregate(List.of()));
+    }
+
+    @Test
+    void testUserManagerAtScale() {
+        UserManager userManager = new UserManager(collection, null, null);
+        Map<String, String> accounts = new LinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            accounts.put("user" + i, "p");
+        }
+        userManager.inregistrareUtilizatori(accounts);
+        for (int i = 0; i < 100_000; i += 1_000) {
+            userManager.actualizareScor("user" + i, i);
+        }
+
+        assertTrue(userManager.autentificareUtilizator("user99999", "p"));
+        assertEquals(99_000, userManager.getHighScore("user99000"));
+        assertEquals("user99000", userManager.getScoreboardPage(0, 10).get(0).getString("username"));
+        assertEquals(100_000, collection.countDocuments());
+    }
+}
+
+class StrategyTournamentTest {
+
+    @Test
+    void testWilsonInterval() {
+        double[] half = StrategyTournament.wilsonInterval(50, 100, StrategyTournament.Z_95);
+        assertEquals(0.4038, half[0], 1e-4);
+        assertEquals(0.5962, half[1], 1e-4);
+        double[] none = StrategyTournament.wilsonInterval(0, 10, StrategyTournament.Z_95);
+        assertEquals(0, none[0]);
+        assertEquals(0.2775, none[1], 1e-4);
+    }
+
+    @Test
+    void testHeadToHeadIsReproducibleAcrossThreadCounts() throws InterruptedException {
+        Map<String, Strategy> strategies = StrategyTournament.builtIns();
+        StrategyTournament.Standings one = new StrategyTournament(strategies, 3, 1, 7).headToHead(2_000);
+        StrategyTournament.Standings four = new StrategyTournament(strategies, 3, 4, 7).headToHead(2_000);
+
+        for (String a : strategies.keySet()) {
+            assertEquals(one.getWinRate(a), four.getWinRate(a));
+            for (String b : strategies.keySet()) {
+                if (!a.equals(b)) {
+                    assertEquals(2_000, one.getGames(a, b));
+                    assertEquals(1.0, one.getWinRate(a, b) + one.getWinRate(b, a), 1e-9);
+                }
+            }
+        }
+        // Cine doar se impusca nu il poate rani pe adversar
+        assertEquals(1.0, one.getWinRate("SHOOT_OPPONENT", "SHOOT_SELF"));
+        assertEquals("SHOOT_SELF", one.getRanking().get(3));
+    }
+
+    @Test
+    void testMixesCountEverySeat() throws InterruptedException {
+        StrategyTournament tournament = new StrategyTournament(StrategyTournament.builtIns(), 2, 2, 11);
+        StrategyTournament.Standings standings = tournament.mixes(3, 300);
+
+        assertEquals(1.0 / 3, standings.getFairShare(), 1e-9);
+        double total = 0;
+        for (String name : StrategyTournament.builtIns().keySet()) {
+            double[] interval = standings.getInterval(name);
+            assertTrue(interval[0] <= standings.getWinRate(name) && standings.getWinRate(name) <= interval[1]);
+            total += standings.getWinRate(name);
+        }
+        assertTrue(total > 0);
+        assertTrue(standings.format().contains("3-seat mixes"));
+    }
+
+    @Test
+    void testDealerAndPlayersUseTheirStrategies() {
+        Game game = new Game("ana", null, (table, seat, random) -> seat, new Random(3));
+        game.setPlayerLife(3);
+        game.setDealerLife(3);
+        game.resetGameState();
+        game.playRoundSwing("d");
+        // Dealerul se impusca mereu, deci isi pastreaza tura pana pierde toate vietile
+        while (!game.isGameOver()) {
+            assertTrue(game.dealerTurn().contains("Dealer action: Shot Self"));
+        }
+        assertEquals(3, game.getPlayerLife());
+        assertEquals(0, game.getDealerLife());
+
+        Strategy invalid = (table, seat, random) -> (seat + 1) % table.getPlayerCount();
+        MultiplayerGame multiplayer = new MultiplayerGame(List.of("a", "b", "c"), null, 1,
+                List.of(Strategy.SHOOT_OPPONENT, invalid, Strategy.SHOOT_SELF), new Random(5));
+        while (multiplayer.getPlayerLives(2) > 0) {
+            multiplayer.resolveShot(0, 2);
+        }
+        assertEquals(1, multiplayer.chooseTarget(0));
+        assertThrows(IllegalStateException.class, () -> multiplayer.resolveTurn(1));
+    }
+}
+
+class ScoreAnalyticsTest {
+
+    @Test
+    void testSketchQuantilesStayWithinRankErrorInBoundedMemory() {
+        int n = 200_000;
+        List<Long> values = new ArrayList<>();
+        for (long v = 0; v < n; v++) {
+            values.add(v);
+        }
+        Collections.shuffle(values, new Random(1));
+        KllSketch whole = new KllSketch();
+        KllSketch[] parts = {new KllSketch(), new KllSketch(), new KllSketch(), new KllSketch()};
+        for (int i = 0; i < n; i++) {
+            whole.update(values.get(i));
+            parts[i % parts.length].update(values.get(i));
+        }
+        KllSketch merged = new KllSketch();
+        for (KllSketch part : parts) {
+            merged.merge(part);
+        }
+
+        for (KllSketch sketch : List.of(whole, merged)) {
+            assertEquals(n, sketch.getCount());
+            assertEquals(0, sketch.getMin());
+            assertEquals(n - 1, sketch.getMax());
+            assertTrue(sketch.getRetainedItems() < 5 * KllSketch.DEFAULT_K, "retained " + sketch.getRetainedItems());
+            for (double q : new double[]{0.01, 0.25, 0.5, 0.75, 0.99}) {
+                assertEquals(q * n, sketch.getQuantile(q), 0.02 * n, "quantile " + q);
+            }
+            assertEquals(0.5, sketch.getRank(n / 2), 0.02);
+        }
+
+        KllSketch copy = KllSketch.fromBytes(merged.toBytes());
+        assertEquals(merged.getQuantile(0.9), copy.getQuantile(0.9));
+        assertEquals(merged.getCount(), copy.getCount());
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new KllSketch(50)));
+
+        copy.merge(copy);
+        assertEquals(2 * merged.getCount(), copy.getCount());
+        assertEquals(0.5, copy.getRank(n / 2), 0.02);
+    }
+
+    @Test
+    void testSimulationIsReproducibleAndMergeable() throws Exception {
+        ScoreAnalytics one = ScoreAnalytics.simulate(1, 5_000, Strategy.RANDOM, 1, 3);
+        ScoreAnalytics three = ScoreAnalytics.simulate(1, 5_000, Strategy.RANDOM, 3, 3);
+        KllSketch score = one.getSketch(1, ScoreAnalytics.SCORE);
+
+        assertEquals(5_000, score.getCount());
+        assertEquals(score.getQuantile(0.5), three.getSketch(1, ScoreAnalytics.SCORE).getQuantile(0.5));
+        // Cu o singura viata, scorul este 0 (joc pierdut) sau un multiplu de 300
+        assertEquals(0, score.getMin());
+        assertEquals(0, score.getMax() % 300);
+        assertTrue(one.getSketch(1, ScoreAnalytics.SHOTS).getMin() >= 1);
+
+        ScoreAnalytics journal = new ScoreAnalytics();
+        assertEquals(3, journal.readJournal(new java.io.StringReader("# lives score rounds shots\n3 450 3 7\n3,0,2,5\n\n2 200 1 2\n")));
+        journal.merge(one);
+        ScoreAnalytics copy = ScoreAnalytics.fromBytes(journal.toBytes());
+        assertEquals(List.of(1, 2, 3), copy.getLivesSettings());
+        assertEquals(450, copy.getSketch(3, ScoreAnalytics.SCORE).getMax());
+        assertEquals(5_000, copy.getSketch(1, ScoreAnalytics.ROUNDS).getCount());
+        assertThrows(IllegalArgumentException.class, () -> journal.readJournal(new java.io.StringReader("3 450 3")));
+    }
+}
+
+class RuleSetTest {
+
+    private static final RuleSet LONG_CHAMBER = RuleSet.register(RuleSet.builder("test-long-chamber")
+            .chamberSize(8).liveShells(2, 3).lives(2, 7, 4).multiplier(6, 20).multiplier(7, 10).build());
+
+    @Test
+    void testClassicMatchesOriginalRules() {
+        RuleSet classic = RuleSet.forName("classic");
+        assertSame(RuleSet.CLASSIC, classic);
+        assertEquals(6, classic.getChamberSize());
+        assertArrayEquals(new int[]{0, 300, 200, 150, 100, 50, 0},
+                new int[]{classic.scoreMultiplier(0), classic.scoreMultiplier(1), classic.scoreMultiplier(2),
+                        classic.scoreMultiplier(3), classic.scoreMultiplier(4), classic.scoreMultiplier(5),
+                        classic.scoreMultiplier(6)});
+        assertTrue(classic.isValidLives(1) && classic.isValidLives(5));
+        assertFalse(classic.isValidLives(0) || classic.isValidLives(6));
+        assertEquals(3, classic.getDefaultLives());
+
+        Random random = new Random(5);
+        int[] seen = new int[7];
+        for (int i = 0; i < 10_000; i++) {
+            long chamber = classic.loadChamber(random);
+            assertEquals(0, chamber >>> 6);
+            seen[Long.bitCount(chamber)]++;
+        }
+        assertEquals(0, seen[0]);
+        assertEquals(0, seen[6]);
+        for (int live = 1; live <= 5; live++) {
+            assertEquals(2_000, seen[live], 200, "live " + live);
+        }
+    }
+
+    @Test
+    void testVariantsRunSideBySide() {
+        Game classic = new Game("a", null, Strategy.RANDOM, new Random(9));
+        Game variant = new Game("b", null, LONG_CHAMBER, Strategy.RANDOM, new Random(9));
+        classic.setPlayerLife(3);
+        classic.setDealerLife(3);
+        variant.setPlayerLife(6);
+        variant.setDealerLife(6);
+        while (!classic.isGameOver() || !variant.isGameOver()) {
+            for (Game game : List.of(classic, variant)) {
+                if (game.isGameOver()) {
+                    continue;
+                }
+                game.loadChamber();
+                int shells = game.getRemainingLiveShells() + game.getRemainingBlankShells();
+                assertTrue(shells >= 1 && shells <= game.getRuleSet().getChamberSize());
+                assertTrue(game.getNumLiveShells() >= game.getRuleSet().getMinLiveShells()
+                        && game.getNumLiveShells() <= game.getRuleSet().getMaxLiveShells());
+                game.resolveRound(Strategy.ODDS);
+            }
+        }
+        assertEquals(classic.getRoundNumber() * RuleSet.CLASSIC.scoreMultiplier(classic.getPlayerLife()),
+                classic.calculateScore());
+        assertEquals(variant.getRoundNumber() * LONG_CHAMBER.scoreMultiplier(variant.getPlayerLife()),
+                variant.calculateScore());
+        assertEquals(20, LONG_CHAMBER.scoreMultiplier(6));
+
+        MultiplayerGame table = new MultiplayerGame(List.of("a", "b", "c"), null, 2, LONG_CHAMBER,
+                Collections.nCopies(3, Strategy.SHOOT_OPPONENT), new Random(4));
+        table.reloadGun();
+        assertEquals(8, table.getNumLiveShells() + table.getNumBlankShells());
+        assertTrue(table.getNumLiveShells() >= 2 && table.getNumLiveShells() <= 3);
+        table.resolveShot(0, 1);
+        assertEquals(7, table.getNumLiveShells() + table.getNumBlankShells());
+    }
+
+    @Test
+    void testBuilderAndRegistryRejectInconsistentRules() {
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder("x").chamberSize(17).build());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder("x").liveShells(0, 0).build());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder("x").chamberSize(4).build());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder("x").lives(2, 4, 5).build());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder("x").multiplier(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.forName("missing"));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.register(RuleSet.builder("classic").build()));
+        assertSame(LONG_CHAMBER, RuleSet.forName("test-long-chamber"));
+        assertTrue(RuleSet.names().containsAll(List.of("classic", "test-long-chamber")));
+    }
+}
+
+class BatchSimulatorTest {
+
+    private static final List<Strategy> STRATEGIES =
+            List.of(Strategy.SHOOT_SELF, Strategy.SHOOT_OPPONENT, Strategy.RANDOM, Strategy.ODDS);
+
+    @Test
+    void testScalarStepMatchesGameExactly() {
+        assertMatchesGame(false);
+    }
+
+    @Test
+    void testVectorStepMatchesGameExactly() {
+        assumeTrue(BatchSimulator.isVectorAvailable(), "needs -Pvector (jdk.incubator.vector)");
+        assertMatchesGame(true);
+    }
+
+    /**
+     * Compara fiecare joc al unui lot cu un Game jucat cu acelasi generator, pentru toate perechile de strategii.
+     */
+    private static void assertMatchesGame(boolean vectorized) {
+        RuleSet wide = RuleSet.builder("batch-wide").chamberSize(9).liveShells(0, 4).build();
+        for (RuleSet rules : List.of(RuleSet.CLASSIC, wide)) {
+            for (Strategy player : STRATEGIES) {
+                for (Strategy dealer : STRATEGIES) {
+                    BatchSimulator simulator = new BatchSimulator(rules, player, dealer);
+                    // 1027 jocuri: un bloc plin de vectori si benzi ramase pentru pasul scalar
+                    int games = 1027;
+                    long seed = 17L * STRATEGIES.indexOf(player) + STRATEGIES.indexOf(dealer);
+                    BatchSimulator.Result result = simulator.run(3, games, seed, vectorized);
+                    for (int g = 0; g < games; g++) {
+                        Game game = new Game("batch", null, rules, dealer, new XorShiftRandom(seed + g));
+                        game.setPlayerLife(3);
+                        game.setDealerLife(3);
+                        int shots = 0;
+                        while (!game.isGameOver()) {
+                            if (game.isPlayerTurn()) {
+                                game.resolveRound(player);
+                            } else {
+                                game.resolveDealerRound();
+                            }
+                            shots++;
+                        }
+                        String where = rules.getName() + " game " + g;
+                        assertEquals(game.getPlayerLife(), result.getPlayerLife(g), where);
+                        assertEquals(game.getDealerLife(), result.getDealerLife(g), where);
+                        assertEquals(game.getRoundNumber(), result.getRoundNumber(g), where);
+                        assertEquals(game.calculateScore(), result.getScore(g), where);
+                        assertEquals(shots, result.getShots(g), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testResultsFeedAnalyticsAndRejectCustomStrategies() {
+        BatchSimulator simulator = new BatchSimulator(RuleSet.CLASSIC, Strategy.ODDS, Strategy.RANDOM);
+        BatchSimulator.Result result = simulator.run(1, 5_000, 8);
+        ScoreAnalytics analytics = new ScoreAnalytics();
+        result.addTo(analytics);
+        KllSketch score = analytics.getSketch(1, ScoreAnalytics.SCORE);
+        assertEquals(5_000, score.getCount());
+        assertEquals(0, score.getMax() % 300);
+        assertEquals(result.getPlayerWins(), simulator.run(1, 5_000, 8, false).getPlayerWins());
+        assertTrue(result.getPlayerWins() > 2_500, "ODDS should beat the random dealer");
+
+        XorShiftRandom random = new XorShiftRandom(3);
+        for (int i = 0; i < 1_000; i++) {
+            int value = random.nextInt(7);
+            assertTrue(value >= 0 && value < 7);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchSimulator(RuleSet.CLASSIC, (table, seat, r) -> seat, Strategy.RANDOM));
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(0, 10, 1));
+    }
+}
+
 class MainPageTest {
     @Test
     void testMainPageSetup() {
@@ -0,0 +1,941 @@
+package org.example;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Clasa InMemoryMongoCollection ofera o colectie MongoCollection&lt;Document&gt; tinuta in memorie, pentru teste
+ * deterministe si rapide ale codului care foloseste driverul (MongoUserStore, UserManager), fara server.
+ *
+ * Colectia este un Proxy peste interfata driverului. Sunt implementate: find (cu filter, sort, skip, limit,
+ * projection, first, into si iterator), countDocuments, insertOne, insertMany, updateOne, bulkWrite
+ * (InsertOneModel si UpdateOneModel), deleteOne, deleteMany, createIndex (indexurile unice sunt respectate) si
+ * drop. Filtrele accepta egalitatea, $ne, $gt, $gte, $lt, $lte, $in, $and si $or pe campuri de pe primul nivel;
+ * actualizarile accepta $set, $unset, $inc, $max si $min. Orice alta metoda arunca UnsupportedOperationException.
+ *
+ * Cautarile dupa egalitate pe un camp cu index unic (inclusiv _id) folosesc o tabela de dispersie, deci
+ * colectia poate tine milioane de documente. Toate operatiile sunt sincronizate pe colectie.
+ */
+final class InMemoryMongoCollection implements InvocationHandler {
+
+    /**
+     * Codec-urile folosite pentru a transforma filtrele, sortarile si actualizarile in documente.
+     */
+    private static final CodecRegistry CODECS = MongoClientSettings.getDefaultCodecRegistry();
+
+    /**
+     * Codul de eroare MongoDB pentru o cheie duplicata.
+     */
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * Adresa raportata in exceptiile driverului.
+     */
+    private static final ServerAddress ADRESA = new ServerAddress();
+
+    /**
+     * Numele colectiei.
+     */
+    private final MongoNamespace namespace;
+
+    /**
+     * Documentele, dupa _id, in ordinea inserarii.
+     */
+    private final Map<Object, Document> documente = new LinkedHashMap<>();
+
+    /**
+     * Indexurile unice, dupa nume.
+     */
+    private final Map<String, IndexUnic> indexuri = new LinkedHashMap<>();
+
+    /**
+     * Indica daca ultima apelare a lui actualizeaza a schimbat documentul.
+     */
+    private boolean modificat;
+
+    private InMemoryMongoCollection(String collection) {
+        this.namespace = new MongoNamespace("test", collection);
+    }
+
+    /**
+     * Creeaza o colectie goala.
+     *
+     * @return Colectia noua.
+     */
+    static MongoCollection<Document> create() {
+        return create(MongoUserStore.DEFAULT_COLLECTION);
+    }
+
+    /**
+     * Creeaza o colectie goala cu numele dat.
+     *
+     * @param collection Numele colectiei, folosit in mesajele de eroare.
+     * @return Colectia noua.
+     */
+    @SuppressWarnings("unchecked")
+    static MongoCollection<Document> create(String collection) {
+        return (MongoCollection<Document>) proxy(MongoCollection.class, new InMemoryMongoCollection(collection));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object[] a = args != null ? args : new Object[0];
+        Object rezultat = obiect(proxy, method, a);
+        if (rezultat != null) {
+            return rezultat;
+        }
+        synchronized (this) {
+            switch (method.getName() + "/" + a.length) {
+                case "getNamespace/0":
+                    return namespace;
+                case "getDocumentClass/0":
+                    return Document.class;
+                case "find/0":
+                    return proxy(FindIterable.class, new Cautare(new Document()));
+                case "find/1":
+                    if (a[0] instanceof Bson) {
+                        return proxy(FindIterable.class, new Cautare(document((Bson) a[0])));
+                    }
+                    break;
+                case "countDocuments/0":
+                case "estimatedDocumentCount/0":
+                    return (long) documente.size();
+                case "countDocuments/1":
+                    if (a[0] instanceof Bson) {
+                        return (long) cauta(document((Bson) a[0])).size();
+                    }
+                    break;
+                case "insertOne/1":
+                    return insertOne((Document) a[0]);
+                case "insertMany/1":
+                    return insertMany(lista(a[0]), true);
+                case "insertMany/2":
+                    if (a[1] instanceof InsertManyOptions) {
+                        return insertMany(lista(a[0]), ((InsertManyOptions) a[1]).isOrdered());
+                    }
+                    break;
+                case "updateOne/2":
+                    if (a[0] instanceof Bson && a[1] instanceof Bson) {
+                        return updateOne(document((Bson) a[0]), document((Bson) a[1]));
+                    }
+                    break;
+                case "bulkWrite/1":
+                    return bulkWrite(lista(a[0]), true);
+                case "bulkWrite/2":
+                    if (a[1] instanceof BulkWriteOptions) {
+                        return bulkWrite(lista(a[0]), ((BulkWriteOptions) a[1]).isOrdered());
+                    }
+                    break;
+                case "deleteOne/1":
+                    return sterge(document((Bson) a[0]), true);
+                case "deleteMany/1":
+                    return sterge(document((Bson) a[0]), false);
+                case "createIndex/1":
+                    return createIndex((Bson) a[0], new IndexOptions());
+                case "createIndex/2":
+                    if (a[1] instanceof IndexOptions) {
+                        return createIndex((Bson) a[0], (IndexOptions) a[1]);
+                    }
+                    break;
+                case "drop/0":
+                    documente.clear();
+                    indexuri.clear();
+                    return null;
+                default:
+                    break;
+            }
+        }
+        return neimplementat(proxy, method, a);
+    }
+
+    /**
+     * Insereaza un document; ca driverul, adauga un _id documentului primit daca acesta nu are unul.
+     */
+    private InsertOneResult insertOne(Document document) {
+        Object id = adaugaId(document);
+        WriteError eroare = insereaza(document);
+        if (eroare != null) {
+            throw new MongoWriteException(eroare, ADRESA);
+        }
+        return InsertOneResult.acknowledged(bsonId(id));
+    }
+
+    /**
+     * Insereaza mai multe documente; in modul neordonat continua dupa erori si le raporteaza pe toate la final.
+     */
+    private InsertManyResult insertMany(List<Document> lot, boolean ordered) {
+        Map<Integer, BsonValue> inserate = new LinkedHashMap<>();
+        List<BulkWriteError> erori = new ArrayList<>();
+        for (int i = 0; i < lot.size(); i++) {
+            Object id = adaugaId(lot.get(i));
+            WriteError eroare = insereaza(lot.get(i));
+            if (eroare == null) {
+                inserate.put(i, bsonId(id));
+            } else {
+                erori.add(new BulkWriteError(eroare.getCode(), eroare.getMessage(), eroare.getDetails(), i));
+                if (ordered) {
+                    break;
+                }
+            }
+        }
+        if (!erori.isEmpty()) {
+            List<BulkWriteInsert> inserari = new ArrayList<>();
+            inserate.forEach((index, id) -> inserari.add(new BulkWriteInsert(index, id)));
+            throw new MongoBulkWriteException(BulkWriteResult.acknowledged(inserate.size(), 0, 0, 0,
+                    Collections.emptyList(), inserari), erori, null, ADRESA, Collections.emptySet());
+        }
+        return InsertManyResult.acknowledged(inserate);
+    }
+
+    /**
+     * Actualizeaza primul document care respecta filtrul.
+     */
+    private UpdateResult updateOne(Document filtru, Document actualizare) {
+        List<Document> gasite = cauta(filtru);
+        if (gasite.isEmpty()) {
+            return UpdateResult.acknowledged(0, 0L, null);
+        }
+        WriteError eroare = actualizeaza(gasite.get(0), actualizare);
+        if (eroare != null) {
+            throw new MongoWriteException(eroare, ADRESA);
+        }
+        return UpdateResult.acknowledged(1, modificat ? 1L : 0L, null);
+    }
+
+    /**
+     * Executa un lot de operatii; erorile de cheie duplicata sunt raportate intr-o MongoBulkWriteException.
+     */
+    @SuppressWarnings("unchecked")
+    private BulkWriteResult bulkWrite(List<WriteModel<Document>> lot, boolean ordered) {
+        int inserate = 0;
+        int gasite = 0;
+        int modificate = 0;
+        List<BulkWriteInsert> inserari = new ArrayList<>();
+        List<BulkWriteError> erori = new ArrayList<>();
+        for (int i = 0; i < lot.size(); i++) {
+            WriteModel<Document> model = lot.get(i);
+            WriteError eroare;
+            if (model instanceof InsertOneModel) {
+                Document document = ((InsertOneModel<Document>) model).getDocument();
+                Object id = adaugaId(document);
+                eroare = insereaza(document);
+                if (eroare == null) {
+                    inserate++;
+                    inserari.add(new BulkWriteInsert(i, bsonId(id)));
+                }
+            } else if (model instanceof UpdateOneModel) {
+                UpdateOneModel<Document> update = (UpdateOneModel<Document>) model;
+                if (update.getUpdate() == null || update.getOptions().isUpsert()) {
+                    throw new UnsupportedOperationException("Only plain UpdateOneModel updates are supported");
+                }
+                List<Document> potrivite = cauta(document(update.getFilter()));
+                eroare = null;
+                if (!potrivite.isEmpty()) {
+                    eroare = actualizeaza(potrivite.get(0), document(update.getUpdate()));
+                    if (eroare == null) {
+                        gasite++;
+                        modificate += modificat ? 1 : 0;
+                    }
+                }
+            } else {
+                throw new UnsupportedOperationException(model.getClass().getSimpleName() + " is not supported");
+            }
+            if (eroare != null) {
+                erori.add(new BulkWriteError(eroare.getCode(), eroare.getMessage(), eroare.getDetails(), i));
+                if (ordered) {
+                    break;
+                }
+            }
+        }
+        BulkWriteResult rezultat = BulkWriteResult.acknowledged(inserate, gasite, 0, modificate,
+                Collections.emptyList(), inserari);
+        if (!erori.isEmpty()) {
+            throw new MongoBulkWriteException(rezultat, erori, null, ADRESA, Collections.emptySet());
+        }
+        return rezultat;
+    }
+
+    /**
+     * Sterge primul document sau toate documentele care respecta filtrul.
+     */
+    private DeleteResult sterge(Document filtru, boolean unul) {
+        List<Document> gasite = cauta(filtru);
+        if (unul && gasite.size() > 1) {
+            gasite = gasite.subList(0, 1);
+        }
+        for (Document document : gasite) {
+            documente.remove(document.get("_id"));
+            for (IndexUnic index : indexuri.values()) {
+                index.intrari.remove(index.cheie(document));
+            }
+        }
+        return DeleteResult.acknowledged(gasite.size());
+    }
+
+    /**
+     * Creeaza un index; doar indexurile unice sunt pastrate, celelalte nu schimba rezultatele.
+     *
+     * @throws MongoCommandException daca documentele existente incalca indexul unic.
+     */
+    private String createIndex(Bson chei, IndexOptions options) {
+        Document campuri = document(chei);
+        StringBuilder nume = new StringBuilder();
+        campuri.forEach((camp, directie) -> nume.append(nume.length() > 0 ? "_" : "").append(camp).append('_').append(directie));
+        String numeIndex = options.getName() != null ? options.getName() : nume.toString();
+        if (options.isUnique() && !indexuri.containsKey(numeIndex)) {
+            IndexUnic index = new IndexUnic(numeIndex, new ArrayList<>(campuri.keySet()));
+            for (Document document : documente.values()) {
+                if (index.intrari.putIfAbsent(index.cheie(document), document) != null) {
+                    BsonDocument raspuns = new BsonDocument("ok", new BsonInt32(0))
+                            .append("code", new BsonInt32(DUPLICATE_KEY))
+                            .append("errmsg", new BsonString(index.mesajDuplicat(document)));
+                    throw new MongoCommandException(raspuns, ADRESA);
+                }
+            }
+            indexuri.put(numeIndex, index);
+        }
+        return numeIndex;
+    }
+
+    /**
+     * Adauga un _id documentului, daca nu are unul.
+     *
+     * @return Valoarea _id a documentului.
+     */
+    private static Object adaugaId(Document document) {
+        if (!document.containsKey("_id")) {
+            document.put("_id", new ObjectId());
+        }
+        return document.get("_id");
+    }
+
+    /**
+     * Pastreaza o copie a documentului, daca nu incalca _id-ul sau un index unic.
+     *
+     * @return Eroarea de cheie duplicata sau null daca documentul a fost inserat.
+     */
+    private WriteError insereaza(Document document) {
+        Document copie = new Document(document);
+        Object id = cheieValoare(copie.get("_id"));
+        if (documente.containsKey(id)) {
+            return duplicat("_id_ dup key: { _id: " + copie.get("_id") + " }");
+        }
+        for (IndexUnic index : indexuri.values()) {
+            if (index.intrari.containsKey(index.cheie(copie))) {
+                return duplicat(index.mesajDuplicat(copie));
+            }
+        }
+        documente.put(id, copie);
+        for (IndexUnic index : indexuri.values()) {
+            index.intrari.put(index.cheie(copie), copie);
+        }
+        return null;
+    }
+
+    /**
+     * Aplica o actualizare unui document pastrat, daca rezultatul nu incalca un index unic.
+     *
+     * @return Eroarea de cheie duplicata sau null daca actualizarea a fost aplicata.
+     */
+    private WriteError actualizeaza(Document document, Document actualizare) {
+        Document nou = new Document(document);
+        for (Map.Entry<String, Object> operatie : actualizare.entrySet()) {
+            Document campuri = (Document) operatie.getValue();
+            for (Map.Entry<String, Object> camp : campuri.entrySet()) {
+                aplica(nou, operatie.getKey(), camp.getKey(), camp.getValue());
+            }
+        }
+        modificat = !nou.equals(document);
+        if (!modificat) {
+            return null;
+        }
+        for (IndexUnic index : indexuri.values()) {
+            Document existent = index.intrari.get(index.cheie(nou));
+            if (existent != null && existent != document) {
+                return duplicat(index.mesajDuplicat(nou));
+            }
+        }
+        for (IndexUnic index : indexuri.values()) {
+            index.intrari.remove(index.cheie(document));
+            index.intrari.put(index.cheie(nou), nou);
+        }
+        documente.put(cheieValoare(nou.get("_id")), nou);
+        return null;
+    }
+
+    /**
+     * Aplica un operator de actualizare pe un camp.
+     */
+    private static void aplica(Document document, String operator, String camp, Object valoare) {
+        if (camp.equals("_id") || camp.contains(".")) {
+            throw new UnsupportedOperationException("Cannot update field " + camp);
+        }
+        Object curent = document.get(camp);
+        switch (operator) {
+            case "$set":
+                document.put(camp, valoare);
+                break;
+            case "$unset":
+                document.remove(camp);
+                break;
+            case "$inc":
+                document.put(camp, curent == null ? valoare : aduna((Number) curent, (Number) valoare));
+                break;
+            case "$max":
+                if (!document.containsKey(camp) || compara(valoare, curent) > 0) {
+                    document.put(camp, valoare);
+                }
+                break;
+            case "$min":
+                if (!document.containsKey(camp) || compara(valoare, curent) < 0) {
+                    document.put(camp, valoare);
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Update operator " + operator + " is not supported");
+        }
+    }
+
+    /**
+     * Aduna doua numere, pastrand tipul Integer sau Long cand ambele sunt intregi.
+     */
+    private static Number aduna(Number a, Number b) {
+        if (a instanceof Integer && b instanceof Integer) {
+            return Math.addExact((Integer) a, (Integer) b);
+        }
+        if ((a instanceof Integer || a instanceof Long) && (b instanceof Integer || b instanceof Long)) {
+            return Math.addExact(a.longValue(), b.longValue());
+        }
+        return a.doubleValue() + b.doubleValue();
+    }
+
+    /**
+     * Returneaza documentele pastrate care respecta filtrul, in ordinea inserarii.
+     * O egalitate simpla pe un camp cu index unic este rezolvata prin index.
+     */
+    private List<Document> cauta(Document filtru) {
+        if (filtru.size() == 1) {
+            Map.Entry<String, Object> conditie = filtru.entrySet().iterator().next();
+            if (!conditie.getKey().startsWith("$") && !esteOperator(conditie.getValue())) {
+                if (conditie.getKey().equals("_id")) {
+                    Document gasit = documente.get(cheieValoare(conditie.getValue()));
+                    return gasit != null ? List.of(gasit) : List.of();
+                }
+                for (IndexUnic index : indexuri.values()) {
+                    if (index.campuri.size() == 1 && index.campuri.get(0).equals(conditie.getKey())) {
+                        Document gasit = index.intrari.get(Collections.singletonList(cheieValoare(conditie.getValue())));
+                        return gasit != null ? List.of(gasit) : List.of();
+                    }
+                }
+            }
+        }
+        List<Document> gasite = new ArrayList<>();
+        for (Document document : documente.values()) {
+            if (potriveste(document, filtru)) {
+                gasite.add(document);
+            }
+        }
+        return gasite;
+    }
+
+    /**
+     * Verifica daca un document respecta un filtru.
+     */
+    private static boolean potriveste(Document document, Document filtru) {
+        for (Map.Entry<String, Object> conditie : filtru.entrySet()) {
+            String camp = conditie.getKey();
+            switch (camp) {
+                case "$and":
+                    for (Object parte : (List<?>) conditie.getValue()) {
+                        if (!potriveste(document, (Document) parte)) {
+                            return false;
+                        }
+                    }
+                    continue;
+                case "$or":
+                    boolean oricare = false;
+                    for (Object parte : (List<?>) conditie.getValue()) {
+                        oricare |= potriveste(document, (Document) parte);
+                    }
+                    if (!oricare) {
+                        return false;
+                    }
+                    continue;
+                default:
+                    break;
+            }
+            if (camp.startsWith("$") || camp.contains(".")) {
+                throw new UnsupportedOperationException("Filter on " + camp + " is not supported");
+            }
+            Object valoare = document.get(camp);
+            if (esteOperator(conditie.getValue())) {
+                for (Map.Entry<String, Object> operator : ((Document) conditie.getValue()).entrySet()) {
+                    if (!respecta(valoare, operator.getKey(), operator.getValue())) {
+                        return false;
+                    }
+                }
+            } else if (!egal(valoare, conditie.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica o conditie de forma { camp: { operator: valoare } }.
+     */
+    private static boolean respecta(Object valoare, String operator, Object argument) {
+        switch (operator) {
+            case "$eq":
+                return egal(valoare, argument);
+            case "$ne":
+                return !egal(valoare, argument);
+            case "$in":
+                for (Object optiune : (Collection<?>) argument) {
+                    if (egal(valoare, optiune)) {
+                        return true;
+                    }
+                }
+                return false;
+            case "$gt":
+                return comparabile(valoare, argument) && compara(valoare, argument) > 0;
+            case "$gte":
+                return comparabile(valoare, argument) && compara(valoare, argument) >= 0;
+            case "$lt":
+                return comparabile(valoare, argument) && compara(valoare, argument) < 0;
+            case "$lte":
+                return comparabile(valoare, argument) && compara(valoare, argument) <= 0;
+            default:
+                throw new UnsupportedOperationException("Query operator " + operator + " is not supported");
+        }
+    }
+
+    /**
+     * Verifica daca o valoare din filtru este un document de operatori ({ $gt: 5 }).
+     */
+    private static boolean esteOperator(Object valoare) {
+        return valoare instanceof Document && !((Document) valoare).isEmpty()
+                && ((Document) valoare).keySet().iterator().next().startsWith("$");
+    }
+
+    /**
+     * Egalitatea MongoDB: numerele sunt egale dupa valoare, iar un camp lipsa este egal cu null.
+     */
+    private static boolean egal(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return compara(a, b) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    /**
+     * Operatorii de ordine compara doar valori de acelasi tip BSON.
+     */
+    private static boolean comparabile(Object a, Object b) {
+        return a != null && b != null && rang(a) == rang(b);
+    }
+
+    /**
+     * Ordinea tipurilor BSON folosita la sortare: null, numere, siruri, ObjectId, boolean, date.
+     */
+    private static int rang(Object valoare) {
+        if (valoare == null) {
+            return 0;
+        }
+        if (valoare instanceof Number) {
+            return 1;
+        }
+        if (valoare instanceof String) {
+            return 2;
+        }
+        if (valoare instanceof ObjectId) {
+            return 3;
+        }
+        if (valoare instanceof Boolean) {
+            return 4;
+        }
+        if (valoare instanceof Date) {
+            return 5;
+        }
+        throw new UnsupportedOperationException("Cannot compare values of type " + valoare.getClass().getSimpleName());
+    }
+
+    /**
+     * Compara doua valori in ordinea de sortare MongoDB.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compara(Object a, Object b) {
+        int dupaTip = Integer.compare(rang(a), rang(b));
+        if (dupaTip != 0 || a == null) {
+            return dupaTip;
+        }
+        if (a instanceof Number) {
+            Number x = (Number) a;
+            Number y = (Number) b;
+            if ((x instanceof Integer || x instanceof Long) && (y instanceof Integer || y instanceof Long)) {
+                return Long.compare(x.longValue(), y.longValue());
+            }
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * Forma unei valori folosita drept cheie de index: numerele intregi devin Long, ca 5 si 5L sa coincida.
+     */
+    private static Object cheieValoare(Object valoare) {
+        return valoare instanceof Integer ? Long.valueOf((Integer) valoare) : valoare;
+    }
+
+    /**
+     * Construieste eroarea de cheie duplicata, cu mesajul serverului.
+     */
+    private WriteError duplicat(String detalii) {
+        return new WriteError(DUPLICATE_KEY, "E11000 duplicate key error collection: " + namespace + " index: " + detalii,
+                new BsonDocument());
+    }
+
+    /**
+     * Transforma un _id in BsonValue pentru rezultatele operatiilor.
+     */
+    private static BsonValue bsonId(Object id) {
+        return id instanceof ObjectId ? new BsonObjectId((ObjectId) id)
+                : new Document("_id", id).toBsonDocument(BsonDocument.class, CODECS).get("_id");
+    }
+
+    /**
+     * Transforma un filtru, o sortare, o proiectie sau o actualizare in Document, cu aceleasi codec-uri ca driverul.
+     */
+    private static Document document(Bson bson) {
+        if (bson == null) {
+            return new Document();
+        }
+        BsonDocument bsonDocument = bson.toBsonDocument(BsonDocument.class, CODECS);
+        return new DocumentCodec(CODECS).decode(new BsonDocumentReader(bsonDocument), DecoderContext.builder().build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> lista(Object valoare) {
+        return new ArrayList<>((List<T>) valoare);
+    }
+
+    /**
+     * Creeaza un Proxy pentru interfata data.
+     */
+    private static Object proxy(Class<?> tip, InvocationHandler handler) {
+        return Proxy.newProxyInstance(InMemoryMongoCollection.class.getClassLoader(), new Class<?>[]{tip}, handler);
+    }
+
+    /**
+     * Trateaza metodele lui Object pentru un Proxy.
+     *
+     * @return Rezultatul sau null daca metoda nu este una a lui Object.
+     */
+    private static Object obiect(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return args.length == 1 ? proxy == args[0] : null;
+            case "hashCode":
+                return args.length == 0 ? System.identityHashCode(proxy) : null;
+            case "toString":
+                return args.length == 0 ? "InMemory" + method.getDeclaringClass().getSimpleName() : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Executa metodele default ale interfetei (de exemplu forEach); celelalte metode nu sunt implementate.
+     *
+     * @throws UnsupportedOperationException pentru metodele care nu sunt implementate.
+     */
+    private static Object neimplementat(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        throw new UnsupportedOperationException(method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + Arrays.toString(method.getParameterTypes()) + " is not supported by InMemoryMongoCollection");
+    }
+
+    /**
+     * Clasa IndexUnic retine documentele dupa valorile campurilor unui index unic.
+     */
+    private static final class IndexUnic {
+
+        /**
+         * Numele indexului.
+         */
+        private final String nume;
+
+        /**
+         * Campurile indexului, in ordine.
+         */
+        private final List<String> campuri;
+
+        /**
+         * Documentele, dupa cheia indexului; un camp lipsa are cheia null, ca in MongoDB.
+         */
+        private final Map<List<Object>, Document> intrari = new HashMap<>();
+
+        private IndexUnic(String nume, List<String> campuri) {
+            this.nume = nume;
+            this.campuri = campuri;
+        }
+
+        /**
+         * Calculeaza cheia unui document in acest index.
+         */
+        private List<Object> cheie(Document document) {
+            if (campuri.size() == 1) {
+                return Collections.singletonList(cheieValoare(document.get(campuri.get(0))));
+            }
+            List<Object> cheie = new ArrayList<>(campuri.size());
+            for (String camp : campuri) {
+                cheie.add(cheieValoare(document.get(camp)));
+            }
+            return cheie;
+        }
+
+        /**
+         * Construieste detaliile mesajului de cheie duplicata pentru un document.
+         */
+        private String mesajDuplicat(Document document) {
+            StringBuilder cheie = new StringBuilder();
+            for (String camp : campuri) {
+                cheie.append(cheie.length() > 0 ? ", " : "").append(camp).append(": ").append(document.get(camp));
+            }
+            return nume + " dup key: { " + cheie + " }";
+        }
+    }
+
+    /**
+     * Clasa Cautare implementeaza FindIterable: retine filtrul si optiunile, iar cautarea se executa la first,
+     * into sau iterator, pe copii ale documentelor.
+     */
+    private final class Cautare implements InvocationHandler {
+
+        /**
+         * Filtrul cautarii.
+         */
+        private Document filtru;
+
+        /**
+         * Sortarea; goala pentru ordinea inserarii.
+         */
+        private Document sortare = new Document();
+
+        /**
+         * Proiectia; goala pentru documente complete.
+         */
+        private Document proiectie = new Document();
+
+        /**
+         * Numarul de documente sarite.
+         */
+        private int skip;
+
+        /**
+         * Numarul maxim de documente; 0 inseamna fara limita.
+         */
+        private int limit;
+
+        private Cautare(Document filtru) {
+            this.filtru = filtru;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] a = args != null ? args : new Object[0];
+            Object rezultat = obiect(proxy, method, a);
+            if (rezultat != null) {
+                return rezultat;
+            }
+            switch (method.getName() + "/" + a.length) {
+                case "filter/1":
+                    filtru = document((Bson) a[0]);
+                    return proxy;
+                case "sort/1":
+                    sortare = document((Bson) a[0]);
+                    return proxy;
+                case "projection/1":
+                    proiectie = document((Bson) a[0]);
+                    return proxy;
+                case "skip/1":
+                    skip = (Integer) a[0];
+                    return proxy;
+                case "limit/1":
+                    limit = (Integer) a[0];
+                    return proxy;
+                case "batchSize/1":
+                    return proxy;
+                case "first/0": {
+                    List<Document> gasite = executa(1);
+                    return gasite.isEmpty() ? null : gasite.get(0);
+                }
+                case "into/1": {
+                    @SuppressWarnings("unchecked")
+                    Collection<Document> destinatie = (Collection<Document>) a[0];
+                    destinatie.addAll(executa(limit));
+                    return destinatie;
+                }
+                case "iterator/0":
+                case "cursor/0":
+                    return proxy(MongoCursor.class, new Cursor(executa(limit).iterator()));
+                default:
+                    return neimplementat(proxy, method, a);
+            }
+        }
+
+        /**
+         * Executa cautarea sub blocarea colectiei.
+         *
+         * @param maxim Numarul maxim de documente; 0 inseamna fara limita.
+         * @return Copiile documentelor gasite, dupa sortare, skip, limita si proiectie.
+         */
+        private List<Document> executa(int maxim) {
+            synchronized (InMemoryMongoCollection.this) {
+                List<Document> gasite = cauta(filtru);
+                if (!sortare.isEmpty()) {
+                    gasite = new ArrayList<>(gasite);
+                    gasite.sort(comparator());
+                }
+                int inceput = Math.min(skip, gasite.size());
+                int sfarsit = maxim > 0 ? Math.min(gasite.size(), inceput + maxim) : gasite.size();
+                List<Document> rezultat = new ArrayList<>(sfarsit - inceput);
+                for (Document document : gasite.subList(inceput, sfarsit)) {
+                    rezultat.add(proiecteaza(document));
+                }
+                return rezultat;
+            }
+        }
+
+        /**
+         * Construieste ordinea data de sortare ({ camp: 1 } crescator, { camp: -1 } descrescator).
+         */
+        private Comparator<Document> comparator() {
+            Comparator<Document> ordine = (d1, d2) -> 0;
+            for (Map.Entry<String, Object> camp : sortare.entrySet()) {
+                String nume = camp.getKey();
+                Comparator<Document> dupaCamp = (d1, d2) -> compara(d1.get(nume), d2.get(nume));
+                ordine = ordine.thenComparing(((Number) camp.getValue()).intValue() < 0 ? dupaCamp.reversed() : dupaCamp);
+            }
+            return ordine;
+        }
+
+        /**
+         * Aplica proiectia pe o copie a documentului; _id este inclus daca nu este exclus explicit.
+         */
+        private Document proiecteaza(Document document) {
+            if (proiectie.isEmpty()) {
+                return new Document(document);
+            }
+            boolean includere = false;
+            for (Map.Entry<String, Object> camp : proiectie.entrySet()) {
+                if (!camp.getKey().equals("_id") && inclus(camp.getValue())) {
+                    includere = true;
+                }
+            }
+            Document rezultat = new Document();
+            for (Map.Entry<String, Object> camp : document.entrySet()) {
+                Object regula = proiectie.get(camp.getKey());
+                boolean pastreaza = regula != null ? inclus(regula) : !includere || camp.getKey().equals("_id");
+                if (pastreaza) {
+                    rezultat.put(camp.getKey(), camp.getValue());
+                }
+            }
+            return rezultat;
+        }
+
+        private boolean inclus(Object regula) {
+            return regula instanceof Boolean ? (Boolean) regula : ((Number) regula).intValue() != 0;
+        }
+    }
+
+    /**
+     * Clasa Cursor implementeaza MongoCursor peste rezultatele deja calculate ale unei cautari.
+     */
+    private static final class Cursor implements InvocationHandler {
+
+        /**
+         * Rezultatele ramase.
+         */
+        private final Iterator<Document> rezultate;
+
+        private Cursor(Iterator<Document> rezultate) {
+            this.rezultate = rezultate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] a = args != null ? args : new Object[0];
+            Object rezultat = obiect(proxy, method, a);
+            if (rezultat != null) {
+                return rezultat;
+            }
+            switch (method.getName() + "/" + a.length) {
+                case "hasNext/0":
+                    return rezultate.hasNext();
+                case "next/0":
+                    return rezultate.next();
+                case "tryNext/0":
+                    return rezultate.hasNext() ? rezultate.next() : null;
+                case "close/0":
+                case "getServerCursor/0":
+                    return null;
+                case "getServerAddress/0":
+                    return ADRESA;
+                default:
+                    return neimplementat(proxy, method, a);
+            }
+        }
+    }
+}
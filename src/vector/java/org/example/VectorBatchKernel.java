@@ -0,0 +1,131 @@
+package org.example;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Clasa VectorBatchKernel calculeaza pasul BatchSimulator cu Vector API (jdk.incubator.vector): fiecare banda a
+ * unui LongVector este un joc, iar ramificatiile pasului scalar devin masti (jocuri active, tura jucatorului,
+ * glont live, tinta). Generatorul xorshift al fiecarui joc avanseaza doar pe benzile care consuma un numar,
+ * deci secventa fiecarui joc este aceeasi ca in pasul scalar.
+ *
+ * Clasa sta in src/vector/java si este compilata doar cu profilul Maven "vector" (care adauga modulul incubator);
+ * BatchSimulator o incarca prin reflexie.
+ *
+ * Reincarcarile (o runda din chamberSize) raman scalare: alegerea asezarii este o citire indexata din tabel,
+ * facuta doar pentru benzile cu camera goala.
+ */
+final class VectorBatchKernel implements BatchSimulator.Kernel {
+
+    /**
+     * Forma de vector preferata de procesor (de exemplu 8 benzi long pe AVX-512).
+     */
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public int laneCount() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Rezolva cate o runda in jocurile active ale blocului, ca o iteratie din BatchSimulator.playOut. Jocurile
+     * de la final care nu umplu un vector sunt jucate direct pana la capat cu playOut.
+     *
+     * @param simulator Simulatorul (reguli compilate si strategii).
+     * @param lanes Starea jocurilor.
+     * @param size Numarul de jocuri din bloc.
+     * @return Numarul de jocuri din vectori ramase active.
+     */
+    @Override
+    public int step(BatchSimulator simulator, BatchSimulator.Lanes lanes, int size) {
+        int playerCode = simulator.playerCode;
+        int dealerCode = simulator.dealerCode;
+        int length = SPECIES.length();
+        int upper = SPECIES.loopBound(size);
+        int active = 0;
+        for (int i = 0; i < upper; i += length) {
+            LongVector playerLife = LongVector.fromArray(SPECIES, lanes.playerLife, i);
+            LongVector dealerLife = LongVector.fromArray(SPECIES, lanes.dealerLife, i);
+            VectorMask<Long> running = playerLife.compare(VectorOperators.GT, 0)
+                    .and(dealerLife.compare(VectorOperators.GT, 0));
+            if (!running.anyTrue()) {
+                continue;
+            }
+            LongVector count = LongVector.fromArray(SPECIES, lanes.count, i);
+            VectorMask<Long> empty = running.and(count.compare(VectorOperators.EQ, 0));
+            if (empty.anyTrue()) {
+                for (int lane = 0; lane < length; lane++) {
+                    if (empty.laneIsSet(lane)) {
+                        simulator.reload(lanes, i + lane);
+                    }
+                }
+                count = LongVector.fromArray(SPECIES, lanes.count, i);
+            }
+            LongVector chamber = LongVector.fromArray(SPECIES, lanes.chamber, i);
+            LongVector rng = LongVector.fromArray(SPECIES, lanes.rng, i);
+            LongVector turn = LongVector.fromArray(SPECIES, lanes.playerTurn, i);
+            VectorMask<Long> playerTurn = turn.compare(VectorOperators.NE, 0);
+            VectorMask<Long> playerMoves = running.and(playerTurn);
+            VectorMask<Long> dealerMoves = running.andNot(playerTurn);
+
+            // Strategia RANDOM consuma un numar; bitul de semn decide, ca XorShiftRandom.nextBoolean
+            LongVector next = rng.lanewise(VectorOperators.XOR, rng.lanewise(VectorOperators.LSHL, 13));
+            next = next.lanewise(VectorOperators.XOR, next.lanewise(VectorOperators.LSHR, 7));
+            next = next.lanewise(VectorOperators.XOR, next.lanewise(VectorOperators.LSHL, 17));
+            VectorMask<Long> none = SPECIES.maskAll(false);
+            VectorMask<Long> consumes = (playerCode == BatchSimulator.RANDOM ? playerMoves : none)
+                    .or(dealerCode == BatchSimulator.RANDOM ? dealerMoves : none);
+            rng = rng.blend(next, consumes);
+            VectorMask<Long> coin = next.compare(VectorOperators.LT, 0);
+
+            VectorMask<Long> odds = none;
+            if (playerCode == BatchSimulator.ODDS || dealerCode == BatchSimulator.ODDS) {
+                LongVector remaining = LongVector.broadcast(SPECIES, 1).lanewise(VectorOperators.LSHL, count).sub(1);
+                LongVector live = chamber.and(remaining).lanewise(VectorOperators.BIT_COUNT);
+                odds = count.sub(live).compare(VectorOperators.GT, live);
+            }
+            VectorMask<Long> shootSelf = decide(playerCode, coin, odds).and(playerTurn)
+                    .or(decide(dealerCode, coin, odds).andNot(playerTurn));
+
+            LongVector rounds = LongVector.fromArray(SPECIES, lanes.rounds, i).add(1, playerMoves);
+            count = count.sub(1, running);
+            VectorMask<Long> live = running.and(chamber.lanewise(VectorOperators.LSHR, count).and(1L)
+                    .compare(VectorOperators.NE, 0));
+            VectorMask<Long> playerHit = shootSelf.eq(playerTurn);
+            playerLife = playerLife.sub(1, live.and(playerHit));
+            dealerLife = dealerLife.sub(1, live.andNot(playerHit));
+            turn = turn.lanewise(VectorOperators.XOR, 1, running.andNot(shootSelf));
+            LongVector shots = LongVector.fromArray(SPECIES, lanes.shots, i).add(1, running);
+
+            playerLife.intoArray(lanes.playerLife, i);
+            dealerLife.intoArray(lanes.dealerLife, i);
+            count.intoArray(lanes.count, i);
+            rng.intoArray(lanes.rng, i);
+            turn.intoArray(lanes.playerTurn, i);
+            rounds.intoArray(lanes.rounds, i);
+            shots.intoArray(lanes.shots, i);
+            active += playerLife.compare(VectorOperators.GT, 0)
+                    .and(dealerLife.compare(VectorOperators.GT, 0)).trueCount();
+        }
+        for (int i = upper; i < size; i++) {
+            simulator.playOut(lanes, i);
+        }
+        return active;
+    }
+
+    /**
+     * Aplica strategia cu codul dat pe toate benzile.
+     *
+     * @return Masca benzilor in care locul aflat la rand trage in el insusi.
+     */
+    private static VectorMask<Long> decide(int code, VectorMask<Long> coin, VectorMask<Long> odds) {
+        return switch (code) {
+            case BatchSimulator.SHOOT_SELF -> SPECIES.maskAll(true);
+            case BatchSimulator.SHOOT_OPPONENT -> SPECIES.maskAll(false);
+            case BatchSimulator.RANDOM -> coin;
+            default -> odds;
+        };
+    }
+}